@@ -0,0 +1,81 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The BenchmarkWorld class builds the worlds the benchmarks run against. Every world is a headless
+ * {@link GameController}, so no JavaFX toolkit, images or sounds are needed, and level data is generated
+ * in memory in the same formats the game reads from its resources. Generation is seeded so every run
+ * measures the same layout.
+ */
+final class BenchmarkWorld {
+    static final long SEED = 42L;
+    private static final String[] OBJECT_TYPES = {"Key", "Door", "Ammo", "Heal", "Detail"};
+
+    private BenchmarkWorld() {
+    }
+    /**
+     * Creates a headless game controller for a square level of the given size.
+     * Engine logging is switched off, otherwise console output would dominate the measurements.
+     *
+     * @param worldSize the width and height of the level in tiles
+     * @return the headless controller
+     */
+    static GameController createController(int worldSize) {
+        return createController(new GUICoinfig(worldSize, worldSize));
+    }
+    /**
+     * Creates a headless game controller for the given configuration.
+     *
+     * @param cn the configuration of the level
+     * @return the headless controller
+     */
+    static GameController createController(GUICoinfig cn) {
+        Logger.getLogger("").setLevel(Level.OFF);
+        return new GameController(cn, new ScriptedInputHandler());
+    }
+    /**
+     * Generates a map in the text map format with walls around the border and walkable tiles inside.
+     *
+     * @param worldSize the width and height of the map in tiles
+     * @return the map file content
+     */
+    static byte[] generateMap(int worldSize) {
+        StringBuilder sb = new StringBuilder(worldSize * worldSize * 2);
+        for (int row = 0; row < worldSize; row++) {
+            for (int col = 0; col < worldSize; col++) {
+                boolean border = row == 0 || col == 0 || row == worldSize - 1 || col == worldSize - 1;
+                sb.append(border ? 1 : 0).append(col == worldSize - 1 ? '\n' : ' ');
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    /**
+     * Generates an objects configuration in the level JSON format with randomly placed objects.
+     *
+     * @param worldSize the width and height of the level in tiles
+     * @param objectCount the number of objects to generate
+     * @return the JSON content
+     */
+    static byte[] generateObjectsConfig(int worldSize, int objectCount) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder("{\"gameObjects\":[");
+        for (int i = 0; i < objectCount; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"type\":\"").append(OBJECT_TYPES[i % OBJECT_TYPES.length]).append('"')
+                    .append(",\"position\":{\"x\":").append(1 + random.nextInt(worldSize - 2))
+                    .append(",\"y\":").append(1 + random.nextInt(worldSize - 2)).append('}')
+                    .append(",\"isLocked\":true}");
+        }
+        return sb.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
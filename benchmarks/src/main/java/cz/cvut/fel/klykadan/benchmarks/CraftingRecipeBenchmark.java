@@ -0,0 +1,50 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.model.CraftingRecipe;
+import cz.cvut.fel.klykadan.model.gameObject.items.Item;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CraftingRecipe#craft} with a growing number of known recipes, both for a combination
+ * matching the last recipe and for one that matches nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CraftingRecipeBenchmark {
+    @Param({"1", "10", "100"})
+    public int recipeCount;
+
+    private CraftingRecipe crafting;
+    private Item lastIngredient1;
+    private Item lastIngredient2;
+    private Item unknown;
+
+    @Setup
+    public void setUp() {
+        GUICoinfig cn = new GUICoinfig();
+        crafting = new CraftingRecipe(BenchmarkWorld.createController(cn), cn);
+        for (int i = 0; i < recipeCount; i++) {
+            lastIngredient1 = new Item("Part" + i, null, 0, 0, 48, 48);
+            lastIngredient2 = new Item("Material" + i, null, 0, 0, 48, 48);
+            crafting.addRecipe(lastIngredient1, lastIngredient2, new Item("Result" + i, null, 0, 0, 48, 48));
+        }
+        unknown = new Item("Unknown", null, 0, 0, 48, 48);
+    }
+
+    @Benchmark
+    public Item craftMatch() {
+        return crafting.craft(lastIngredient2, lastIngredient1);
+    }
+
+    @Benchmark
+    public Item craftMiss() {
+        return crafting.craft(lastIngredient1, unknown);
+    }
+}
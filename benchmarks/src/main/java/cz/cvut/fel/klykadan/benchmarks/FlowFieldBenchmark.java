@@ -0,0 +1,80 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.Direction;
+import cz.cvut.fel.klykadan.controller.FlowField;
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link FlowField} on a map with randomly placed walls: rebuilding the field after the
+ * target moved to another tile, and looking up the next step for a group of chasing enemies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlowFieldBenchmark {
+    @Param({"60", "256"})
+    public int worldSize;
+
+    @Param({"10", "500"})
+    public int entityCount;
+
+    private FlowField flowField;
+    private int[] startCols;
+    private int[] startRows;
+    private int targetCol;
+    private int targetRow;
+
+    @Setup
+    public void setUp() {
+        GameController controller = BenchmarkWorld.createController(worldSize);
+        Random random = new Random(BenchmarkWorld.SEED);
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < worldSize; row++) {
+            for (int col = 0; col < worldSize; col++) {
+                sb.append(random.nextInt(100) < 10 ? 1 : 0).append(col == worldSize - 1 ? '\n' : ' ');
+            }
+        }
+        controller.getTextureM().initMap(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        TextureManager textureM = controller.getTextureM();
+        flowField = controller.getFlowField();
+
+        targetCol = worldSize / 2;
+        targetRow = worldSize / 2;
+        textureM.setTile(targetCol, targetRow, 0);
+        textureM.setTile(targetCol + 1, targetRow, 0);
+        startCols = new int[entityCount];
+        startRows = new int[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            startCols[i] = random.nextInt(worldSize);
+            startRows[i] = random.nextInt(worldSize);
+        }
+        flowField.update(targetCol, targetRow);
+    }
+
+    @Benchmark
+    public int rebuildOnTileChange() {
+        flowField.update(targetCol + 1, targetRow);
+        flowField.update(targetCol, targetRow);
+        return flowField.getDistance(0, 0);
+    }
+
+    @Benchmark
+    public int sampleAll() {
+        int sum = 0;
+        for (int i = 0; i < entityCount; i++) {
+            Direction direction = flowField.getDirection(startCols[i], startRows[i]);
+            sum += direction == null ? 0 : direction.ordinal();
+        }
+        return sum;
+    }
+}
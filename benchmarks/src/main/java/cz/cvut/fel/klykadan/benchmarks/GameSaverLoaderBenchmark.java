@@ -0,0 +1,144 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.GameSaverLoader;
+import cz.cvut.fel.klykadan.controller.SaveCodec;
+import cz.cvut.fel.klykadan.controller.SaveController;
+import cz.cvut.fel.klykadan.model.gameObject.Door;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Inventory;
+import cz.cvut.fel.klykadan.model.gameObject.items.Item;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading a game with {@link GameSaverLoader}. The saved state holds the given number
+ * of inventory items and the same number of doors. The save file is written to a temporary file.
+ * Encoding and decoding are also measured on their own, comparing the binary {@link SaveCodec} format,
+ * with and without compression, to the Java serialization used by older saves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameSaverLoaderBenchmark {
+    private static final String[] NAMES = {"Gun", "Ammo", "Heal", "Key", "Detail"};
+
+    @Param({"10", "100", "1000"})
+    public int entityCount;
+
+    @Param({"binary", "deflate", "serialized"})
+    public String format;
+
+    private GameController controller;
+    private GUICoinfig cn;
+    private GameSaverLoader saverLoader;
+    private File saveFile;
+    private SaveController snapshot;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        cn = new GUICoinfig();
+        controller = BenchmarkWorld.createController(cn);
+        controller.switchToNextLevel(0);
+
+        Inventory inventory = controller.getPlayer().getInventory();
+        int tileSize = cn.getTileSize();
+        for (int i = 0; i < entityCount; i++) {
+            inventory.addItem(new Item(NAMES[i % NAMES.length], null, 0, 0, tileSize, tileSize));
+            int col = 1 + i % (cn.getLevelSizeX() - 2);
+            int row = 1 + i / (cn.getLevelSizeX() - 2) % (cn.getLevelSizeY() - 2);
+            controller.addGameObject(new Door(null, col * tileSize, row * tileSize, tileSize, tileSize, true));
+        }
+
+        saveFile = File.createTempFile("zero-point-benchmark", ".dat");
+        saverLoader = GameSaverLoader.getInstance();
+        saverLoader.setSavePath(saveFile.getPath());
+        saverLoader.setCompressed("deflate".equals(format));
+        snapshot = saverLoader.createSnapshot(controller);
+        encoded = encode();
+        if ("serialized".equals(format)) {
+            Files.write(saveFile.toPath(), encoded);
+        } else {
+            saverLoader.saveGame(controller, cn);
+            saverLoader.awaitPendingSave();
+        }
+        System.out.println("Save of " + entityCount + " entities in " + format + " format: " + encoded.length + " bytes");
+    }
+
+    @TearDown
+    public void tearDown() {
+        saverLoader.setSavePath("savegame.dat");
+        saverLoader.setCompressed(true);
+        saveFile.delete();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if ("serialized".equals(format)) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(snapshot);
+            }
+            return bytes.toByteArray();
+        }
+        return SaveCodec.encode(snapshot, "deflate".equals(format));
+    }
+
+    @Benchmark
+    public SaveController decode() throws IOException, ClassNotFoundException {
+        if ("serialized".equals(format)) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(encoded))) {
+                return (SaveController) in.readObject();
+            }
+        }
+        return SaveCodec.decode(encoded);
+    }
+
+    /**
+     * Time the game thread spends in a save of a binary format: capturing the snapshot handed to the
+     * background writer.
+     */
+    @Benchmark
+    public SaveController captureSnapshot() {
+        return saverLoader.createSnapshot(controller);
+    }
+
+    /**
+     * Time until a save is on disk. The binary formats wait for the background writer, so saves do not
+     * queue up behind each other. The serialized format writes the file on the calling thread as older
+     * versions did.
+     */
+    @Benchmark
+    public File saveGame() throws IOException {
+        if ("serialized".equals(format)) {
+            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(saveFile))) {
+                out.writeObject(saverLoader.createSnapshot(controller));
+            }
+        } else {
+            if (!saverLoader.saveGame(controller, cn)) {
+                throw new IllegalStateException("Save was refused");
+            }
+            saverLoader.awaitPendingSave();
+        }
+        return saveFile;
+    }
+
+    @Benchmark
+    public int loadGame() {
+        saverLoader.loadGame(controller, cn);
+        return controller.getPlayer().getInventory().getItems().size();
+    }
+}
@@ -0,0 +1,55 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.model.gameObject.characters.Inventory;
+import cz.cvut.fel.klykadan.model.gameObject.items.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures filling an {@link Inventory} with {@link Inventory#addItem} and listing it with
+ * {@link Inventory#getAllItems}. Items are spread over a fixed set of names, like stacks in the game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InventoryBenchmark {
+    private static final String[] NAMES = {"Gun", "Ammo", "Heal", "Key", "Detail", "LevelKey"};
+
+    @Param({"10", "100", "1000"})
+    public int itemCount;
+
+    private Item[] items;
+    private Inventory filled;
+
+    @Setup
+    public void setUp() {
+        Logger.getLogger("").setLevel(Level.OFF);
+        items = new Item[itemCount];
+        filled = new Inventory();
+        for (int i = 0; i < itemCount; i++) {
+            items[i] = new Item(NAMES[i % NAMES.length], null, 0, 0, 48, 48);
+            filled.addItem(items[i]);
+        }
+    }
+
+    @Benchmark
+    public Inventory addItem() {
+        Inventory inventory = new Inventory();
+        for (Item item : items) {
+            inventory.addItem(item);
+        }
+        return inventory;
+    }
+
+    @Benchmark
+    public List<Item> getAllItems() {
+        return filled.getAllItems();
+    }
+}
@@ -0,0 +1,50 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.LevelController;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LevelController#setupGameObjects} parsing a level's object configuration and
+ * placing the objects into the world. The world is emptied before every invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelControllerBenchmark {
+    @Param({"60", "256"})
+    public int worldSize;
+
+    @Param({"10", "100", "1000"})
+    public int entityCount;
+
+    private GameController controller;
+    private LevelController levelController;
+    private byte[] objectsConfig;
+
+    @Setup
+    public void setUp() {
+        GUICoinfig cn = new GUICoinfig(worldSize, worldSize);
+        controller = BenchmarkWorld.createController(cn);
+        levelController = new LevelController(controller, cn);
+        objectsConfig = BenchmarkWorld.generateObjectsConfig(worldSize, entityCount);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearWorld() {
+        controller.switchToNextLevel(-1);
+    }
+
+    @Benchmark
+    public int setupGameObjects() {
+        levelController.setupGameObjects(new ByteArrayInputStream(objectsConfig));
+        return controller.getGameObjects().size();
+    }
+}
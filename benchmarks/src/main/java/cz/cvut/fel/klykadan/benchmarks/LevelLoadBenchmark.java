@@ -0,0 +1,83 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.CompiledLevel;
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.LevelCompiler;
+import cz.cvut.fel.klykadan.controller.LevelController;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading a level from its sources, the text map and the JSON object configuration,
+ * with loading the same level from a memory-mapped {@link CompiledLevel} file.
+ * The world is emptied before every invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelLoadBenchmark {
+    @Param({"60", "600"})
+    public int worldSize;
+
+    @Param({"100"})
+    public int entityCount;
+
+    private GameController controller;
+    private LevelController levelController;
+    private byte[] objectsConfig;
+    private byte[] map;
+    private Path compiledFile;
+    private URL compiledUrl;
+
+    @Setup
+    public void setUp() throws IOException {
+        GUICoinfig cn = new GUICoinfig(worldSize, worldSize);
+        controller = BenchmarkWorld.createController(cn);
+        levelController = new LevelController(controller, cn);
+        objectsConfig = BenchmarkWorld.generateObjectsConfig(worldSize, entityCount);
+        map = BenchmarkWorld.generateMap(worldSize);
+        byte[] entityConfig = "{\"npcs\":[],\"enemies\":[]}".getBytes(StandardCharsets.UTF_8);
+
+        compiledFile = Files.createTempFile("level", ".zpl");
+        try (OutputStream out = Files.newOutputStream(compiledFile)) {
+            LevelCompiler.compile(new ByteArrayInputStream(objectsConfig), new ByteArrayInputStream(entityConfig),
+                    new ByteArrayInputStream(map)).write(out);
+        }
+        compiledUrl = compiledFile.toUri().toURL();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compiledFile);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearWorld() {
+        controller.switchToNextLevel(-1);
+    }
+
+    @Benchmark
+    public int loadSources() {
+        levelController.setupGameObjects(new ByteArrayInputStream(objectsConfig));
+        controller.getTextureM().initMap(new ByteArrayInputStream(map));
+        return controller.getGameObjects().size();
+    }
+
+    @Benchmark
+    public int loadCompiled() throws IOException {
+        levelController.loadLevel(CompiledLevel.open(compiledUrl));
+        return controller.getGameObjects().size();
+    }
+}
@@ -0,0 +1,80 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.Pathfinder;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Pathfinder#nextStep} for a group of enemies chasing the same target on a map with
+ * randomly placed walls, once with an empty path cache and once with the paths already cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathfinderBenchmark {
+    @Param({"60", "256"})
+    public int worldSize;
+
+    @Param({"10", "50"})
+    public int entityCount;
+
+    private Pathfinder pathfinder;
+    private int[] startCols;
+    private int[] startRows;
+    private int targetCol;
+    private int targetRow;
+
+    @Setup
+    public void setUp() {
+        GameController controller = BenchmarkWorld.createController(worldSize);
+        Random random = new Random(BenchmarkWorld.SEED);
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < worldSize; row++) {
+            for (int col = 0; col < worldSize; col++) {
+                sb.append(random.nextInt(100) < 10 ? 1 : 0).append(col == worldSize - 1 ? '\n' : ' ');
+            }
+        }
+        controller.getTextureM().initMap(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        TextureManager textureM = controller.getTextureM();
+        pathfinder = controller.getPathfinder();
+
+        targetCol = worldSize / 2;
+        targetRow = worldSize / 2;
+        textureM.setTile(targetCol, targetRow, 0);
+        startCols = new int[entityCount];
+        startRows = new int[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            startCols[i] = random.nextInt(worldSize);
+            startRows[i] = random.nextInt(worldSize);
+            textureM.setTile(startCols[i], startRows[i], 0);
+        }
+    }
+
+    @Benchmark
+    public int coldSearch() {
+        pathfinder.invalidateCache();
+        return queryAll();
+    }
+
+    @Benchmark
+    public int cachedSearch() {
+        return queryAll();
+    }
+
+    private int queryAll() {
+        int sum = 0;
+        for (int i = 0; i < entityCount; i++) {
+            sum += pathfinder.nextStep(startCols[i], startRows[i], targetCol, targetRow);
+        }
+        return sum;
+    }
+}
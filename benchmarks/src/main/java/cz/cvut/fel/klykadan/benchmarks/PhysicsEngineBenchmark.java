@@ -0,0 +1,55 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.PhysicsEngine;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.model.gameObject.items.Item;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PhysicsEngine#detectCollision} for the player standing in a level populated with
+ * randomly placed collidable objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhysicsEngineBenchmark {
+    @Param({"60", "256", "1024"})
+    public int worldSize;
+
+    @Param({"10", "1000", "10000"})
+    public int entityCount;
+
+    private PhysicsEngine physics;
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        GameController controller = BenchmarkWorld.createController(worldSize);
+        controller.getTextureM().initMap(new ByteArrayInputStream(BenchmarkWorld.generateMap(worldSize)));
+        int tileSize = controller.getPhysics().getSpatialGrid().getCellSize();
+        Random random = new Random(BenchmarkWorld.SEED);
+        for (int i = 0; i < entityCount; i++) {
+            int x = (1 + random.nextInt(worldSize - 2)) * tileSize;
+            int y = (1 + random.nextInt(worldSize - 2)) * tileSize;
+            controller.addGameObject(new Item("Detail", null, x, y, tileSize, tileSize));
+        }
+        physics = controller.getPhysics();
+        player = controller.getPlayer();
+        player.setX(worldSize / 2 * tileSize);
+        player.setY(worldSize / 2 * tileSize);
+    }
+
+    @Benchmark
+    public boolean detectCollision() {
+        physics.detectCollision(player);
+        return player.isCollision();
+    }
+}
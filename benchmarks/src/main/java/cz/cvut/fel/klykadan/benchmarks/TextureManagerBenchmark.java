@@ -0,0 +1,36 @@
+package cz.cvut.fel.klykadan.benchmarks;
+
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a text map with {@link TextureManager#initMap}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextureManagerBenchmark {
+    @Param({"60", "256", "1024"})
+    public int worldSize;
+
+    private TextureManager textureM;
+    private byte[] map;
+
+    @Setup
+    public void setUp() {
+        textureM = BenchmarkWorld.createController(worldSize).getTextureM();
+        map = BenchmarkWorld.generateMap(worldSize);
+    }
+
+    @Benchmark
+    public int[][] initMap() {
+        textureM.initMap(new ByteArrayInputStream(map));
+        return textureM.getMap();
+    }
+}
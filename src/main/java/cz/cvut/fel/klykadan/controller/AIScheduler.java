@@ -0,0 +1,97 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.characters.Character;
+
+import java.util.List;
+
+/**
+ * The AIScheduler class drives the behaviour of all non-player characters from the game tick.
+ * Every character declares how often it wants to be updated; characters with the same interval
+ * are spread over different ticks so the work is distributed evenly. Because the scheduler only
+ * advances while the game is being simulated, characters are frozen while the game is paused
+ * or in a menu. The updates run on the simulation thread, split into the tasks of the {@link TaskGraph}
+ * built by the {@link GameController}; with a threaded simulation that is a {@link SimulationThread}
+ * and not the thread that renders the world.
+ * <p>
+ * The {@link SimulationLOD} stretches the intervals of characters far from the player. A character updated
+ * after several ticks catches them up in one update, see {@link Character#advance(int)}.
+ */
+public class AIScheduler {
+    private long tick = 0;
+    private int nextPhase = 0;
+
+    /**
+     * Updates every character in the list whose update interval is due in the current tick.
+     *
+     * @param characters the characters to schedule
+     */
+    public void update(List<? extends Character> characters) {
+        prepare(characters);
+        for (int i = 0; i < characters.size(); i++) {
+            Character character = characters.get(i);
+            if (isDue(character)) {
+                character.advance(takeElapsedTicks(character));
+            }
+        }
+    }
+    /**
+     * Assigns a phase to every character that has none yet, in the order of the list.
+     * Must be called before {@link #isDue(Character)} is asked from several threads.
+     *
+     * @param characters the characters to schedule
+     */
+    public void prepare(List<? extends Character> characters) {
+        for (int i = 0; i < characters.size(); i++) {
+            Character character = characters.get(i);
+            if (character.getSchedulePhase() < 0) {
+                character.setSchedulePhase(nextPhase++);
+            }
+        }
+    }
+    /**
+     * Checks if a prepared character is to be updated in the current tick.
+     *
+     * @param character the character
+     * @return true if its update interval is due
+     */
+    public boolean isDue(Character character) {
+        return (tick + character.getSchedulePhase()) % getInterval(character) == 0;
+    }
+    /**
+     * Returns the number of ticks between two updates of a character, stretched by its level of detail.
+     *
+     * @param character the character
+     * @return the interval in ticks
+     */
+    public int getInterval(Character character) {
+        return Math.max(1, character.getUpdateInterval()) * Math.max(1, character.getLodInterval());
+    }
+    /**
+     * Returns the number of ticks since the last update of a character and records that it is updated now.
+     * A character promoted to a shorter interval is due at once and catches up all the ticks it missed in its
+     * previous band. The result never exceeds the character's interval in the farthest band of the
+     * {@link SimulationLOD}, the longest it can have been waiting.
+     *
+     * @param character the character about to be updated
+     * @return the ticks its update has to cover, at least 1
+     */
+    public int takeElapsedTicks(Character character) {
+        long last = character.getLastUpdateTick();
+        character.setLastUpdateTick(tick);
+        if (last < 0) {
+            return 1;
+        }
+        int longestInterval = Math.max(1, character.getUpdateInterval()) * SimulationLOD.FAR_INTERVAL;
+        return (int) Math.max(1, Math.min(tick - last, longestInterval));
+    }
+    /**
+     * Advances the scheduler to the next tick. Called once at the end of every simulated tick.
+     */
+    public void nextTick() {
+        tick++;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+}
@@ -0,0 +1,170 @@
+package cz.cvut.fel.klykadan.controller;
+
+import javafx.scene.image.Image;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The AssetManager class provides singleton access to the image resources used by the game.
+ * Every resource is decoded only once and the same Image instance is shared by all its users.
+ * Each request counts as a reference; once every reference has been released, typically when
+ * a level is unloaded, the image is dropped from the cache.
+ * In headless mode no JavaFX images are created at all.
+ */
+public class AssetManager {
+    private static AssetManager instance;
+    private static final Logger LOGGER = Logger.getLogger(AssetManager.class.getName());
+    private final Map<String, CachedImage> images = new HashMap<>();
+    private final Map<Image, CachedImage> imagesByInstance = new IdentityHashMap<>();
+    private Function<String, Image> decoder = Image::new;
+    private boolean headless;
+
+    private AssetManager() {
+    }
+    /**
+     * Returns the singleton instance of the AssetManager.
+     * If the instance does not exist, it is created in a thread-safe manner.
+     *
+     * @return the singleton instance of AssetManager
+     */
+    public static AssetManager getInstance() {
+        if (instance == null) {
+            synchronized (AssetManager.class) {
+                if (instance == null) {
+                    instance = new AssetManager();
+                }
+            }
+        }
+        return instance;
+    }
+    /**
+     * Acquires the image stored at the given resource path. The image is decoded on the first request
+     * and shared afterwards; every call adds one reference that should be given back with {@link #release(Image)}.
+     * In headless mode no image is decoded and null is returned instead.
+     * <p>
+     * The image is decoded without holding the manager's lock, so a level prepared in the background
+     * does not block other threads acquiring or releasing images. Concurrent requests for an image
+     * that is still being decoded wait for that decoding instead of starting another one.
+     *
+     * @param path the resource path of the image
+     * @return the shared Image, or null in headless mode
+     */
+    public Image getImage(String path) {
+        CachedImage cached;
+        Function<String, Image> decode = null;
+        synchronized (this) {
+            if (headless) {
+                return null;
+            }
+            cached = images.get(path);
+            if (cached == null) {
+                cached = new CachedImage(path);
+                images.put(path, cached);
+                decode = decoder;
+            }
+            cached.references++;
+        }
+        if (decode != null) {
+            Image image;
+            try {
+                image = decode.apply(path);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    images.remove(path, cached);
+                }
+                cached.image.completeExceptionally(e);
+                throw e;
+            }
+            synchronized (this) {
+                if (images.get(path) == cached) {
+                    imagesByInstance.put(image, cached);
+                }
+            }
+            LOGGER.log(Level.FINE, "Loaded image {0}", path);
+            cached.image.complete(image);
+        }
+        return cached.image.join();
+    }
+    /**
+     * Releases one reference to the image stored at the given resource path.
+     *
+     * @param path the resource path of the image
+     */
+    public synchronized void release(String path) {
+        release(images.get(path));
+    }
+    /**
+     * Releases one reference to a shared image. When no references are left the image is removed from the cache.
+     * Images that were not acquired from this manager are ignored.
+     *
+     * @param image the image to release, may be null
+     */
+    public synchronized void release(Image image) {
+        if (image != null) {
+            release(imagesByInstance.get(image));
+        }
+    }
+
+    private void release(CachedImage cached) {
+        if (cached == null) {
+            return;
+        }
+        cached.references--;
+        if (cached.references <= 0) {
+            images.remove(cached.path, cached);
+            Image image = cached.image.getNow(null);
+            if (image != null) {
+                imagesByInstance.remove(image);
+            }
+            LOGGER.log(Level.FINE, "Unloaded image {0}", cached.path);
+        }
+    }
+    /**
+     * Returns how many references to the image at the given path are currently held.
+     *
+     * @param path the resource path of the image
+     * @return the number of references, 0 if the image is not cached
+     */
+    public synchronized int getReferenceCount(String path) {
+        CachedImage cached = images.get(path);
+        return cached == null ? 0 : cached.references;
+    }
+
+    public synchronized int getCachedImageCount() {
+        return images.size();
+    }
+
+    public synchronized boolean isHeadless() {
+        return headless;
+    }
+
+    public synchronized void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Replaces the function that decodes the image at a resource path, for example to load images
+     * without a running JavaFX toolkit. Only images acquired afterwards are affected.
+     *
+     * @param decoder the function decoding an image from its resource path
+     */
+    public synchronized void setDecoder(Function<String, Image> decoder) {
+        this.decoder = decoder;
+    }
+
+    private static class CachedImage {
+        final String path;
+        final CompletableFuture<Image> image = new CompletableFuture<>();
+        int references;
+
+        CachedImage(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -1,29 +1,128 @@
 package cz.cvut.fel.klykadan.controller;
 
+import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 
-import java.io.File;
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
 import java.net.URL;
 
 /**
  * The AudioManager class handles all audio operations within the game. It manages
  * playing, stopping, and controlling volume for various sound effects and background music.
- * This class utilizes the JavaFX MediaPlayer to handle media playback.
+ * Background music is streamed by a JavaFX MediaPlayer. Sound effects are preloaded once as
+ * JavaFX AudioClips and played on a {@link VoicePool} of {@value #VOICE_COUNT} voices, so firing
+ * a weapon does not create a player and the number of sounds playing at once stays bounded.
  */
 public class AudioManager {
+    public static final int VOICE_COUNT = 8;
+    private static final long DEFAULT_EFFECT_NANOS = 1_000_000_000L;
+    private static final String STEP1 = "/sounds/step1.wav";
+    private static final String STEP2 = "/sounds/step2.wav";
+    private static final String SHOT = "/sounds/shot.wav";
+    private static final String RELOAD = "/sounds/reload.wav";
+    private static final String EMPTY = "/sounds/empty.wav";
+    private static final String ACTION = "/sounds/take.wav";
+    private static final String OPEN_DOOR = "/sounds/door.wav";
+    private static final String CLOSED_DOOR = "/sounds/closed.wav";
     private MediaPlayer backgroundPlayer;
     private MediaPlayer movePlayer;
     private int stepSoundCounter = 0;
+    private boolean enabled;
+    private final VoicePool effects = new VoicePool(VOICE_COUNT);
+
+    /**
+     * Constructs an AudioManager that plays sounds.
+     */
+    public AudioManager() {
+        this(true);
+    }
+    /**
+     * Constructs an AudioManager.
+     *
+     * @param enabled whether sounds are played at all; a disabled manager ignores every request,
+     *                which is used when the game runs headless
+     */
+    public AudioManager(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            loadEffect(STEP1, 0.5, 0);
+            loadEffect(STEP2, 0.5, 0);
+            loadEffect(EMPTY, 0.2, 1);
+            loadEffect(SHOT, 0.2, 2);
+            loadEffect(CLOSED_DOOR, 0.8, 2);
+            loadEffect(RELOAD, 0.2, 3);
+            loadEffect(ACTION, 0.4, 3);
+            loadEffect(OPEN_DOOR, 0.8, 3);
+        }
+    }
+
+    private void loadEffect(String soundFile, double volume, int priority) {
+        URL resource = getClass().getResource(soundFile);
+        if (resource == null) {
+            System.err.println("Cannot find file: " + soundFile);
+            return;
+        }
+        AudioClip clip = new AudioClip(resource.toString());
+        effects.register(soundFile, new VoicePool.Clip() {
+            @Override
+            public void play(double effectVolume) {
+                clip.play(effectVolume);
+            }
+
+            @Override
+            public void stop() {
+                clip.stop();
+            }
+        }, readDuration(resource), volume, priority);
+    }
+    /**
+     * Reads how long a sound file plays from its header, so the voice pool knows when the voice is free again.
+     */
+    private static long readDuration(URL resource) {
+        try {
+            AudioFileFormat format = AudioSystem.getAudioFileFormat(resource);
+            if (format.getFrameLength() > 0 && format.getFormat().getFrameRate() > 0) {
+                return (long) (format.getFrameLength() / format.getFormat().getFrameRate() * 1_000_000_000L);
+            }
+        } catch (UnsupportedAudioFileException | IOException e) {
+            System.err.println("Cannot read the length of " + resource + ": " + e.getMessage());
+        }
+        return DEFAULT_EFFECT_NANOS;
+    }
+    /**
+     * Plays a preloaded sound effect. Playing the same effect again in the same tick has no effect.
+     *
+     * @param soundFile the path of the sound effect
+     */
+    public void playEffect(String soundFile) {
+        if (!enabled) {
+            return;
+        }
+        effects.play(soundFile);
+    }
+    /**
+     * Advances the sound effects to the next tick. Called once per game tick.
+     */
+    public void update() {
+        effects.nextTick();
+    }
     /**
      * Plays a sound from a specified file with options to loop and set volume.
      * If the sound file is a theme, it replaces any currently playing background music.
+     * Short effects should use {@link #playEffect(String)} instead, which does not create a player.
      *
      * @param soundFile The path to the sound file.
      * @param loop Whether the sound should loop continuously.
      * @param volume The volume at which to play the sound, where 1.0 is the loudest.
      */
     public void playSound(String soundFile, boolean loop, double volume) {
+        if (!enabled) {
+            return;
+        }
         URL resource = getClass().getResource(soundFile);
         if (resource == null) {
             System.err.println("Cannot find file: " + soundFile);
@@ -42,6 +141,8 @@ public class AudioManager {
                 backgroundPlayer.dispose();
             }
             backgroundPlayer = player;
+        } else if (!loop) {
+            player.setOnEndOfMedia(player::dispose);
         }
         player.play();
     }
@@ -59,9 +160,9 @@ public class AudioManager {
      */
     public void playMoveSound() {
         if (stepSoundCounter % 2 == 0) {
-            playSound("/sounds/step1.wav", false, 0.5);
+            playEffect(STEP1);
         } else {
-            playSound("/sounds/step2.wav", false, 0.5);
+            playEffect(STEP2);
         }
         stepSoundCounter++;
     }
@@ -69,14 +170,14 @@ public class AudioManager {
      * Plays the sound of a gunshot. Intended to be used when a weapon is fired.
      */
     public void playShootSound(){
-        playSound("/sounds/shot.wav", false,0.2);
+        playEffect(SHOT);
     }
     /**
      * Plays the sound of reloading a weapon. This is used to enhance the realism
      * when the player reloads their weapon.
      */
     public void playReloadSound(){
-        playSound("/sounds/reload.wav", false,0.2);
+        playEffect(RELOAD);
     }
 
     /**
@@ -84,25 +185,25 @@ public class AudioManager {
      * attempts to fire a weapon without ammunition.
      */
     public void playEmptySound(){
-        playSound("/sounds/empty.wav", false,0.2);
+        playEffect(EMPTY);
     }
     /**
      * Plays a generic action sound, such as picking up an item or interacting with an object.
      */
     public void playActionSound(){
-        playSound("/sounds/take.wav", false,0.4);
+        playEffect(ACTION);
     }
     /**
      * Plays the sound of a door opening. Used when the player successfully opens a door.
      */
     public void playOpenDoorSound(){
-        playSound("/sounds/door.wav", false,0.8);
+        playEffect(OPEN_DOOR);
     }
     /**
      * Plays the sound of a door being unable to open, typically used when the door is locked.
      */
     public void playClosedDoorSound(){
-        playSound("/sounds/closed.wav", false,0.8);
+        playEffect(CLOSED_DOOR);
     }
 
     /**
@@ -126,5 +227,9 @@ public class AudioManager {
             movePlayer.dispose();
             movePlayer = null;
         }
+        effects.stopAll();
+    }
+    public VoicePool getEffects() {
+        return effects;
     }
 }
@@ -0,0 +1,669 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.Door;
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Character;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
+import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The ChunkedWorld class streams a large level around the player instead of holding it in memory.
+ * The level is split into square chunks of tiles; each chunk owns the game objects and characters
+ * standing on it. Chunks within a radius around the player are read from the memory-mapped
+ * {@link CompiledLevel} on a background thread and handed to the game thread, which creates their
+ * objects and characters. Chunks that fell out of range stay cached until more than a fixed number
+ * of chunks are loaded, then the least recently used are evicted.
+ * <p>
+ * The state of an evicted chunk, its changed tiles and the objects and characters that were on it,
+ * is written to a scratch directory and restored when the chunk is loaded again, so the memory used
+ * depends only on the load radius and not on the size of the level.
+ * Tiles of chunks that are not loaded block movement, so nothing can walk into the unknown.
+ */
+public class ChunkedWorld {
+    public static final int CHUNK_SIZE = 32;
+    private static final Logger LOGGER = Logger.getLogger(ChunkedWorld.class.getName());
+    private final GameController controller;
+    private final GUICoinfig cn;
+    private final LevelController levelController;
+    private final CompiledLevel level;
+    private final int chunkSize;
+    private final int loadRadius;
+    private final int capacity;
+    private final int chunksX;
+    private final int chunksY;
+    private final Map<Integer, List<CompiledLevel.ObjectPlacement>> objectPlacements = new HashMap<>();
+    private final Map<Integer, List<CompiledLevel.CharacterPlacement>> npcPlacements = new HashMap<>();
+    private final Map<Integer, List<CompiledLevel.CharacterPlacement>> enemyPlacements = new HashMap<>();
+    private final BitSet visited;
+    private final BitSet pending;
+    private final Path stateDirectory;
+    private final ExecutorService loader;
+    private final ConcurrentLinkedQueue<ChunkState> loaded = new ConcurrentLinkedQueue<>();
+
+    private final int[] tableKeys;
+    private final Chunk[] tableValues;
+    private final Chunk[] resident;
+    private int residentCount = 0;
+    private Chunk lastChunk;
+    private long useCounter = 0;
+    private int centerChunkX = -1;
+    private int centerChunkY = -1;
+
+    /**
+     * Constructs a streamed world over a compiled level with chunks of {@value #CHUNK_SIZE} tiles,
+     * keeping the chunks up to two chunks away from the player loaded.
+     *
+     * @param controller the game controller the objects and characters are added to
+     * @param cn the GUI configuration
+     * @param levelController the level controller creating the objects and characters
+     * @param level the compiled level
+     * @throws IOException if the scratch directory for evicted chunks cannot be created
+     */
+    public ChunkedWorld(GameController controller, GUICoinfig cn, LevelController levelController, CompiledLevel level) throws IOException {
+        this(controller, cn, levelController, level, CHUNK_SIZE, 2);
+    }
+    /**
+     * Constructs a streamed world over a compiled level.
+     *
+     * @param controller the game controller the objects and characters are added to
+     * @param cn the GUI configuration
+     * @param levelController the level controller creating the objects and characters
+     * @param level the compiled level
+     * @param chunkSize the width and height of a chunk in tiles
+     * @param loadRadius the distance in chunks around the player's chunk that is kept loaded
+     * @throws IOException if the scratch directory for evicted chunks cannot be created
+     */
+    public ChunkedWorld(GameController controller, GUICoinfig cn, LevelController levelController, CompiledLevel level,
+                        int chunkSize, int loadRadius) throws IOException {
+        this.controller = controller;
+        this.cn = cn;
+        this.levelController = levelController;
+        this.level = level;
+        this.chunkSize = chunkSize;
+        this.loadRadius = loadRadius;
+        this.capacity = (2 * loadRadius + 3) * (2 * loadRadius + 3);
+        this.chunksX = (level.getWidth() + chunkSize - 1) / chunkSize;
+        this.chunksY = (level.getHeight() + chunkSize - 1) / chunkSize;
+        this.visited = new BitSet(chunksX * chunksY);
+        this.pending = new BitSet(chunksX * chunksY);
+        this.resident = new Chunk[capacity + (2 * loadRadius + 1) * (2 * loadRadius + 1)];
+        int tableSize = Integer.highestOneBit(resident.length * 4 - 1) << 1;
+        this.tableKeys = new int[tableSize];
+        this.tableValues = new Chunk[tableSize];
+        Arrays.fill(tableKeys, -1);
+
+        for (CompiledLevel.ObjectPlacement object : level.getObjects()) {
+            objectPlacements.computeIfAbsent(chunkOf(object.getX(), object.getY()), k -> new ArrayList<>()).add(object);
+        }
+        for (CompiledLevel.CharacterPlacement npc : level.getNpcs()) {
+            npcPlacements.computeIfAbsent(chunkOf(npc.getX(), npc.getY()), k -> new ArrayList<>()).add(npc);
+        }
+        for (CompiledLevel.CharacterPlacement enemy : level.getEnemies()) {
+            enemyPlacements.computeIfAbsent(chunkOf(enemy.getX(), enemy.getY()), k -> new ArrayList<>()).add(enemy);
+        }
+        stateDirectory = Files.createTempDirectory("zero-point-world");
+        loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chunk-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    /**
+     * Attaches the world to the texture manager and the collision broadphase and loads the chunks
+     * around the given tile before returning, so the first tick sees the surroundings of the player.
+     *
+     * @param col the column of the player's tile
+     * @param row the row of the player's tile
+     */
+    public void attach(int col, int row) {
+        controller.getTextureM().setWorld(this);
+        controller.getPhysics().getSpatialGrid().resize(getWindowSize(), getWindowSize());
+        int chunkX = clampChunkX(col / chunkSize);
+        int chunkY = clampChunkY(row / chunkSize);
+        moveWindow(chunkX, chunkY);
+        for (int y = chunkY - loadRadius; y <= chunkY + loadRadius; y++) {
+            for (int x = chunkX - loadRadius; x <= chunkX + loadRadius; x++) {
+                if (x >= 0 && y >= 0 && x < chunksX && y < chunksY) {
+                    install(readChunk(y * chunksX + x, false));
+                }
+            }
+        }
+        update(col, row);
+    }
+    /**
+     * Adds the chunks finished by the loader thread to the world and, when the player entered another
+     * chunk, requests the chunks that came into range and evicts chunks if too many are loaded.
+     * Called once per tick; while the player stays inside one chunk nothing is allocated.
+     *
+     * @param col the column of the player's tile
+     * @param row the row of the player's tile
+     */
+    public void update(int col, int row) {
+        ChunkState state;
+        while ((state = loaded.poll()) != null) {
+            pending.clear(state.index);
+            install(state);
+        }
+        int chunkX = clampChunkX(col / chunkSize);
+        int chunkY = clampChunkY(row / chunkSize);
+        if (chunkX == centerChunkX && chunkY == centerChunkY) {
+            return;
+        }
+        centerChunkX = chunkX;
+        centerChunkY = chunkY;
+        moveWindow(chunkX, chunkY);
+        useCounter++;
+        for (int y = chunkY - loadRadius; y <= chunkY + loadRadius; y++) {
+            for (int x = chunkX - loadRadius; x <= chunkX + loadRadius; x++) {
+                if (x < 0 || y < 0 || x >= chunksX || y >= chunksY) {
+                    continue;
+                }
+                int index = y * chunksX + x;
+                Chunk chunk = find(index);
+                if (chunk != null) {
+                    chunk.lastUsed = useCounter;
+                } else if (!pending.get(index)) {
+                    pending.set(index);
+                    boolean fromState = visited.get(index);
+                    loader.execute(() -> loaded.add(readChunk(index, fromState)));
+                }
+            }
+        }
+        while (residentCount > capacity) {
+            if (!evictLeastRecentlyUsed()) {
+                break;
+            }
+        }
+    }
+    /**
+     * Centers the window of the collision broadphase and of the texture manager's collision map on a chunk.
+     * The window reaches one chunk beyond the load radius, so it covers the chunks waiting for eviction
+     * next to the ones in range.
+     */
+    private void moveWindow(int chunkX, int chunkY) {
+        int col = (chunkX - loadRadius - 1) * chunkSize;
+        int row = (chunkY - loadRadius - 1) * chunkSize;
+        controller.getPhysics().getSpatialGrid().setOrigin(col, row);
+        controller.getTextureM().setWindowOrigin(col, row);
+    }
+    /**
+     * Evicts the loaded chunk outside the load radius that was in range the longest time ago.
+     *
+     * @return false if every loaded chunk is in range
+     */
+    private boolean evictLeastRecentlyUsed() {
+        Chunk oldest = null;
+        for (int i = 0; i < residentCount; i++) {
+            Chunk chunk = resident[i];
+            if (!isInRange(chunk.index) && (oldest == null || chunk.lastUsed < oldest.lastUsed)) {
+                oldest = chunk;
+            }
+        }
+        if (oldest == null) {
+            return false;
+        }
+        evict(oldest);
+        return true;
+    }
+    /**
+     * Returns the texture index of a tile.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return the texture index, or -1 if the chunk of the tile is not loaded
+     */
+    public int getTile(int col, int row) {
+        Chunk chunk = chunkAt(col, row);
+        if (chunk == null) {
+            return -1;
+        }
+        return chunk.tiles[(row % chunkSize) * chunkSize + col % chunkSize];
+    }
+    /**
+     * Changes a tile of a loaded chunk. The change is kept when the chunk is evicted.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @param tileNum the new texture index of the tile
+     * @return true if the tile changed, false if it already had the index or its chunk is not loaded
+     */
+    public boolean setTile(int col, int row, int tileNum) {
+        Chunk chunk = chunkAt(col, row);
+        int local = (row % chunkSize) * chunkSize + col % chunkSize;
+        if (chunk == null || chunk.tiles[local] == tileNum) {
+            return false;
+        }
+        chunk.tiles[local] = (short) tileNum;
+        chunk.dirty = true;
+        return true;
+    }
+    /**
+     * Stops the loader thread and deletes the saved state of evicted chunks.
+     * The objects and characters of the loaded chunks stay in the game controller.
+     */
+    public void close() {
+        loader.shutdownNow();
+        try {
+            loader.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(stateDirectory)) {
+                files = stream.collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(stateDirectory);
+        } catch (IOException e) {
+            LOGGER.warning("Cannot delete chunk state in " + stateDirectory + ": " + e.getMessage());
+        }
+    }
+
+    public int getWidth() {
+        return level.getWidth();
+    }
+
+    public int getHeight() {
+        return level.getHeight();
+    }
+
+    /**
+     * Returns the width and height in tiles of the window around the player that the collision
+     * broadphase and the collision map cover while the world is attached.
+     *
+     * @return the size of the window in tiles
+     */
+    public int getWindowSize() {
+        return (2 * loadRadius + 3) * chunkSize;
+    }
+
+    public int getResidentChunkCount() {
+        return residentCount;
+    }
+
+    public int getPendingChunkCount() {
+        return pending.cardinality();
+    }
+    /**
+     * Checks whether the chunk containing a tile is loaded.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return true if the chunk is loaded
+     */
+    public boolean isLoaded(int col, int row) {
+        return chunkAt(col, row) != null;
+    }
+
+    private Chunk chunkAt(int col, int row) {
+        if (col < 0 || row < 0 || col >= level.getWidth() || row >= level.getHeight()) {
+            return null;
+        }
+        int index = (row / chunkSize) * chunksX + col / chunkSize;
+        Chunk chunk = lastChunk;
+        if (chunk != null && chunk.index == index) {
+            return chunk;
+        }
+        chunk = find(index);
+        if (chunk != null) {
+            lastChunk = chunk;
+        }
+        return chunk;
+    }
+
+    private int chunkOf(int tileX, int tileY) {
+        return (tileY / chunkSize) * chunksX + tileX / chunkSize;
+    }
+
+    private int clampChunkX(int chunkX) {
+        return Math.max(0, Math.min(chunksX - 1, chunkX));
+    }
+
+    private int clampChunkY(int chunkY) {
+        return Math.max(0, Math.min(chunksY - 1, chunkY));
+    }
+
+    private boolean isInRange(int index) {
+        return Math.abs(index % chunksX - centerChunkX) <= loadRadius && Math.abs(index / chunksX - centerChunkY) <= loadRadius;
+    }
+    /**
+     * Reads a chunk, either in its original form from the level or as it was when it was evicted.
+     * Runs on the loader thread, so it only touches the level and the scratch directory.
+     */
+    private ChunkState readChunk(int index, boolean fromState) {
+        int tileSize = cn.getTileSize();
+        if (fromState) {
+            try {
+                return readState(index);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Cannot read the state of chunk " + index + ", loading it from the level", e);
+            }
+        }
+        List<CompiledLevel.ObjectPlacement> objects = new ArrayList<>();
+        for (CompiledLevel.ObjectPlacement object : objectPlacements.getOrDefault(index, Collections.emptyList())) {
+            objects.add(new CompiledLevel.ObjectPlacement(object.getType(), object.getX() * tileSize, object.getY() * tileSize, object.isLocked()));
+        }
+        return new ChunkState(index, readLevelTiles(index), objects,
+                toPixels(npcPlacements.getOrDefault(index, Collections.emptyList())),
+                toPixels(enemyPlacements.getOrDefault(index, Collections.emptyList())));
+    }
+
+    private List<CompiledLevel.CharacterPlacement> toPixels(List<CompiledLevel.CharacterPlacement> placements) {
+        int tileSize = cn.getTileSize();
+        List<CompiledLevel.CharacterPlacement> result = new ArrayList<>(placements.size());
+        for (CompiledLevel.CharacterPlacement placement : placements) {
+            result.add(new CompiledLevel.CharacterPlacement(placement.getX() * tileSize, placement.getY() * tileSize,
+                    placement.getSpeed(), placement.getHealth(), placement.getDialogues()));
+        }
+        return result;
+    }
+
+    private short[] readLevelTiles(int index) {
+        ShortBuffer tiles = level.getTiles();
+        int height = level.getHeight();
+        int firstCol = (index % chunksX) * chunkSize;
+        int firstRow = (index / chunksX) * chunkSize;
+        int lastCol = Math.min(level.getWidth(), firstCol + chunkSize);
+        int lastRow = Math.min(height, firstRow + chunkSize);
+        short[] chunkTiles = new short[chunkSize * chunkSize];
+        for (int col = firstCol; col < lastCol; col++) {
+            for (int row = firstRow; row < lastRow; row++) {
+                chunkTiles[(row - firstRow) * chunkSize + col - firstCol] = tiles.get(col * height + row);
+            }
+        }
+        return chunkTiles;
+    }
+    /**
+     * Adds a loaded chunk to the world together with its objects and characters. Runs on the game thread.
+     */
+    private void install(ChunkState state) {
+        if (find(state.index) != null) {
+            return;
+        }
+        if (residentCount == resident.length && !evictLeastRecentlyUsed()) {
+            return;
+        }
+        Chunk chunk = new Chunk(state.index, state.tiles);
+        chunk.dirty = state.dirty;
+        chunk.lastUsed = useCounter;
+        put(chunk);
+        for (CompiledLevel.ObjectPlacement object : state.objects) {
+            GameObject gameObject = levelController.createGameObject(object.getType(), object.getX(), object.getY(), object.isLocked());
+            if (gameObject != null) {
+                controller.addGameObject(gameObject);
+            }
+        }
+        for (CompiledLevel.CharacterPlacement npc : state.npcs) {
+            controller.getNpcs().add(levelController.createNpc(npc.getDialogues(), npc.getX(), npc.getY(), npc.getSpeed(), npc.getHealth()));
+        }
+        for (CompiledLevel.CharacterPlacement enemy : state.enemies) {
+            controller.getEnemies().add(levelController.createEnemy(enemy.getX(), enemy.getY(), enemy.getSpeed(), enemy.getHealth()));
+        }
+        invalidateChunkArea(state.index);
+    }
+    /**
+     * Removes a chunk together with the objects and characters standing on it and hands its state
+     * to the loader thread to be written to the scratch directory. Runs on the game thread.
+     */
+    private void evict(Chunk chunk) {
+        remove(chunk);
+        List<CompiledLevel.ObjectPlacement> objects = new ArrayList<>();
+        List<GameObject> gameObjects = controller.getGameObjects();
+        for (int i = gameObjects.size() - 1; i >= 0; i--) {
+            GameObject obj = gameObjects.get(i);
+            if (chunkOfPixel(obj.getXposition() + obj.getSizeX() / 2, obj.getYposition() + obj.getSizeY() / 2) == chunk.index) {
+                boolean locked = obj instanceof Door && ((Door) obj).isLocked();
+                objects.add(new CompiledLevel.ObjectPlacement(obj.getClass().getSimpleName(), obj.getXposition(), obj.getYposition(), locked));
+                obj.releaseAssets();
+                controller.removeGameObject(obj);
+            }
+        }
+        List<CompiledLevel.CharacterPlacement> npcs = new ArrayList<>();
+        List<FriendlyNPC> npcList = controller.getNpcs();
+        for (int i = npcList.size() - 1; i >= 0; i--) {
+            FriendlyNPC npc = npcList.get(i);
+            if (isOnChunk(npc, chunk.index)) {
+                npcs.add(new CompiledLevel.CharacterPlacement(npc.getX(), npc.getY(), npc.getSpeed(), npc.getHealth(), npc.getDialogues()));
+                npc.releaseAssets();
+                npcList.remove(i);
+            }
+        }
+        List<CompiledLevel.CharacterPlacement> enemies = new ArrayList<>();
+        List<Enemy> enemyList = controller.getEnemies();
+        for (int i = enemyList.size() - 1; i >= 0; i--) {
+            Enemy enemy = enemyList.get(i);
+            if (isOnChunk(enemy, chunk.index)) {
+                enemies.add(new CompiledLevel.CharacterPlacement(enemy.getX(), enemy.getY(), enemy.getSpeed(), enemy.getHealth(),
+                        Collections.emptyList()));
+                enemy.releaseAssets();
+                enemyList.remove(i);
+            }
+        }
+        ChunkState state = new ChunkState(chunk.index, chunk.dirty ? chunk.tiles : null, objects, npcs, enemies);
+        state.dirty = chunk.dirty;
+        visited.set(chunk.index);
+        loader.execute(() -> writeState(state));
+        invalidateChunkArea(chunk.index);
+    }
+
+    private boolean isOnChunk(Character character, int index) {
+        int col = character.getTileColumn();
+        int row = character.getTileRow();
+        return col >= 0 && row >= 0 && (row / chunkSize) * chunksX + col / chunkSize == index;
+    }
+
+    private int chunkOfPixel(int x, int y) {
+        return chunkOf(Math.max(0, x / cn.getTileSize()), Math.max(0, y / cn.getTileSize()));
+    }
+
+    private void invalidateChunkArea(int index) {
+        int firstCol = (index % chunksX) * chunkSize;
+        int firstRow = (index / chunksX) * chunkSize;
+        controller.getTextureM().invalidateArea(firstCol, firstRow, firstCol + chunkSize - 1, firstRow + chunkSize - 1);
+    }
+
+    private Path statePath(int index) {
+        return stateDirectory.resolve("chunk-" + index + ".bin");
+    }
+
+    private void writeState(ChunkState state) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(statePath(state.index))))) {
+            out.writeBoolean(state.tiles != null);
+            if (state.tiles != null) {
+                for (short tile : state.tiles) {
+                    out.writeShort(tile);
+                }
+            }
+            out.writeInt(state.objects.size());
+            for (CompiledLevel.ObjectPlacement object : state.objects) {
+                out.writeUTF(object.getType());
+                out.writeInt(object.getX());
+                out.writeInt(object.getY());
+                out.writeBoolean(object.isLocked());
+            }
+            writeCharacters(out, state.npcs);
+            writeCharacters(out, state.enemies);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Cannot write the state of chunk " + state.index, e);
+        }
+    }
+
+    private static void writeCharacters(DataOutputStream out, List<CompiledLevel.CharacterPlacement> characters) throws IOException {
+        out.writeInt(characters.size());
+        for (CompiledLevel.CharacterPlacement character : characters) {
+            out.writeInt(character.getX());
+            out.writeInt(character.getY());
+            out.writeInt(character.getSpeed());
+            out.writeInt(character.getHealth());
+            out.writeInt(character.getDialogues().size());
+            for (String dialogue : character.getDialogues()) {
+                out.writeUTF(dialogue);
+            }
+        }
+    }
+
+    private ChunkState readState(int index) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(statePath(index))))) {
+            short[] tiles;
+            boolean dirty = in.readBoolean();
+            if (dirty) {
+                tiles = new short[chunkSize * chunkSize];
+                for (int i = 0; i < tiles.length; i++) {
+                    tiles[i] = in.readShort();
+                }
+            } else {
+                tiles = readLevelTiles(index);
+            }
+            int objectCount = in.readInt();
+            List<CompiledLevel.ObjectPlacement> objects = new ArrayList<>(objectCount);
+            for (int i = 0; i < objectCount; i++) {
+                objects.add(new CompiledLevel.ObjectPlacement(in.readUTF(), in.readInt(), in.readInt(), in.readBoolean()));
+            }
+            ChunkState state = new ChunkState(index, tiles, objects, readCharacters(in), readCharacters(in));
+            state.dirty = dirty;
+            return state;
+        }
+    }
+
+    private static List<CompiledLevel.CharacterPlacement> readCharacters(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<CompiledLevel.CharacterPlacement> characters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int x = in.readInt();
+            int y = in.readInt();
+            int speed = in.readInt();
+            int health = in.readInt();
+            int dialogueCount = in.readInt();
+            List<String> dialogues = new ArrayList<>(dialogueCount);
+            for (int j = 0; j < dialogueCount; j++) {
+                dialogues.add(in.readUTF());
+            }
+            characters.add(new CompiledLevel.CharacterPlacement(x, y, speed, health, dialogues));
+        }
+        return characters;
+    }
+
+    /**
+     * Looks up a loaded chunk in the open addressing table of loaded chunks.
+     */
+    private Chunk find(int index) {
+        int mask = tableKeys.length - 1;
+        for (int slot = hash(index) & mask; tableKeys[slot] != -1; slot = (slot + 1) & mask) {
+            if (tableKeys[slot] == index) {
+                return tableValues[slot];
+            }
+        }
+        return null;
+    }
+
+    private void put(Chunk chunk) {
+        int mask = tableKeys.length - 1;
+        int slot = hash(chunk.index) & mask;
+        while (tableKeys[slot] != -1) {
+            slot = (slot + 1) & mask;
+        }
+        tableKeys[slot] = chunk.index;
+        tableValues[slot] = chunk;
+        chunk.residentSlot = residentCount;
+        resident[residentCount++] = chunk;
+    }
+
+    private void remove(Chunk chunk) {
+        if (lastChunk == chunk) {
+            lastChunk = null;
+        }
+        Chunk moved = resident[--residentCount];
+        resident[chunk.residentSlot] = moved;
+        moved.residentSlot = chunk.residentSlot;
+        resident[residentCount] = null;
+
+        int mask = tableKeys.length - 1;
+        int slot = hash(chunk.index) & mask;
+        while (tableKeys[slot] != chunk.index) {
+            slot = (slot + 1) & mask;
+        }
+        // Shift the following entries of the probe sequence back so that lookups do not stop at the hole.
+        int hole = slot;
+        for (int next = (hole + 1) & mask; tableKeys[next] != -1; next = (next + 1) & mask) {
+            int home = hash(tableKeys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                tableKeys[hole] = tableKeys[next];
+                tableValues[hole] = tableValues[next];
+                hole = next;
+            }
+        }
+        tableKeys[hole] = -1;
+        tableValues[hole] = null;
+    }
+
+    private static int hash(int index) {
+        int h = index * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A loaded chunk: its tiles, row by row, and bookkeeping for eviction.
+     */
+    private static class Chunk {
+        final int index;
+        final short[] tiles;
+        boolean dirty;
+        long lastUsed;
+        int residentSlot;
+
+        Chunk(int index, short[] tiles) {
+            this.index = index;
+            this.tiles = tiles;
+        }
+    }
+
+    /**
+     * The contents of a chunk passed between the game thread and the loader thread.
+     * Positions of objects and characters are in pixels.
+     */
+    private static class ChunkState {
+        final int index;
+        final short[] tiles;
+        final List<CompiledLevel.ObjectPlacement> objects;
+        final List<CompiledLevel.CharacterPlacement> npcs;
+        final List<CompiledLevel.CharacterPlacement> enemies;
+        boolean dirty;
+
+        ChunkState(int index, short[] tiles, List<CompiledLevel.ObjectPlacement> objects,
+                   List<CompiledLevel.CharacterPlacement> npcs, List<CompiledLevel.CharacterPlacement> enemies) {
+            this.index = index;
+            this.tiles = tiles;
+            this.objects = objects;
+            this.npcs = npcs;
+            this.enemies = enemies;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.Arrays;
+
+/**
+ * The CollisionMap class stores which tiles of the map block movement, one bit per tile.
+ * The bits are packed into a {@code long[]} row by row, each row starting at a new word, so the tiles
+ * a moving box covers lie next to each other in memory and a whole run of 64 tiles of a row is tested
+ * with a single word operation. Tiles outside the map never block.
+ * <p>
+ * For streamed worlds the map covers only a window around the loaded chunks, created with
+ * {@link #resizeWindow(int, int)} and moved with {@link #setOrigin(int, int)}; tiles outside the window always block.
+ * <p>
+ * The {@link TextureManager} derives the map from its tiles whenever a map is loaded, a tile changes or a
+ * streamed chunk is loaded or evicted; physics, pathfinding and projectiles then read it instead of the tiles.
+ */
+public class CollisionMap {
+    private int width;
+    private int height;
+    private int wordsPerRow;
+    private int originCol = 0;
+    private int originRow = 0;
+    private boolean outsideBlocked = false;
+    private long[] bits = new long[0];
+
+    /**
+     * Constructs a map of the given size in which no tile blocks.
+     *
+     * @param width the width of the map in tiles
+     * @param height the height of the map in tiles
+     */
+    public CollisionMap(int width, int height) {
+        resize(width, height);
+    }
+    /**
+     * Changes the size of the map, moves its origin back to the first tile and clears all tiles.
+     * The words are reused if they suffice.
+     *
+     * @param width the width of the map in tiles
+     * @param height the height of the map in tiles
+     */
+    public void resize(int width, int height) {
+        this.originCol = 0;
+        this.originRow = 0;
+        this.outsideBlocked = false;
+        this.width = Math.max(0, width);
+        this.height = Math.max(0, height);
+        this.wordsPerRow = (this.width + 63) >>> 6;
+        int words = wordsPerRow * this.height;
+        if (bits.length < words) {
+            bits = new long[words];
+        } else {
+            Arrays.fill(bits, 0, words, 0L);
+        }
+    }
+    /**
+     * Turns the map into a window of the given size at the first tile, in which every tile blocks
+     * until it is set. Tiles outside the window block as well.
+     *
+     * @param width the width of the window in tiles
+     * @param height the height of the window in tiles
+     */
+    public void resizeWindow(int width, int height) {
+        resize(width, height);
+        outsideBlocked = true;
+        fill(true);
+    }
+    /**
+     * Moves the top left tile of the map. The tiles of a window moved elsewhere all block again
+     * until they are set from their new position; otherwise they are cleared.
+     *
+     * @param col the column of the new top left tile
+     * @param row the row of the new top left tile
+     */
+    public void setOrigin(int col, int row) {
+        if (col == originCol && row == originRow) {
+            return;
+        }
+        originCol = col;
+        originRow = row;
+        fill(outsideBlocked);
+    }
+    /**
+     * Marks every tile as blocking or free.
+     *
+     * @param blocked true to block all tiles
+     */
+    public void fill(boolean blocked) {
+        Arrays.fill(bits, 0, wordsPerRow * height, blocked ? -1L : 0L);
+        if (blocked && (width & 63) != 0) {
+            long lastWordMask = -1L >>> (64 - (width & 63));
+            for (int row = 0; row < height; row++) {
+                bits[row * wordsPerRow + wordsPerRow - 1] &= lastWordMask;
+            }
+        }
+    }
+    /**
+     * Sets whether a tile blocks movement. Tiles outside the map are ignored.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @param blocked true if the tile blocks movement
+     */
+    public void set(int col, int row, boolean blocked) {
+        col -= originCol;
+        row -= originRow;
+        if (col < 0 || row < 0 || col >= width || row >= height) {
+            return;
+        }
+        int word = row * wordsPerRow + (col >>> 6);
+        if (blocked) {
+            bits[word] |= 1L << col;
+        } else {
+            bits[word] &= ~(1L << col);
+        }
+    }
+    /**
+     * Checks whether a tile blocks movement.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return true if the tile blocks movement or lies outside a window
+     */
+    public boolean isBlocked(int col, int row) {
+        col -= originCol;
+        row -= originRow;
+        if (col < 0 || row < 0 || col >= width || row >= height) {
+            return outsideBlocked;
+        }
+        return (bits[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+    /**
+     * Checks whether any tile of a rectangle blocks movement. The part of the rectangle outside
+     * the map is ignored, the part outside a window blocks.
+     *
+     * @param minCol the first column of the rectangle
+     * @param minRow the first row of the rectangle
+     * @param maxCol the last column of the rectangle, inclusive
+     * @param maxRow the last row of the rectangle, inclusive
+     * @return true if a tile of the rectangle blocks movement
+     */
+    public boolean isAreaBlocked(int minCol, int minRow, int maxCol, int maxRow) {
+        minCol -= originCol;
+        maxCol -= originCol;
+        minRow -= originRow;
+        maxRow -= originRow;
+        if (outsideBlocked && (minCol < 0 || minRow < 0 || maxCol >= width || maxRow >= height)) {
+            return true;
+        }
+        int firstCol = Math.max(0, minCol);
+        int lastCol = Math.min(width - 1, maxCol);
+        int firstRow = Math.max(0, minRow);
+        int lastRow = Math.min(height - 1, maxRow);
+        if (firstCol > lastCol || firstRow > lastRow) {
+            return false;
+        }
+        int firstWord = firstCol >>> 6;
+        int lastWord = lastCol >>> 6;
+        long firstMask = -1L << firstCol;
+        long lastMask = -1L >>> (63 - (lastCol & 63));
+        for (int row = firstRow; row <= lastRow; row++) {
+            int offset = row * wordsPerRow;
+            if (firstWord == lastWord) {
+                if ((bits[offset + firstWord] & firstMask & lastMask) != 0) {
+                    return true;
+                }
+                continue;
+            }
+            if ((bits[offset + firstWord] & firstMask) != 0 || (bits[offset + lastWord] & lastMask) != 0) {
+                return true;
+            }
+            for (int word = firstWord + 1; word < lastWord; word++) {
+                if (bits[offset + word] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    /**
+     * Checks whether any tile overlapped by a box in pixels blocks movement.
+     *
+     * @param minX the left edge of the box in pixels
+     * @param minY the top edge of the box in pixels
+     * @param maxX the right edge of the box in pixels, inclusive
+     * @param maxY the bottom edge of the box in pixels, inclusive
+     * @param tileSize the size of a tile in pixels
+     * @return true if a tile under the box blocks movement
+     */
+    public boolean isBoxBlocked(int minX, int minY, int maxX, int maxY, int tileSize) {
+        return isAreaBlocked(minX / tileSize, minY / tileSize, maxX / tileSize, maxY / tileSize);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    public int getOriginRow() {
+        return originRow;
+    }
+}
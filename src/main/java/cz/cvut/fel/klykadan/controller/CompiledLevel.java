@@ -0,0 +1,293 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The CompiledLevel class is the binary form of a level produced by the {@link LevelCompiler}.
+ * One file holds the tile map together with the placements of game objects, NPCs and enemies,
+ * so loading a level needs no text or JSON parsing. Files on disk are memory-mapped and the tiles
+ * are read straight from the mapping as a flat {@code short} array.
+ * <p>
+ * Layout of version {@value #VERSION}, all numbers big-endian:
+ * <pre>
+ * int magic, int version, int width, int height
+ * short tiles[width * height]       column by column, tile (col, row) at col * height + row
+ * int objectCount,  per object:     string type, int x, int y, byte locked
+ * int npcCount,     per NPC:        int x, int y, int speed, int health, int dialogueCount, string dialogues...
+ * int enemyCount,   per enemy:      int x, int y, int speed, int health
+ * </pre>
+ * Positions are in tiles and strings are stored as an int byte length followed by UTF-8 bytes.
+ */
+public class CompiledLevel {
+    public static final int MAGIC = 0x5A504C56;
+    public static final int VERSION = 1;
+    private final int width;
+    private final int height;
+    private final ShortBuffer tiles;
+    private final List<ObjectPlacement> objects;
+    private final List<CharacterPlacement> npcs;
+    private final List<CharacterPlacement> enemies;
+
+    /**
+     * Constructs a level from its parts.
+     *
+     * @param width the width of the map in tiles
+     * @param height the height of the map in tiles
+     * @param tiles the tile numbers, column by column
+     * @param objects the placed game objects
+     * @param npcs the placed friendly NPCs
+     * @param enemies the placed enemies
+     */
+    public CompiledLevel(int width, int height, ShortBuffer tiles, List<ObjectPlacement> objects,
+                         List<CharacterPlacement> npcs, List<CharacterPlacement> enemies) {
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.objects = objects;
+        this.npcs = npcs;
+        this.enemies = enemies;
+    }
+    /**
+     * Opens a compiled level. A level stored in a file is memory-mapped, a level inside a jar
+     * is read into memory.
+     *
+     * @param url the location of the compiled level
+     * @return the level
+     * @throws IOException if the level cannot be read or is not a compiled level of the current version
+     */
+    public static CompiledLevel open(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid level location " + url, e);
+            }
+        }
+        try (InputStream is = url.openStream()) {
+            return read(ByteBuffer.wrap(is.readAllBytes()));
+        }
+    }
+    /**
+     * Reads a compiled level from a buffer. The tiles stay a view of the buffer and are not copied.
+     *
+     * @param buffer the buffer positioned at the start of the level
+     * @return the level
+     * @throws IOException if the buffer does not contain a compiled level of the current version
+     */
+    public static CompiledLevel read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a compiled level");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported level version " + version);
+            }
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            int tileCount = width * height;
+            ShortBuffer tiles = buffer.slice().asShortBuffer();
+            tiles.limit(tileCount);
+            buffer.position(buffer.position() + tileCount * Short.BYTES);
+
+            int objectCount = buffer.getInt();
+            List<ObjectPlacement> objects = new ArrayList<>(objectCount);
+            for (int i = 0; i < objectCount; i++) {
+                objects.add(new ObjectPlacement(readString(buffer), buffer.getInt(), buffer.getInt(), buffer.get() != 0));
+            }
+            int npcCount = buffer.getInt();
+            List<CharacterPlacement> npcs = new ArrayList<>(npcCount);
+            for (int i = 0; i < npcCount; i++) {
+                int x = buffer.getInt();
+                int y = buffer.getInt();
+                int speed = buffer.getInt();
+                int health = buffer.getInt();
+                int dialogueCount = buffer.getInt();
+                List<String> dialogues = new ArrayList<>(dialogueCount);
+                for (int j = 0; j < dialogueCount; j++) {
+                    dialogues.add(readString(buffer));
+                }
+                npcs.add(new CharacterPlacement(x, y, speed, health, dialogues));
+            }
+            int enemyCount = buffer.getInt();
+            List<CharacterPlacement> enemies = new ArrayList<>(enemyCount);
+            for (int i = 0; i < enemyCount; i++) {
+                enemies.add(new CharacterPlacement(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                        Collections.emptyList()));
+            }
+            return new CompiledLevel(width, height, tiles, objects, npcs, enemies);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted compiled level", e);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    /**
+     * Writes the level in the compiled format.
+     *
+     * @param os the stream to write to, it is not closed
+     * @throws IOException if writing fails
+     */
+    public void write(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(width);
+        out.writeInt(height);
+        for (int i = 0; i < width * height; i++) {
+            out.writeShort(tiles.get(i));
+        }
+        out.writeInt(objects.size());
+        for (ObjectPlacement object : objects) {
+            writeString(out, object.getType());
+            out.writeInt(object.getX());
+            out.writeInt(object.getY());
+            out.writeByte(object.isLocked() ? 1 : 0);
+        }
+        out.writeInt(npcs.size());
+        for (CharacterPlacement npc : npcs) {
+            writeCharacter(out, npc);
+            out.writeInt(npc.getDialogues().size());
+            for (String dialogue : npc.getDialogues()) {
+                writeString(out, dialogue);
+            }
+        }
+        out.writeInt(enemies.size());
+        for (CharacterPlacement enemy : enemies) {
+            writeCharacter(out, enemy);
+        }
+        out.flush();
+    }
+
+    private static void writeCharacter(DataOutputStream out, CharacterPlacement character) throws IOException {
+        out.writeInt(character.getX());
+        out.writeInt(character.getY());
+        out.writeInt(character.getSpeed());
+        out.writeInt(character.getHealth());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the tile numbers column by column; the tile at (col, row) is at index {@code col * height + row}.
+     *
+     * @return the tiles
+     */
+    public ShortBuffer getTiles() {
+        return tiles;
+    }
+
+    public List<ObjectPlacement> getObjects() {
+        return objects;
+    }
+
+    public List<CharacterPlacement> getNpcs() {
+        return npcs;
+    }
+
+    public List<CharacterPlacement> getEnemies() {
+        return enemies;
+    }
+
+    /**
+     * A game object of a given type placed on a tile.
+     */
+    public static class ObjectPlacement {
+        private final String type;
+        private final int x;
+        private final int y;
+        private final boolean locked;
+
+        public ObjectPlacement(String type, int x, int y, boolean locked) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.locked = locked;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public boolean isLocked() {
+            return locked;
+        }
+    }
+
+    /**
+     * An NPC or enemy placed on a tile. Enemies have no dialogues.
+     */
+    public static class CharacterPlacement {
+        private final int x;
+        private final int y;
+        private final int speed;
+        private final int health;
+        private final List<String> dialogues;
+
+        public CharacterPlacement(int x, int y, int speed, int health, List<String> dialogues) {
+            this.x = x;
+            this.y = y;
+            this.speed = speed;
+            this.health = health;
+            this.dialogues = dialogues;
+        }
+
+        public int getX() {
+            return x;
+        }
+
+        public int getY() {
+            return y;
+        }
+
+        public int getSpeed() {
+            return speed;
+        }
+
+        public int getHealth() {
+            return health;
+        }
+
+        public List<String> getDialogues() {
+            return dialogues;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.Arrays;
+
+/**
+ * The EntityGrid class is a broadphase over the entities of an {@link EntityStore}, rebuilt from the
+ * component arrays whenever it is needed. Each entity is sorted into the cell containing its position;
+ * cells are hashed into a fixed number of buckets, so the grid covers worlds of any size and building it
+ * is a counting sort over the entities without allocation.
+ * <p>
+ * A query returns the entities of the buckets overlapping an area, each once. Different cells can share a
+ * bucket, so the caller still has to perform the exact test.
+ */
+public class EntityGrid {
+    private final int cellSize;
+    private final int bucketMask;
+    private final int[] bucketStart;
+    private final int[] cursor;
+    private int[] sorted = new int[0];
+    private int[] entityBucket = new int[0];
+    private int[] stamp = new int[0];
+    private int[] found = new int[0];
+    private int stampValue = 0;
+    private int foundCount = 0;
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param cellSize the width and height of one cell in pixels, usually the tile size
+     * @param buckets the number of buckets, rounded up to a power of two
+     */
+    public EntityGrid(int cellSize, int buckets) {
+        this.cellSize = Math.max(1, cellSize);
+        int size = Integer.highestOneBit(Math.max(1, buckets - 1)) << 1;
+        this.bucketMask = size - 1;
+        this.bucketStart = new int[size + 1];
+        this.cursor = new int[size];
+    }
+    /**
+     * Sorts every entity that has all the given components into the cell of its position.
+     * Entities stored in the grid before are removed.
+     *
+     * @param store the entities
+     * @param components the components an entity needs to be stored, as a bit mask
+     */
+    public void build(EntityStore store, int components) {
+        int count = store.getCount();
+        ensureCapacity(store.getCapacity());
+        Arrays.fill(bucketStart, 0);
+        int[] mask = store.mask;
+        int[] x = store.x;
+        int[] y = store.y;
+        for (int i = 0; i < count; i++) {
+            if ((mask[i] & components) == components) {
+                int bucket = bucket(Math.floorDiv(x[i], cellSize), Math.floorDiv(y[i], cellSize));
+                entityBucket[i] = bucket;
+                bucketStart[bucket + 1]++;
+            } else {
+                entityBucket[i] = -1;
+            }
+        }
+        for (int b = 0; b < cursor.length; b++) {
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        System.arraycopy(bucketStart, 0, cursor, 0, cursor.length);
+        for (int i = 0; i < count; i++) {
+            int bucket = entityBucket[i];
+            if (bucket >= 0) {
+                sorted[cursor[bucket]++] = i;
+            }
+        }
+    }
+    /**
+     * Collects the entities whose positions lie in the cells overlapping the given rectangle.
+     * They are read with {@link #getFound(int)} until the next query.
+     *
+     * @param minX the left edge of the area in pixels
+     * @param minY the top edge of the area in pixels
+     * @param maxX the right edge of the area in pixels, inclusive
+     * @param maxY the bottom edge of the area in pixels, inclusive
+     * @return the number of entities found
+     */
+    public int query(int minX, int minY, int maxX, int maxY) {
+        foundCount = 0;
+        stampValue++;
+        int minCol = Math.floorDiv(minX, cellSize);
+        int minRow = Math.floorDiv(minY, cellSize);
+        int maxCol = Math.floorDiv(maxX, cellSize);
+        int maxRow = Math.floorDiv(maxY, cellSize);
+        if ((long) (maxCol - minCol + 1) * (maxRow - minRow + 1) >= cursor.length) {
+            for (int bucket = 0; bucket < cursor.length; bucket++) {
+                collect(bucket);
+            }
+            return foundCount;
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                collect(bucket(col, row));
+            }
+        }
+        return foundCount;
+    }
+    /**
+     * Returns an entity found by the last query.
+     *
+     * @param i the number of the result, below the value returned by the query
+     * @return the index of the entity in the store
+     */
+    public int getFound(int i) {
+        return found[i];
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private void collect(int bucket) {
+        for (int k = bucketStart[bucket]; k < bucketStart[bucket + 1]; k++) {
+            int entity = sorted[k];
+            if (stamp[entity] != stampValue) {
+                stamp[entity] = stampValue;
+                found[foundCount++] = entity;
+            }
+        }
+    }
+
+    private int bucket(int col, int row) {
+        return (col * 73856093 ^ row * 19349663) & bucketMask;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (sorted.length < capacity) {
+            sorted = new int[capacity];
+            entityBucket = new int[capacity];
+            stamp = new int[capacity];
+            found = new int[capacity];
+            stampValue = 0;
+        }
+    }
+}
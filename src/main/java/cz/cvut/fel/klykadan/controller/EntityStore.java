@@ -0,0 +1,296 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * The EntityStore class keeps the state of entities in dense parallel primitive arrays, one array per
+ * component field (structure of arrays). An entity is a set of components given as a bit mask, for example
+ * {@code POSITION | VELOCITY | COLLIDER}, and systems iterate the arrays from index 0 to {@link #getCount()}.
+ * <p>
+ * Live entities are packed at the start of the arrays; destroying one moves the last entity into its slot,
+ * so the index of an entity can change. An entity is therefore identified by a stable id returned from
+ * {@link #create(int)}, which {@link #indexOf(int)} translates to the current index.
+ * The arrays grow when needed and are otherwise reused, so creating and destroying entities does not allocate
+ * once the store reached its working size.
+ * <p>
+ * Existing {@link GameObject} subclasses are mirrored into the store by the {@link GameObjectAdapter},
+ * which links each of their entities back to the object through {@link #OBJECT}.
+ */
+public class EntityStore {
+    public static final int POSITION = 1;
+    public static final int VELOCITY = 1 << 1;
+    public static final int COLLIDER = 1 << 2;
+    public static final int SPRITE = 1 << 3;
+    public static final int HEALTH = 1 << 4;
+    public static final int AI = 1 << 5;
+    public static final int HOSTILE = 1 << 6;
+    public static final int OBJECT = 1 << 7;
+
+    private int count = 0;
+    private int[] idToIndex;
+    private int[] freeIds;
+    private int freeIdCount = 0;
+    private int nextId = 0;
+
+    // Systems in this package use the component arrays directly. The arrays are replaced when the store
+    // grows, so they must be read again after creating entities.
+    int[] id;
+    int[] mask;
+    int[] x;
+    int[] y;
+    int[] previousX;
+    int[] previousY;
+    int[] velocityX;
+    int[] velocityY;
+    int[] boxOffsetX;
+    int[] boxOffsetY;
+    int[] boxWidth;
+    int[] boxHeight;
+    int[] direction;
+    int[] spriteCounter;
+    int[] spriteFrame;
+    int[] health;
+    GameObject[] object;
+    int[] syncTick;
+
+    /**
+     * Constructs an empty store.
+     *
+     * @param initialCapacity the number of entities the store holds before it has to grow
+     */
+    public EntityStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        idToIndex = new int[capacity];
+        freeIds = new int[capacity];
+        id = new int[capacity];
+        mask = new int[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        previousX = new int[capacity];
+        previousY = new int[capacity];
+        velocityX = new int[capacity];
+        velocityY = new int[capacity];
+        boxOffsetX = new int[capacity];
+        boxOffsetY = new int[capacity];
+        boxWidth = new int[capacity];
+        boxHeight = new int[capacity];
+        direction = new int[capacity];
+        spriteCounter = new int[capacity];
+        spriteFrame = new int[capacity];
+        health = new int[capacity];
+        object = new GameObject[capacity];
+        syncTick = new int[capacity];
+    }
+    /**
+     * Creates an entity. All its component fields start at zero.
+     *
+     * @param components the components of the entity as a bit mask
+     * @return the id of the new entity
+     */
+    public int create(int components) {
+        if (count == id.length) {
+            grow(id.length * 2);
+        }
+        int entity = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+        if (entity == idToIndex.length) {
+            idToIndex = Arrays.copyOf(idToIndex, idToIndex.length * 2);
+        }
+        int i = count++;
+        idToIndex[entity] = i;
+        id[i] = entity;
+        mask[i] = components;
+        x[i] = 0;
+        y[i] = 0;
+        previousX[i] = 0;
+        previousY[i] = 0;
+        velocityX[i] = 0;
+        velocityY[i] = 0;
+        boxOffsetX[i] = 0;
+        boxOffsetY[i] = 0;
+        boxWidth[i] = 0;
+        boxHeight[i] = 0;
+        direction[i] = 0;
+        spriteCounter[i] = 0;
+        spriteFrame[i] = 0;
+        health[i] = 0;
+        object[i] = null;
+        syncTick[i] = 0;
+        return entity;
+    }
+    /**
+     * Destroys an entity. The last entity takes over its slot.
+     *
+     * @param entity the id of the entity
+     */
+    public void destroy(int entity) {
+        int i = indexOf(entity);
+        if (i < 0) {
+            return;
+        }
+        int last = --count;
+        if (i != last) {
+            id[i] = id[last];
+            mask[i] = mask[last];
+            x[i] = x[last];
+            y[i] = y[last];
+            previousX[i] = previousX[last];
+            previousY[i] = previousY[last];
+            velocityX[i] = velocityX[last];
+            velocityY[i] = velocityY[last];
+            boxOffsetX[i] = boxOffsetX[last];
+            boxOffsetY[i] = boxOffsetY[last];
+            boxWidth[i] = boxWidth[last];
+            boxHeight[i] = boxHeight[last];
+            direction[i] = direction[last];
+            spriteCounter[i] = spriteCounter[last];
+            spriteFrame[i] = spriteFrame[last];
+            health[i] = health[last];
+            object[i] = object[last];
+            syncTick[i] = syncTick[last];
+            idToIndex[id[i]] = i;
+        }
+        object[last] = null;
+        idToIndex[entity] = -1;
+        if (freeIdCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeIdCount++] = entity;
+    }
+    /**
+     * Destroys all entities.
+     */
+    public void clear() {
+        while (count > 0) {
+            destroy(id[count - 1]);
+        }
+    }
+    /**
+     * Returns the current index of an entity in the component arrays.
+     *
+     * @param entity the id of the entity
+     * @return the index, or -1 if the entity does not exist
+     */
+    public int indexOf(int entity) {
+        if (entity < 0 || entity >= nextId) {
+            return -1;
+        }
+        return idToIndex[entity];
+    }
+
+    private void grow(int capacity) {
+        id = Arrays.copyOf(id, capacity);
+        mask = Arrays.copyOf(mask, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        boxOffsetX = Arrays.copyOf(boxOffsetX, capacity);
+        boxOffsetY = Arrays.copyOf(boxOffsetY, capacity);
+        boxWidth = Arrays.copyOf(boxWidth, capacity);
+        boxHeight = Arrays.copyOf(boxHeight, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        spriteCounter = Arrays.copyOf(spriteCounter, capacity);
+        spriteFrame = Arrays.copyOf(spriteFrame, capacity);
+        health = Arrays.copyOf(health, capacity);
+        object = Arrays.copyOf(object, capacity);
+        syncTick = Arrays.copyOf(syncTick, capacity);
+    }
+    /**
+     * Checks if the entity at an index has all the given components.
+     *
+     * @param index the index of the entity
+     * @param components the components as a bit mask
+     * @return true if the entity has every component
+     */
+    public boolean has(int index, int components) {
+        return (mask[index] & components) == components;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return id.length;
+    }
+
+    public int getId(int index) {
+        return id[index];
+    }
+
+    public int getMask(int index) {
+        return mask[index];
+    }
+
+    public int getX(int index) {
+        return x[index];
+    }
+
+    public int getY(int index) {
+        return y[index];
+    }
+
+    public int getPreviousX(int index) {
+        return previousX[index];
+    }
+
+    public int getPreviousY(int index) {
+        return previousY[index];
+    }
+
+    public void setPosition(int index, int newX, int newY) {
+        x[index] = newX;
+        y[index] = newY;
+        previousX[index] = newX;
+        previousY[index] = newY;
+    }
+
+    public void setVelocity(int index, int newVelocityX, int newVelocityY) {
+        velocityX[index] = newVelocityX;
+        velocityY[index] = newVelocityY;
+    }
+
+    /**
+     * Sets the collision box of an entity relative to its position.
+     *
+     * @param index the index of the entity
+     * @param offsetX the distance of the box from the left edge of the entity
+     * @param offsetY the distance of the box from the top edge of the entity
+     * @param width the width of the box
+     * @param height the height of the box
+     */
+    public void setCollider(int index, int offsetX, int offsetY, int width, int height) {
+        boxOffsetX[index] = offsetX;
+        boxOffsetY[index] = offsetY;
+        boxWidth[index] = width;
+        boxHeight[index] = height;
+    }
+
+    public int getDirection(int index) {
+        return direction[index];
+    }
+
+    public void setDirection(int index, int newDirection) {
+        direction[index] = newDirection;
+    }
+
+    public int getSpriteFrame(int index) {
+        return spriteFrame[index];
+    }
+
+    public int getHealth(int index) {
+        return health[index];
+    }
+
+    public void setHealth(int index, int newHealth) {
+        health[index] = newHealth;
+    }
+
+    public GameObject getObject(int index) {
+        return object[index];
+    }
+}
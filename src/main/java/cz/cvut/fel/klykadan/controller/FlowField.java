@@ -0,0 +1,174 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.Arrays;
+
+/**
+ * The FlowField class stores, for every tile around a target, the distance to the target and the
+ * direction of the first step of a shortest path toward it. It is built by a single breadth-first
+ * search from the target tile over the walkable tiles of the map, so any number of characters
+ * chasing the same target can look up their next move in constant time instead of searching.
+ * The field is rebuilt only when the target moves to another tile or the map changes, and the
+ * search stops at a maximum distance so a rebuild costs at most one pass over the nearby tiles.
+ * Only a window of the map around the target that covers that distance is stored, so the memory
+ * used does not depend on the size of the map.
+ */
+public class FlowField {
+    public static final int UNREACHED = -1;
+    private static final Direction[] DIRECTIONS = {null, Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN};
+    private static final byte LEFT = 1;
+    private static final byte RIGHT = 2;
+    private static final byte UP = 3;
+    private static final byte DOWN = 4;
+
+    private final TextureManager textureM;
+    private final int maxDistance;
+    private int mapWidth;
+    private int mapHeight;
+    private int width;
+    private int height;
+    private int originCol;
+    private int originRow;
+    private short[] distance;
+    private byte[] direction;
+    private int[] stamp;
+    private int[] queue;
+    private int generation = 0;
+    private int targetCol = -1;
+    private int targetRow = -1;
+    private int mapVersion = -1;
+
+    /**
+     * Constructs a flow field over the map of the given texture manager.
+     *
+     * @param textureM the texture manager providing the tile map and collision tiles
+     * @param maxDistance the distance in tiles beyond which tiles are left unreached
+     */
+    public FlowField(TextureManager textureM, int maxDistance) {
+        this.textureM = textureM;
+        this.maxDistance = Math.min(maxDistance, Short.MAX_VALUE);
+    }
+    /**
+     * Points the field at the given target tile. The field is rebuilt only if the target tile
+     * or the map changed since the last call.
+     *
+     * @param col the column of the target tile
+     * @param row the row of the target tile
+     */
+    public void update(int col, int row) {
+        mapWidth = textureM.getMapWidth();
+        mapHeight = textureM.getMapHeight();
+        int windowWidth = Math.min(mapWidth, 2 * maxDistance + 1);
+        int windowHeight = Math.min(mapHeight, 2 * maxDistance + 1);
+        boolean resized = windowWidth != width || windowHeight != height;
+        if (resized) {
+            width = windowWidth;
+            height = windowHeight;
+            int size = width * height;
+            distance = new short[size];
+            direction = new byte[size];
+            stamp = new int[size];
+            queue = new int[size];
+            generation = 0;
+        }
+        if (!resized && col == targetCol && row == targetRow && textureM.getMapVersion() == mapVersion) {
+            return;
+        }
+        targetCol = col;
+        targetRow = row;
+        mapVersion = textureM.getMapVersion();
+        originCol = Math.max(0, Math.min(mapWidth - width, col - maxDistance));
+        originRow = Math.max(0, Math.min(mapHeight - height, row - maxDistance));
+        rebuild();
+    }
+
+    private void rebuild() {
+        generation++;
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        int startCol = targetCol - originCol;
+        int startRow = targetRow - originRow;
+        if (!isWalkable(startCol, startRow)) {
+            return;
+        }
+        int head = 0;
+        int tail = 0;
+        int target = startRow * width + startCol;
+        stamp[target] = generation;
+        distance[target] = 0;
+        direction[target] = 0;
+        queue[tail++] = target;
+        while (head < tail) {
+            int tile = queue[head++];
+            int nextDistance = distance[tile] + 1;
+            if (nextDistance > maxDistance) {
+                continue;
+            }
+            int col = tile % width;
+            int row = tile / width;
+            tail = visit(col - 1, row, nextDistance, RIGHT, tail);
+            tail = visit(col + 1, row, nextDistance, LEFT, tail);
+            tail = visit(col, row - 1, nextDistance, DOWN, tail);
+            tail = visit(col, row + 1, nextDistance, UP, tail);
+        }
+    }
+
+    private int visit(int col, int row, int tileDistance, byte towardTarget, int tail) {
+        if (!isWalkable(col, row)) {
+            return tail;
+        }
+        int tile = row * width + col;
+        if (stamp[tile] == generation) {
+            return tail;
+        }
+        stamp[tile] = generation;
+        distance[tile] = (short) tileDistance;
+        direction[tile] = towardTarget;
+        queue[tail] = tile;
+        return tail + 1;
+    }
+
+    /**
+     * Checks a tile given in window coordinates.
+     */
+    private boolean isWalkable(int col, int row) {
+        return col >= 0 && row >= 0 && col < width && row < height && !textureM.isCollisionTile(originCol + col, originRow + row);
+    }
+    /**
+     * Returns the number of steps from the given tile to the target.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return the distance in tiles, or {@link #UNREACHED} if the tile is blocked, too far or cut off
+     */
+    public int getDistance(int col, int row) {
+        col -= originCol;
+        row -= originRow;
+        if (col < 0 || row < 0 || col >= width || row >= height || stamp[row * width + col] != generation) {
+            return UNREACHED;
+        }
+        return distance[row * width + col];
+    }
+    /**
+     * Returns the direction of the first step from the given tile toward the target.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return the direction, or null on the target tile and on unreached tiles
+     */
+    public Direction getDirection(int col, int row) {
+        if (getDistance(col, row) == UNREACHED) {
+            return null;
+        }
+        return DIRECTIONS[direction[(row - originRow) * width + col - originCol]];
+    }
+
+    public int getTargetCol() {
+        return targetCol;
+    }
+
+    public int getTargetRow() {
+        return targetRow;
+    }
+}
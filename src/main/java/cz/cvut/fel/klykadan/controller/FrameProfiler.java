@@ -0,0 +1,283 @@
+package cz.cvut.fel.klykadan.controller;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+/**
+ * The FrameProfiler class measures how long each phase of a tick and of a frame takes.
+ * For every phase it keeps a rolling window of the most recent samples in a bucketed histogram,
+ * from which the median, the 99th percentile and the maximum can be read. Recording a sample
+ * never allocates, so the profiler can stay enabled in normal play. The histograms, entity counts
+ * and garbage collector pauses can be shown in an on-canvas overlay or written to a CSV file.
+ * <p>
+ * The phases of a tick are recorded on the simulation thread and those of a frame on the JavaFX thread,
+ * so every histogram has a single writer; the overlay may read a tick histogram while it changes.
+ */
+public class FrameProfiler {
+    /**
+     * The measured phases. TICK and RENDER contain the phases listed after them,
+     * FRAME contains one pulse of the JavaFX thread: rendering and, without a simulation thread,
+     * the ticks simulated in the pulse.
+     */
+    public enum Phase {
+        FRAME, TICK, STATE, UI, PLAYER, NPCS, ENEMIES, OBJECTS, ENTITIES, PROJECTILES,
+        RENDER, TEXTURE, GAME_OBJECTS, SPRITES, GC
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(FrameProfiler.class.getName());
+    private static final Phase[] PHASES = Phase.values();
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "profile-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Histogram[] histograms = new Histogram[PHASES.length];
+    private final long[] startTimes = new long[PHASES.length];
+    private final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private long lastGcTime;
+    private long lastGcCount;
+    private long gcCount;
+    private volatile boolean overlayVisible = false;
+    private Font overlayFont;
+
+    /**
+     * Constructs a profiler that keeps the given number of most recent samples for every phase.
+     *
+     * @param windowSize the number of samples in each rolling window
+     */
+    public FrameProfiler(int windowSize) {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram(windowSize);
+        }
+        lastGcTime = totalGcTime();
+        lastGcCount = totalGcCount();
+    }
+    /**
+     * Marks the start of a phase.
+     *
+     * @param phase the phase that starts
+     */
+    public void begin(Phase phase) {
+        startTimes[phase.ordinal()] = System.nanoTime();
+    }
+    /**
+     * Marks the end of a phase started with {@link #begin(Phase)} and records its duration.
+     *
+     * @param phase the phase that ends
+     */
+    public void end(Phase phase) {
+        record(phase, System.nanoTime() - startTimes[phase.ordinal()]);
+    }
+    /**
+     * Records a duration for a phase.
+     *
+     * @param phase the measured phase
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        histograms[phase.ordinal()].add(nanos);
+    }
+    /**
+     * Records the garbage collection time spent since the previous call as a sample of the GC phase.
+     * Called once per frame.
+     */
+    public void sampleGc() {
+        long time = totalGcTime();
+        long count = totalGcCount();
+        record(Phase.GC, (time - lastGcTime) * 1_000_000L);
+        gcCount += count - lastGcCount;
+        lastGcTime = time;
+        lastGcCount = count;
+    }
+
+    private long totalGcTime() {
+        long total = 0;
+        for (int i = 0; i < gcBeans.size(); i++) {
+            total += Math.max(0, gcBeans.get(i).getCollectionTime());
+        }
+        return total;
+    }
+
+    private long totalGcCount() {
+        long total = 0;
+        for (int i = 0; i < gcBeans.size(); i++) {
+            total += Math.max(0, gcBeans.get(i).getCollectionCount());
+        }
+        return total;
+    }
+    /**
+     * Returns the given percentile of the samples in the current window of a phase.
+     * The value is the upper bound of the histogram bucket the percentile falls into.
+     *
+     * @param phase the measured phase
+     * @param percentile the percentile between 0 and 1, for example 0.99
+     * @return the percentile in nanoseconds, 0 if there are no samples
+     */
+    public long getPercentile(Phase phase, double percentile) {
+        return histograms[phase.ordinal()].percentile(percentile);
+    }
+
+    public long getMax(Phase phase) {
+        return histograms[phase.ordinal()].max();
+    }
+
+    public int getSampleCount(Phase phase) {
+        return histograms[phase.ordinal()].count;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+    /**
+     * Draws the overlay with the histograms of all phases, the number of entities and the GC pauses
+     * in the top left corner of the canvas. Nothing is drawn while the overlay is hidden.
+     *
+     * @param gc the graphics context to draw on
+     * @param snapshot the render snapshot holding the number of entities
+     */
+    public void drawOverlay(GraphicsContext gc, RenderSnapshot snapshot) {
+        if (!overlayVisible) {
+            return;
+        }
+        if (overlayFont == null) {
+            overlayFont = Font.font("Monospaced", 12);
+        }
+        double lineHeight = 14;
+        double x = 10;
+        double y = 90;
+        gc.setFill(Color.color(0, 0, 0, 0.7));
+        gc.fillRect(x - 5, y - lineHeight, 330, lineHeight * (PHASES.length + 4));
+        gc.setFont(overlayFont);
+        gc.setFill(Color.LIME);
+        gc.fillText(String.format("%-13s %8s %8s %8s", "phase (ms)", "p50", "p99", "max"), x, y);
+        for (Phase phase : PHASES) {
+            y += lineHeight;
+            gc.fillText(String.format("%-13s %8.3f %8.3f %8.3f", phase.name(),
+                    getPercentile(phase, 0.5) / 1e6, getPercentile(phase, 0.99) / 1e6, getMax(phase) / 1e6), x, y);
+        }
+        y += lineHeight * 1.5;
+        gc.fillText(String.format("objects %d  npcs %d  enemies %d  bullets %d",
+                snapshot.objectTotal, snapshot.npcTotal, snapshot.enemyTotal, snapshot.projectileTotal), x, y);
+        y += lineHeight;
+        gc.fillText(String.format("GC collections %d", gcCount), x, y);
+    }
+    /**
+     * Writes the percentiles and maximum of every phase to a CSV file, with durations in microseconds.
+     * The values are copied on the calling thread, the file is written on a background thread so a dump
+     * does not stall the tick that requested it.
+     *
+     * @param path the path of the CSV file
+     * @return the pending write, completing once the file is written
+     */
+    public Future<?> dumpCsv(String path) {
+        long[][] rows = new long[PHASES.length][];
+        for (Phase phase : PHASES) {
+            rows[phase.ordinal()] = new long[]{getSampleCount(phase),
+                    getPercentile(phase, 0.5), getPercentile(phase, 0.99), getMax(phase)};
+        }
+        return WRITER.submit(() -> writeCsv(path, rows));
+    }
+
+    private static void writeCsv(String path, long[][] rows) {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println("phase,samples,p50_us,p99_us,max_us");
+            for (Phase phase : PHASES) {
+                long[] row = rows[phase.ordinal()];
+                out.printf(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f%n", phase.name(), row[0], row[1] / 1e3, row[2] / 1e3, row[3] / 1e3);
+            }
+            LOGGER.info("Frame profile written to " + path);
+        } catch (IOException e) {
+            LOGGER.severe("Cannot write frame profile: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A rolling window of samples with a log-linear bucket histogram. Every power of two is split
+     * into four buckets, so a reported percentile is at most 25 % above the real value.
+     */
+    private static class Histogram {
+        private static final int BUCKETS = 256;
+        private final long[] samples;
+        private final int[] bucketCounts = new int[BUCKETS];
+        private int next = 0;
+        private int count = 0;
+
+        Histogram(int windowSize) {
+            samples = new long[Math.max(1, windowSize)];
+        }
+
+        void add(long value) {
+            value = Math.max(0, value);
+            if (count == samples.length) {
+                bucketCounts[bucket(samples[next])]--;
+            } else {
+                count++;
+            }
+            samples[next] = value;
+            bucketCounts[bucket(value)]++;
+            next = (next + 1) % samples.length;
+        }
+
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(BUCKETS - 1);
+        }
+
+        long max() {
+            long max = 0;
+            for (int i = 0; i < count; i++) {
+                max = Math.max(max, samples[i]);
+            }
+            return max;
+        }
+
+        static int bucket(long value) {
+            if (value < 4) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) ((value >>> (exponent - 2)) & 3);
+            return exponent * 4 + sub;
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < 4) {
+                return bucket;
+            }
+            int exponent = bucket / 4;
+            int sub = bucket % 4;
+            return ((4L + sub + 1) << (exponent - 2)) - 1;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package cz.cvut.fel.klykadan.controller;
 
 import cz.cvut.fel.klykadan.model.CraftingRecipe;
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import cz.cvut.fel.klykadan.model.gameObject.GameObject;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
 import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
@@ -9,6 +10,7 @@ import cz.cvut.fel.klykadan.model.gameObject.items.Item;
 import cz.cvut.fel.klykadan.model.gameObject.items.SuperWeapon;
 import cz.cvut.fel.klykadan.model.gameObject.items.Weapon;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
+import cz.cvut.fel.klykadan.view.NullUI;
 import cz.cvut.fel.klykadan.view.UI;
 import javafx.animation.AnimationTimer;
 import javafx.scene.canvas.GraphicsContext;
@@ -17,6 +19,7 @@ import javafx.scene.paint.Color;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 /**
@@ -36,6 +39,27 @@ public class GameController {
     private GraphicsContext gc;
     private TextureManager textureM;
     private PhysicsEngine physics;
+    private Pathfinder pathfinder;
+    private FlowField flowField;
+    private ChunkedWorld world;
+    private AIScheduler aiScheduler;
+    private SimulationLOD simulationLOD;
+    private ProximityIndex proximity;
+    private ProjectileSystem projectiles;
+    private EntityStore entities;
+    private GameObjectAdapter entityAdapter;
+    private TaskGraph tickGraph;
+    private TaskGraph.Task npcTask;
+    private TaskGraph.Task enemyMovementTask;
+    private TaskGraph.Task enemyCombatTask;
+    private TaskGraph.Task objectsTask;
+    private TaskGraph.Task entitiesTask;
+    private TaskGraph.Task projectileMotionTask;
+    private TaskGraph.Task projectileHitTask;
+    private boolean[] pathfinderMoves = new boolean[64];
+    private FrameProfiler profiler;
+    private final SnapshotBuffer snapshots;
+    private SimulationThread simulation;
     private AnimationTimer gameLoop;
     private CraftingRecipe craftingRecipe;
     private Player player;
@@ -44,28 +68,59 @@ public class GameController {
     private List<FriendlyNPC> npcs;
     private List<Enemy> enemies;
     private UI UI;
+    private final ModelEvents events = new ModelEvents();
     private GameStateController stateController;
     private static final Logger LOGGER = Logger.getLogger(GameController.class.getName());
+    private static final int PARALLEL_CHUNK_SIZE = 64;
     private int currentLevel;
+    private final boolean headless;
     public GameController(GUICoinfig cn, InputHandler input, GraphicsContext gc, UI UI) {
+        this(cn, input, gc, UI, false);
+    }
+    /**
+     * Constructs a headless GameController that simulates the game without rendering,
+     * images, sounds or user interface. The game loop is not started; the caller drives
+     * the simulation by calling {@link #update()}.
+     *
+     * @param cn GUI configuration settings
+     * @param input handler for user inputs, typically a {@link ScriptedInputHandler}
+     */
+    public GameController(GUICoinfig cn, InputHandler input) {
+        this(cn, input, null, new NullUI(), true);
+    }
+    private GameController(GUICoinfig cn, InputHandler input, GraphicsContext gc, UI UI, boolean headless) {
         this.cn = cn;
         this.gc = gc;
         this.input = input;
         this.UI = UI;
-        audioManager = new AudioManager();
+        this.headless = headless;
+        AssetManager.getInstance().setHeadless(headless);
+        audioManager = new AudioManager(!headless);
         this.stateController = new GameStateController(this, input);
         this.gameObjects = new ArrayList<>();
         textureM = new TextureManager(gc, cn, this);
         player = new Player(this, input, cn, textureM, audioManager);
-        textureM.setPlayer(player);
         npcs = new ArrayList<>();
         enemies = new ArrayList<>();
         this.levelController = new LevelController(this, cn);
         physics = new PhysicsEngine(this, cn);
+        pathfinder = new Pathfinder(textureM);
+        flowField = new FlowField(textureM, 64);
+        aiScheduler = new AIScheduler();
+        simulationLOD = new SimulationLOD(cn);
+        proximity = new ProximityIndex(this, cn);
+        projectiles = new ProjectileSystem(this, cn, 256);
+        entities = new EntityStore(256);
+        entityAdapter = new GameObjectAdapter(entities);
+        buildTickGraph();
+        profiler = new FrameProfiler(cn.getTickRate() * 5);
+        snapshots = new SnapshotBuffer(new RenderSnapshot(cn, 256), new RenderSnapshot(cn, 256), new RenderSnapshot(cn, 256));
         craftingRecipe = new CraftingRecipe(this, cn);
 
         setGameObjects();
-        initialize();
+        if (!headless) {
+            initialize();
+        }
     }
     public void setUI(UI UI) {
         this.UI = UI;
@@ -76,37 +131,85 @@ public class GameController {
 
     }
     public void switchToNextLevel(int currentLevel) {
-        gameObjects.clear();
-        npcs.clear();
-        enemies.clear();
+        closeWorld();
+        List<GameObject> previousLevel = detachLevel();
         int nextLevel = currentLevel + 1;
         player.setCurrentLevel(nextLevel);
         levelController.loadLevel(nextLevel);
+        releaseAssets(previousLevel);
         LOGGER.log(Level.INFO, "Switching to level {0}", nextLevel);
         craftingRecipe.updateRecipe(this,cn);
     }
     /**
-     * Initializes the game loop and starts its execution.
+     * Initializes the game loop. The simulation advances in fixed ticks of {@code 1 / tickRate} seconds and
+     * publishes a {@link RenderSnapshot} after every tick, while rendering happens on every pulse of the
+     * JavaFX thread and interpolates the latest snapshot between its previous and its current tick.
+     * With a threaded simulation the ticks run on a {@link SimulationThread} started by {@link #startGameLoop()},
+     * and a pulse only draws. Otherwise the pulses collect time in an accumulator and simulate the due ticks
+     * before drawing, at most {@code maxTicksPerFrame} per pulse so a slow frame cannot spiral.
      */
     public void initialize(){
+        long tickNanos = 1_000_000_000L / cn.getTickRate();
+        if (cn.isThreadedSimulation()) {
+            simulation = new SimulationThread(this, tickNanos, cn.getMaxTicksPerFrame());
+            gameLoop = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    profiler.begin(FrameProfiler.Phase.FRAME);
+                    RenderSnapshot snapshot = snapshots.acquire();
+                    double alpha = snapshot == null ? 0 : (double) (System.nanoTime() - snapshot.getTime()) / tickNanos;
+                    render(snapshot, Math.max(0, Math.min(1, alpha)));
+                    profiler.end(FrameProfiler.Phase.FRAME);
+                    profiler.sampleGc();
+                }
+            };
+            gameLoop.start();
+            return;
+        }
         gameLoop = new AnimationTimer() {
-            long lastUpdate = 0;
+            long lastTime = -1;
+            long accumulator = 0;
+            @Override
+            public void start() {
+                lastTime = -1;
+                accumulator = 0;
+                super.start();
+            }
             @Override
             public void handle(long now) {
-                if (now - lastUpdate >= 1000000000 / cn.getFPS()) {
+                profiler.begin(FrameProfiler.Phase.FRAME);
+                if (lastTime < 0) {
+                    lastTime = now;
+                }
+                accumulator += now - lastTime;
+                lastTime = now;
+
+                int ticks = 0;
+                while (accumulator >= tickNanos && ticks < cn.getMaxTicksPerFrame()) {
                     update();
-                    render();
-                    lastUpdate = now;
+                    publishSnapshot(now);
+                    accumulator -= tickNanos;
+                    ticks++;
+                }
+                if (accumulator >= tickNanos) {
+                    LOGGER.log(Level.FINE, "Dropping {0} ticks of simulation backlog", accumulator / tickNanos);
+                    accumulator %= tickNanos;
                 }
+                render(snapshots.acquire(), (double) accumulator / tickNanos);
+                profiler.end(FrameProfiler.Phase.FRAME);
+                profiler.sampleGc();
             }
         };
         gameLoop.start();
     }
     /**
-     * Starts the game loop if it is not already running.
+     * Starts the game loop if it is not already running. With a threaded simulation this starts the
+     * simulation thread; the JavaFX thread keeps drawing the latest snapshot either way.
      */
     public void startGameLoop(){
-        if (gameLoop != null) {
+        if (simulation != null) {
+            simulation.start();
+        } else if (gameLoop != null) {
             gameLoop.start();
         }
     }
@@ -114,14 +217,37 @@ public class GameController {
      * Stops the game loop and all sound effects.
      */
     public void stopGameLoop(){
-        if (gameLoop != null) {
+        if (simulation != null) {
+            simulation.stop();
+            audioManager.stopAllSounds();
+        } else if (gameLoop != null) {
             gameLoop.stop();
             audioManager.stopAllSounds();
         }
-        for (Enemy enemy : enemies) {
-            enemy.stopThread();
+    }
+    /**
+     * Runs an action that changes the game from outside the game loop, such as a menu button starting a new game.
+     * With a threaded simulation the action is queued and runs on the simulation thread between two ticks,
+     * so it never races a tick; otherwise it runs at once.
+     *
+     * @param action the action
+     */
+    public void submit(Runnable action) {
+        if (simulation != null && !simulation.isSimulationThread()) {
+            simulation.submit(action);
+        } else {
+            action.run();
         }
     }
+    /**
+     * Adds a game object to the list of active game objects and to the collision broadphase.
+     *
+     * @param gameObject the game object to add
+     */
+    public void addGameObject(GameObject gameObject) {
+        gameObjects.add(gameObject);
+        physics.getSpatialGrid().insert(gameObject);
+    }
     /**
      * Removes a specific game object from the current list of active game objects.
      *
@@ -129,48 +255,277 @@ public class GameController {
      */
     public void removeGameObject(GameObject gameObject) {
         gameObjects.remove(gameObject);
+        physics.getSpatialGrid().remove(gameObject);
+    }
+    /**
+     * Removes all game objects from the level and from the collision broadphase.
+     */
+    private void clearGameObjects() {
+        gameObjects.clear();
+        physics.getSpatialGrid().clear();
+    }
+    /**
+     * Removes every object, character and projectile of the current level from the game.
+     * Their images are still held, so that the next level can acquire the images it shares with
+     * this one before {@link #releaseAssets(List)} drops the rest from the {@link AssetManager}.
+     *
+     * @return the objects and characters of the removed level
+     */
+    private List<GameObject> detachLevel() {
+        List<GameObject> detached = new ArrayList<>(gameObjects);
+        detached.addAll(npcs);
+        detached.addAll(enemies);
+        clearGameObjects();
+        projectiles.clear();
+        npcs.clear();
+        clearEnemies();
+        return detached;
+    }
+    /**
+     * Releases the images of the objects and characters of a level that is no longer played.
+     *
+     * @param detached the objects and characters returned by {@link #detachLevel()}
+     */
+    private static void releaseAssets(List<GameObject> detached) {
+        for (GameObject obj : detached) {
+            obj.releaseAssets();
+        }
+    }
+    /**
+     * Removes game objects that are no longer visible, such as picked up items or spent bullets.
+     */
+    private void removeInvisibleObjects() {
+        boolean removed = false;
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
+            if (!obj.isVisible()) {
+                physics.getSpatialGrid().remove(obj);
+                removed = true;
+            }
+        }
+        if (removed) {
+            gameObjects.removeIf(obj -> !obj.isVisible());
+        }
+    }
+    /**
+     * Removes killed enemies and gives their images back to the {@link AssetManager}.
+     */
+    private void removeDeadEnemies() {
+        boolean removed = false;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (!enemy.isVisible()) {
+                enemy.releaseAssets();
+                removed = true;
+            }
+        }
+        if (removed) {
+            enemies.removeIf(enemy -> !enemy.isVisible());
+        }
     }
     /**
      * Updates the game state, including updating all game objects, NPCs, and enemies,
      * as well as checking game state conditions.
      */
     public void update(){
+        profiler.begin(FrameProfiler.Phase.TICK);
+        if (input.isF3Pressed()) {
+            profiler.toggleOverlay();
+        }
+        if (input.isF4Pressed()) {
+            profiler.dumpCsv("frame-profile-" + System.currentTimeMillis() + ".csv");
+        }
+        audioManager.update();
+        profiler.begin(FrameProfiler.Phase.STATE);
         stateController.update();
+        profiler.end(FrameProfiler.Phase.STATE);
         currentLevel = player.getCurrentLevel();
-        UI.updateUI();
+        profiler.begin(FrameProfiler.Phase.UI);
+        UI.update();
+        profiler.end(FrameProfiler.Phase.UI);
         if(stateController.isState(GameStateController.State.PLAY)){
+            storePreviousPositions();
+            profiler.begin(FrameProfiler.Phase.PLAYER);
             player.updatePlayer();
-            for (FriendlyNPC npc : npcs) {
-                npc.update();
+            profiler.end(FrameProfiler.Phase.PLAYER);
+            if (world != null) {
+                world.update(player.getTileColumn(), player.getTileRow());
             }
-            for (Enemy enemy: enemies){
-                enemy.update();
+            levelController.updatePrefetch(player);
+            flowField.update(player.getTileColumn(), player.getTileRow());
+            simulationLOD.update(player.getX(), player.getY(), npcs);
+            simulationLOD.update(player.getX(), player.getY(), enemies);
+            aiScheduler.prepare(npcs);
+            aiScheduler.prepare(enemies);
+            if (pathfinderMoves.length < enemies.size()) {
+                pathfinderMoves = new boolean[enemies.size() * 2];
             }
-            gameObjects.removeIf(obj -> !obj.isVisible());
-            enemies.removeIf(enemy -> !enemy.isVisible());
+            tickGraph.run();
+            aiScheduler.nextTick();
+            recordTaskTimes();
+            removeInvisibleObjects();
+            removeDeadEnemies();
         }
+        profiler.end(FrameProfiler.Phase.TICK);
     }
     /**
-     * Renders the current game state to the screen, drawing all visual elements such as game objects,
-     * player sprites, NPCs, and UI components based on the current game state.
+     * Builds the graph of the systems simulated in every tick after the player moved.
+     * NPCs, enemy movement and projectile motion only change their own entities and run in parallel.
+     * Enemy attacks change the player and run serially in list order, and the game objects are updated
+     * once no character reads the spatial grid any more, followed by the entity systems and the projectile hits.
      */
-    public void render(){
-        stateController.update();
-        if(stateController.isState(GameStateController.State.PLAY)){
-            gc.setFill(Color.BLACK);
-            gc.fillRect(0, 0, cn.getScreenWidth(), cn.getScreenHeight());
-            textureM.drawTexture(gc);
-            textureM.drawGameObjects(gc);
-            player.getSprite().drawPlayer(gc, cn);
-            for (FriendlyNPC npc : npcs) {
-                npc.getSprite().drawNPC(gc, cn);
+    private void buildTickGraph() {
+        tickGraph = new TaskGraph(cn.isParallelSimulation() ? ForkJoinPool.commonPool() : null, PARALLEL_CHUNK_SIZE);
+        npcTask = tickGraph.addParallel("npcs", () -> npcs.size(), this::updateNpcs);
+        enemyMovementTask = tickGraph.addParallel("enemy-movement", () -> enemies.size(), this::moveEnemies);
+        projectileMotionTask = tickGraph.addParallel("projectile-motion", () -> projectiles.getActiveCount(), projectiles::integrate);
+        enemyCombatTask = tickGraph.add("enemy-combat", this::finishEnemies, enemyMovementTask);
+        objectsTask = tickGraph.add("objects", this::updateObjects, npcTask, enemyCombatTask);
+        entitiesTask = tickGraph.add("entities", this::updateEntities, objectsTask);
+        projectileHitTask = tickGraph.add("projectile-hits", projectiles::resolveHits, projectileMotionTask, entitiesTask);
+    }
+
+    private void updateNpcs(int from, int to) {
+        for (int i = from; i < to; i++) {
+            FriendlyNPC npc = npcs.get(i);
+            if (aiScheduler.isDue(npc)) {
+                npc.advance(aiScheduler.takeElapsedTicks(npc));
             }
-            for (Enemy enemy: enemies){
-                enemy.getSprite().drawNPC(gc, cn);
+        }
+    }
+    /**
+     * Moves the enemies of a range. Moves that need the shared pathfinder are left to {@link #finishEnemies()}.
+     */
+    private void moveEnemies(int from, int to) {
+        for (int i = from; i < to; i++) {
+            Enemy enemy = enemies.get(i);
+            boolean due = aiScheduler.isDue(enemy);
+            pathfinderMoves[i] = due && enemy.needsPathfinder();
+            if (due && !pathfinderMoves[i]) {
+                enemy.updateMovement(aiScheduler.takeElapsedTicks(enemy));
+            }
+        }
+    }
+    /**
+     * Makes the remaining moves and the attacks of all enemies in the order of the enemy list.
+     */
+    private void finishEnemies() {
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (aiScheduler.isDue(enemy)) {
+                if (pathfinderMoves[i]) {
+                    enemy.updateMovement(aiScheduler.takeElapsedTicks(enemy));
+                }
+                enemy.updateCombat();
             }
         }
     }
 
+    private void updateObjects() {
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
+            obj.update();
+            physics.getSpatialGrid().update(obj);
+        }
+    }
+    /**
+     * Records the time the tasks of the last tick took in the phases of the profiler.
+     * Parallel tasks report the time summed over all threads.
+     */
+    private void recordTaskTimes() {
+        profiler.record(FrameProfiler.Phase.NPCS, npcTask.getElapsedNanos());
+        profiler.record(FrameProfiler.Phase.ENEMIES, enemyMovementTask.getElapsedNanos() + enemyCombatTask.getElapsedNanos());
+        profiler.record(FrameProfiler.Phase.OBJECTS, objectsTask.getElapsedNanos());
+        profiler.record(FrameProfiler.Phase.ENTITIES, entitiesTask.getElapsedNanos());
+        profiler.record(FrameProfiler.Phase.PROJECTILES, projectileMotionTask.getElapsedNanos() + projectileHitTask.getElapsedNanos());
+    }
+    /**
+     * Mirrors the characters into the {@link EntityStore} and updates the {@link ProximityIndex} from it.
+     * Characters still move themselves, so the {@link MovementSystem} is not run on the mirrored entities.
+     */
+    private void updateEntities() {
+        entityAdapter.beginSync();
+        entityAdapter.sync(player);
+        entityAdapter.sync(npcs);
+        entityAdapter.sync(enemies);
+        entityAdapter.endSync();
+        proximity.update();
+    }
+    /**
+     * Saves the positions of all moving entities before a tick changes them, so that
+     * rendering can interpolate between the previous and the current tick.
+     */
+    private void storePreviousPositions() {
+        player.storePreviousPosition();
+        for (int i = 0; i < npcs.size(); i++) {
+            npcs.get(i).storePreviousPosition();
+        }
+        for (int i = 0; i < enemies.size(); i++) {
+            enemies.get(i).storePreviousPosition();
+        }
+        for (int i = 0; i < gameObjects.size(); i++) {
+            gameObjects.get(i).storePreviousPosition();
+        }
+    }
+    /**
+     * Publishes the state of the last tick as a {@link RenderSnapshot}: the camera, the tiles in view, and a
+     * draw list of the visible game objects, projectiles and characters with the image each of them shows.
+     * Called by the game loop after every tick, on the thread that simulates the game.
+     *
+     * @param time the time of the tick in nanoseconds, as given by {@link System#nanoTime()}
+     */
+    public void publishSnapshot(long time) {
+        RenderSnapshot snapshot = snapshots.getBack();
+        snapshot.begin(time, stateController.getCurrentState(), player.getPreviousXposition(), player.getPreviousYposition(),
+                player.getX(), player.getY(), player.getScreenX(), player.getScreenY());
+        textureM.captureTiles(snapshot);
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj.isVisible()) {
+                snapshot.add(obj.getImage(), obj.getPreviousXposition(), obj.getPreviousYposition(), obj.getXposition(), obj.getYposition());
+            }
+        }
+        projectiles.capture(snapshot);
+        snapshot.beginCharacters();
+        snapshot.add(player.getSprite().getFrame(cn), snapshot.playerPreviousX, snapshot.playerPreviousY, player.getX(), player.getY());
+        for (int i = 0; i < npcs.size(); i++) {
+            FriendlyNPC npc = npcs.get(i);
+            snapshot.add(npc.getSprite().getFrame(cn), npc.getPreviousXposition(), npc.getPreviousYposition(), npc.getX(), npc.getY());
+        }
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            snapshot.add(enemy.getSprite().getFrame(cn), enemy.getPreviousXposition(), enemy.getPreviousYposition(), enemy.getX(), enemy.getY());
+        }
+        snapshot.setTotals(gameObjects.size(), npcs.size(), enemies.size(), projectiles.getActiveCount());
+        snapshots.publish();
+    }
+    /**
+     * Draws a render snapshot to the screen: the tile layer, the game objects and projectiles, and the
+     * characters, based on the game state of the snapshot. Only the snapshot is read, never the live game,
+     * so this can run on the JavaFX thread while the next tick is simulated.
+     *
+     * @param snapshot the snapshot to draw, or null if none was published yet
+     * @param alpha the fraction of a tick elapsed since the snapshot's tick, used to interpolate positions
+     */
+    public void render(RenderSnapshot snapshot, double alpha){
+        profiler.begin(FrameProfiler.Phase.RENDER);
+        if(snapshot != null && snapshot.getState() == GameStateController.State.PLAY){
+            gc.setFill(Color.BLACK);
+            gc.fillRect(0, 0, cn.getScreenWidth(), cn.getScreenHeight());
+            profiler.begin(FrameProfiler.Phase.TEXTURE);
+            textureM.drawTexture(gc, snapshot, alpha);
+            profiler.end(FrameProfiler.Phase.TEXTURE);
+            profiler.begin(FrameProfiler.Phase.GAME_OBJECTS);
+            textureM.drawGameObjects(gc, snapshot, 0, snapshot.getCharacterStart(), alpha);
+            profiler.end(FrameProfiler.Phase.GAME_OBJECTS);
+            profiler.begin(FrameProfiler.Phase.SPRITES);
+            textureM.drawGameObjects(gc, snapshot, snapshot.getCharacterStart(), snapshot.getCount(), alpha);
+            profiler.end(FrameProfiler.Phase.SPRITES);
+            profiler.drawOverlay(gc, snapshot);
+        }
+        profiler.end(FrameProfiler.Phase.RENDER);
+    }
+
     /**
      * Resets the game to its initial state, stopping the game loop, clearing all objects, and reinitializing the game.
      */
@@ -178,23 +533,25 @@ public class GameController {
         stopGameLoop();
         audioManager.stopAllSounds();
 
-        gameObjects.clear();
-        npcs.clear();
+        closeWorld();
+        List<GameObject> previousLevel = detachLevel();
         player.reset();
-        clearEnemies();
 
         levelController.loadLevel(player.getCurrentLevel());
+        releaseAssets(previousLevel);
         craftingRecipe.updateRecipe(this, cn);
         startGameLoop();
     }
     public void clearEnemies(){
-        for (Enemy enemy : enemies) {
-            enemy.stopThread();
-        }
         enemies.clear();
     }
-    public void saveGame(){
-        GameSaverLoader.getInstance().saveGame(this,cn);
+    /**
+     * Saves the game with the {@link GameSaverLoader}.
+     *
+     * @return true if the save was started, false if it was refused because the level is streamed
+     */
+    public boolean saveGame(){
+        return GameSaverLoader.getInstance().saveGame(this,cn);
     }
     public void loadGame(){
         GameSaverLoader.getInstance().loadGame(this, cn);
@@ -204,6 +561,77 @@ public class GameController {
         return physics;
     }
 
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    /**
+     * Sets the streamed world of the current level, or null if the level is held completely in memory.
+     *
+     * @param world the streamed world
+     */
+    public void setWorld(ChunkedWorld world) {
+        this.world = world;
+    }
+
+    public ChunkedWorld getWorld() {
+        return world;
+    }
+    /**
+     * Stops streaming the current level, if it is streamed.
+     */
+    private void closeWorld() {
+        if (world != null) {
+            world.close();
+            world = null;
+            physics.getSpatialGrid().resize(cn.getLevelSizeX(), cn.getLevelSizeY());
+        }
+    }
+
+    public LevelController getLevelController() {
+        return levelController;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    public ProximityIndex getProximity() {
+        return proximity;
+    }
+
+    public SimulationLOD getSimulationLOD() {
+        return simulationLOD;
+    }
+
+    public AIScheduler getAiScheduler() {
+        return aiScheduler;
+    }
+
+    public TaskGraph getTickGraph() {
+        return tickGraph;
+    }
+
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    public GameObjectAdapter getEntityAdapter() {
+        return entityAdapter;
+    }
+
+    public ProjectileSystem getProjectiles() {
+        return projectiles;
+    }
+
+    public SnapshotBuffer getSnapshots() {
+        return snapshots;
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
     public TextureManager getTextureM() {
         return textureM;
     }
@@ -227,6 +655,18 @@ public class GameController {
     public UI getUI() {
         return UI;
     }
+    /**
+     * Returns the events the game model publishes when a value shown to the player changes.
+     *
+     * @return the model events
+     */
+    public ModelEvents getEvents() {
+        return events;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
 
     public GameStateController getStateController() {
         return stateController;
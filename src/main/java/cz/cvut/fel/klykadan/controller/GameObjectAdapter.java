@@ -0,0 +1,131 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.CollisionBox;
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Character;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
+import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
+
+import java.util.List;
+
+/**
+ * The GameObjectAdapter class mirrors existing {@link GameObject} subclasses into an {@link EntityStore},
+ * so systems working on the component arrays see them while their behaviour still lives in the classes.
+ * Once per tick the objects are synchronised between {@link #beginSync()} and {@link #endSync()}:
+ * an object seen for the first time gets an entity, the position, collision box, health and direction
+ * of every object are copied into its entity, and entities whose objects were not synchronised any more,
+ * because they were removed from the game, are destroyed.
+ */
+public class GameObjectAdapter {
+    private final EntityStore store;
+    private int tick = 0;
+
+    /**
+     * Constructs an adapter.
+     *
+     * @param store the store the objects are mirrored into
+     */
+    public GameObjectAdapter(EntityStore store) {
+        this.store = store;
+    }
+    /**
+     * Starts a synchronisation of the objects.
+     */
+    public void beginSync() {
+        tick++;
+    }
+    /**
+     * Synchronises all objects of a list.
+     *
+     * @param objects the objects
+     */
+    public void sync(List<? extends GameObject> objects) {
+        for (int i = 0; i < objects.size(); i++) {
+            sync(objects.get(i));
+        }
+    }
+    /**
+     * Copies the state of an object into its entity, creating the entity when needed.
+     *
+     * @param obj the object
+     * @return the index of the entity of the object
+     */
+    public int sync(GameObject obj) {
+        int i = indexOf(obj);
+        if (i < 0) {
+            i = register(obj);
+        } else {
+            store.previousX[i] = store.x[i];
+            store.previousY[i] = store.y[i];
+        }
+        store.x[i] = obj.getXposition();
+        store.y[i] = obj.getYposition();
+        if (obj instanceof Character) {
+            Character character = (Character) obj;
+            store.health[i] = character.getHealth();
+            store.direction[i] = character.getDirection().ordinal();
+        }
+        store.syncTick[i] = tick;
+        return i;
+    }
+
+    private int register(GameObject obj) {
+        int components = EntityStore.POSITION | EntityStore.COLLIDER | EntityStore.OBJECT;
+        if (obj instanceof Character) {
+            components |= EntityStore.HEALTH | EntityStore.SPRITE;
+        }
+        if (obj instanceof Enemy) {
+            components |= EntityStore.AI | EntityStore.HOSTILE;
+        } else if (obj instanceof FriendlyNPC) {
+            components |= EntityStore.AI;
+        }
+        int entity = store.create(components);
+        int i = store.indexOf(entity);
+        store.object[i] = obj;
+        store.setPosition(i, obj.getXposition(), obj.getYposition());
+        if (obj instanceof Character) {
+            CollisionBox box = obj.getCollisionBox();
+            store.setCollider(i, box.getxPosition() - obj.getXposition(), box.getyPosition() - obj.getYposition(), box.getSizeX(), box.getSizeY());
+        } else {
+            store.setCollider(i, 0, 0, obj.getSizeX(), obj.getSizeY());
+        }
+        obj.setEntity(entity);
+        return i;
+    }
+    /**
+     * Destroys the entities of all objects that were not synchronised since {@link #beginSync()}.
+     */
+    public void endSync() {
+        for (int i = store.getCount() - 1; i >= 0; i--) {
+            if ((store.mask[i] & EntityStore.OBJECT) != 0 && store.syncTick[i] != tick) {
+                store.object[i].setEntity(-1);
+                store.destroy(store.id[i]);
+            }
+        }
+    }
+    /**
+     * Returns the index of the entity mirroring an object.
+     *
+     * @param obj the object
+     * @return the index, or -1 if the object has no entity
+     */
+    public int indexOf(GameObject obj) {
+        int i = store.indexOf(obj.getEntity());
+        return i >= 0 && store.object[i] == obj ? i : -1;
+    }
+    /**
+     * Writes the health of an entity back to the character it mirrors, after a system changed it.
+     *
+     * @param index the index of the entity
+     */
+    public void applyHealth(int index) {
+        GameObject obj = store.object[index];
+        if (obj instanceof Character) {
+            ((Character) obj).setHealth(store.health[index]);
+        }
+    }
+
+    public EntityStore getStore() {
+        return store;
+    }
+}
@@ -10,18 +10,37 @@ import cz.cvut.fel.klykadan.view.GUICoinfig;
 import javafx.scene.image.Image;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
  * The GameSaverLoader class provides singleton access to game saving and loading functionalities.
- * It handles serialization of game state to a file and deserialization back from the file.
+ * The game state is captured into a {@link SaveController} snapshot on the game thread, then encoded with the
+ * {@link SaveCodec} and written to the save file on a background thread, so saving does not stall a frame.
+ * Saves written by older versions with Java serialization can still be loaded.
  * This class ensures that only one instance of itself is created to maintain a consistent access point
  * for saving and loading across the application.
  */
 public class GameSaverLoader {
     private static GameSaverLoader instance;
     private static final Logger LOGGER = Logger.getLogger(GameSaverLoader.class.getName());
+    private String savePath = "savegame.dat";
+    private boolean compressed = true;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "save-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> pendingSave;
 
     private GameSaverLoader() {
     }
@@ -42,43 +61,121 @@ public class GameSaverLoader {
         return instance;
     }
     /**
-     * Saves the current game state to a file using Java serialization.
-     * It captures the entire game state in a SaveController object.
+     * Encodes a snapshot of the game state and writes it to the save file on a background thread.
+     * The file is replaced only once the whole save has been written. The snapshot must not be changed afterwards.
      *
-     * @param data the SaveController object containing game state to be saved
+     * @param data the SaveController snapshot of the game state to be saved
+     * @return the pending write, completing once the save is on disk
      */
-    public void saveGameStreamer(SaveController data) {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream("savegame.dat"))) {
-            out.writeObject(data);
-            LOGGER.info("Game saved");
-        } catch (IOException e) {
-            LOGGER.severe("Cannot save: " + e.getMessage());
-        }
+    public Future<?> saveGameStreamer(SaveController data) {
+        String path = savePath;
+        boolean deflate = compressed;
+        pendingSave = writer.submit(() -> {
+            try {
+                Path target = Paths.get(path);
+                Path temp = Paths.get(path + ".tmp");
+                Files.write(temp, SaveCodec.encode(data, deflate));
+                try {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                LOGGER.info("Game saved");
+            } catch (IOException e) {
+                LOGGER.severe("Cannot save: " + e.getMessage());
+            }
+        });
+        return pendingSave;
     }
     /**
-     * Loads the game state from a file using Java serialization.
-     * It returns a SaveController object which contains the loaded game state.
+     * Loads the game state from the save file, waiting for a save that is still being written.
+     * Both the binary format and older saves written with Java serialization are read.
      *
-     * @return the SaveController object containing the loaded game state, or null if loading fails
+     * @return the SaveController object containing the loaded game state, or a NullSaveController if loading fails
      */
 
     public SaveController loadGameReader() {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream("savegame.dat"))) {
+        awaitPendingSave();
+        try {
+            byte[] data = Files.readAllBytes(Paths.get(savePath));
+            SaveController save;
+            if (SaveCodec.isBinarySave(data)) {
+                save = SaveCodec.decode(data);
+            } else {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                    save = (SaveController) in.readObject();
+                }
+            }
             LOGGER.info("Game loaded");
-            return (SaveController) in.readObject();
-        } catch (IOException | ClassNotFoundException e) {
+            return save;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
             LOGGER.severe("Cannot load: " + e.getMessage());
             return new NullSaveController();
         }
     }
+    /**
+     * Waits until the last save has been written to disk.
+     */
+    public void awaitPendingSave() {
+        Future<?> save = pendingSave;
+        if (save == null) {
+            return;
+        }
+        try {
+            save.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOGGER.severe("Cannot save: " + e.getCause());
+        }
+    }
+    public String getSavePath() {
+        return savePath;
+    }
+
+    public void setSavePath(String savePath) {
+        this.savePath = savePath;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+    /**
+     * Sets whether new saves are compressed with a Deflater. Both kinds of saves can always be loaded.
+     *
+     * @param compressed true to compress saves
+     */
+    public void setCompressed(boolean compressed) {
+        this.compressed = compressed;
+    }
     /**
      * Saves the game by capturing the current state from the GameController and other components.
-     * This includes player data and the state of all game objects and NPCs.
+     * This includes player data and the state of all game objects and NPCs. The state is captured
+     * right away, the save file is written in the background.
+     * <p>
+     * A streamed level cannot be saved: its evicted chunks keep their state only in a scratch directory
+     * that is deleted with the world, so a save would silently lose it. Saving is refused while a
+     * {@link ChunkedWorld} is attached.
      *
      * @param controller the main game controller from which to save the state
      * @param cn GUI configuration used in the game
+     * @return true if the save was started, false if it was refused
+     */
+    public boolean saveGame(GameController controller, GUICoinfig cn) {
+        if (controller.getWorld() != null) {
+            LOGGER.warning("Cannot save a streamed level, the state of its chunks is not part of a save");
+            return false;
+        }
+        saveGameStreamer(createSnapshot(controller));
+        return true;
+    }
+    /**
+     * Captures the state to be saved into a new SaveController that shares nothing with the running game.
+     *
+     * @param controller the main game controller from which to save the state
+     * @return the snapshot of the game state
      */
-    public void saveGame(GameController controller, GUICoinfig cn) {
+    public SaveController createSnapshot(GameController controller) {
         SaveController saveData = new SaveController();
         Player player = controller.getPlayer();
         saveData.setPlayerX(player.getX());
@@ -119,7 +216,7 @@ public class GameSaverLoader {
             }
         });
         LOGGER.info("Saving removed items: " + removedItems);
-        saveGameStreamer(saveData);
+        return saveData;
     }
     /**
      * Loads the game by restoring the state to the GameController and other components
@@ -163,7 +260,7 @@ public class GameSaverLoader {
             saveData.getGameObjectData().forEach(gameObjectData -> {
                 GameObject obj = createGameObjectFromData(gameObjectData, cn);
                 if (obj != null) {
-                    controller.getGameObjects().add(obj);
+                    controller.addGameObject(obj);
                 }
             });
             LOGGER.info("Loaded removed items: " + removedItems);
@@ -245,6 +342,6 @@ public class GameSaverLoader {
             default:
                 throw new IllegalArgumentException("No image path found: " + itemName);
         }
-        return new Image(path);
+        return AssetManager.getInstance().getImage(path);
     }
 }
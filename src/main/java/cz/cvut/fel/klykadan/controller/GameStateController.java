@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.controller;
 
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import java.util.logging.Logger;
 
 /**
@@ -12,7 +13,7 @@ public class GameStateController {
         PLAY, PAUSE, GAME_OVER, START, INVENTORY
     }
     private static final Logger LOGGER = Logger.getLogger(GameStateController.class.getName());
-    private State currentState;
+    private volatile State currentState;
     private InputHandler input;
     private GameController controller;
     /**
@@ -77,7 +78,7 @@ public class GameStateController {
     }
     /**
      * Sets the current state of the game to a new state, handling necessary operations
-     * such as starting or stopping sounds, and updating the UI accordingly.
+     * such as starting or stopping sounds, and publishing the change so the UI updates accordingly.
      *
      * @param newState the new state to set
      */
@@ -101,7 +102,7 @@ public class GameStateController {
                 case INVENTORY:
                     break;
             }
-            controller.getUI().updateUI();
+            controller.getEvents().publish(ModelEvents.Change.STATE);
         }
     }
 }
@@ -0,0 +1,78 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+
+import java.util.logging.Logger;
+
+/**
+ * The HeadlessSimulation class runs the game world without a display. It loads levels through the
+ * regular {@link LevelController}, feeds input from a {@link ScriptedInputHandler} and advances the
+ * simulation one fixed tick at a time, so it can be used for throughput tests and server-side logic.
+ */
+public class HeadlessSimulation {
+    private static final Logger LOGGER = Logger.getLogger(HeadlessSimulation.class.getName());
+    private final GameController controller;
+    private final ScriptedInputHandler input;
+    private int tick;
+
+    /**
+     * Constructs a headless simulation with the given configuration and input script.
+     *
+     * @param cn GUI configuration settings, used for tile sizes and level dimensions
+     * @param input the scripted input that drives the player
+     */
+    public HeadlessSimulation(GUICoinfig cn, ScriptedInputHandler input) {
+        this.input = input;
+        this.controller = new GameController(cn, input);
+    }
+    /**
+     * Starts a new game on the first level and switches the game into the PLAY state.
+     */
+    public void start() {
+        controller.resetGame();
+        controller.getStateController().setCurrentState(GameStateController.State.PLAY);
+        tick = 0;
+    }
+    /**
+     * Simulates a single tick: applies the scripted input for this tick and updates the world.
+     */
+    public void step() {
+        input.advance(tick);
+        controller.update();
+        tick++;
+    }
+    /**
+     * Simulates the given number of ticks.
+     *
+     * @param ticks the number of ticks to simulate
+     */
+    public void run(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            step();
+        }
+    }
+
+    public GameController getController() {
+        return controller;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+    /**
+     * Runs the first level headless for the given number of ticks and reports the simulation throughput.
+     *
+     * @param args optionally the number of ticks to simulate
+     */
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        HeadlessSimulation simulation = new HeadlessSimulation(new GUICoinfig(), new ScriptedInputHandler());
+        simulation.start();
+
+        long start = System.nanoTime();
+        simulation.run(ticks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        LOGGER.info(String.format("Simulated %d ticks in %.3f s (%.0f ticks/s)", ticks, seconds, ticks / seconds));
+        simulation.getController().stopGameLoop();
+    }
+}
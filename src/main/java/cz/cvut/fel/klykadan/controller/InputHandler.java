@@ -7,22 +7,27 @@ import javafx.scene.input.KeyEvent;
  * Handles keyboard events for the game, maintaining the current state of key presses.
  * This class tracks both simple key presses and complex behaviors like toggles or one-time triggers
  * for specific actions, facilitating game control through keyboard input.
+ * Keys are reported on the JavaFX thread and read by the thread simulating the game, so the key states are volatile.
  */
 
 public class InputHandler implements EventHandler<KeyEvent> {
 
-    private boolean upPressed, downPressed, leftPressed, rightPressed;
-    private boolean shiftPressed;
-    private boolean eIsPressed;
-    private boolean fIsPressed;
-    private boolean hIsPressed;
-    private boolean rIsPressed;
-    private boolean escIsPressed;
-    private boolean spaceIsPressed;
-    private boolean spaceWasPressed;
-    private boolean fWasPressed;
-    private boolean eWasPressed = false;
-    private boolean escWasPressed = false;
+    private volatile boolean upPressed, downPressed, leftPressed, rightPressed;
+    private volatile boolean shiftPressed;
+    private volatile boolean eIsPressed;
+    private volatile boolean fIsPressed;
+    private volatile boolean hIsPressed;
+    private volatile boolean rIsPressed;
+    private volatile boolean escIsPressed;
+    private volatile boolean spaceIsPressed;
+    private volatile boolean spaceWasPressed;
+    private volatile boolean fWasPressed;
+    private volatile boolean eWasPressed = false;
+    private volatile boolean escWasPressed = false;
+    private volatile boolean f3IsPressed;
+    private volatile boolean f3WasPressed;
+    private volatile boolean f4IsPressed;
+    private volatile boolean f4WasPressed;
     /**
      * Handles keyboard events for the game, maintaining the current state of key presses.
      * This class tracks both simple key presses and complex behaviors like toggles or one-time triggers
@@ -30,9 +35,20 @@ public class InputHandler implements EventHandler<KeyEvent> {
      */
     @Override
     public void handle(KeyEvent event) {
-        boolean isPressed = event.getEventType() == KeyEvent.KEY_PRESSED;
-        boolean isReleased = event.getEventType() == KeyEvent.KEY_RELEASED;
-        KeyCode code = event.getCode();
+        if (event.getEventType() == KeyEvent.KEY_PRESSED || event.getEventType() == KeyEvent.KEY_RELEASED) {
+            setKeyState(event.getCode(), event.getEventType() == KeyEvent.KEY_PRESSED);
+        }
+        event.consume();
+    }
+    /**
+     * Updates the tracked state of a single key. Used both for keyboard events
+     * and for input that does not come from a window, such as scripted input.
+     *
+     * @param code the key whose state changed
+     * @param isPressed true if the key was pressed, false if it was released
+     */
+    public void setKeyState(KeyCode code, boolean isPressed) {
+        boolean isReleased = !isPressed;
         switch (code) {
             case W: upPressed = isPressed; break;
             case A: leftPressed = isPressed; break;
@@ -73,8 +89,27 @@ public class InputHandler implements EventHandler<KeyEvent> {
                     fWasPressed = false;
                 }
                 break;
+            case F3:
+                if (isPressed) {
+                    if (!f3WasPressed) {
+                        f3IsPressed = true;
+                        f3WasPressed = true;
+                    }
+                } else if (isReleased) {
+                    f3WasPressed = false;
+                }
+                break;
+            case F4:
+                if (isPressed) {
+                    if (!f4WasPressed) {
+                        f4IsPressed = true;
+                        f4WasPressed = true;
+                    }
+                } else if (isReleased) {
+                    f4WasPressed = false;
+                }
+                break;
         }
-        event.consume();
     }
 
 
@@ -140,4 +175,20 @@ public class InputHandler implements EventHandler<KeyEvent> {
         }
         return false;
     }
+
+    public boolean isF3Pressed() {
+        if (f3IsPressed) {
+            f3IsPressed = false;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isF4Pressed() {
+        if (f4IsPressed) {
+            f4IsPressed = false;
+            return true;
+        }
+        return false;
+    }
 }
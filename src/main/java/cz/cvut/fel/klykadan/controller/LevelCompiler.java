@@ -0,0 +1,116 @@
+package cz.cvut.fel.klykadan.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The LevelCompiler class turns the source files of a level, the text map and the JSON configurations
+ * of objects and characters, into a single {@link CompiledLevel} file. It runs as part of the build:
+ * <pre>
+ * java cz.cvut.fel.klykadan.controller.LevelCompiler target/classes
+ * </pre>
+ * compiles every level listed in the {@link LevelRegistry} manifest found under the given resource directory
+ * and writes each result to the compiled path of the level.
+ */
+public class LevelCompiler {
+
+    /**
+     * Compiles all levels under a resource directory.
+     *
+     * @param args the resource directory containing the level sources
+     * @throws IOException if a level cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: LevelCompiler <resource directory>");
+            System.exit(1);
+        }
+        Path root = Paths.get(args[0]);
+        LevelRegistry registry = new LevelRegistry(Files.newInputStream(root.resolve(LevelRegistry.MANIFEST)));
+        for (LevelRegistry.LevelEntry level : registry.getLevels()) {
+            Path objects = root.resolve(level.getObjectsPath());
+            Path entities = root.resolve(level.getEntitiesPath());
+            Path map = root.resolve(level.getMapPath());
+            Path output = root.resolve(level.getCompiledPath());
+            try (InputStream objectsStream = Files.newInputStream(objects);
+                 InputStream entitiesStream = Files.newInputStream(entities);
+                 InputStream mapStream = Files.newInputStream(map);
+                 OutputStream out = Files.newOutputStream(output)) {
+                compile(objectsStream, entitiesStream, mapStream).write(out);
+            }
+            System.out.println("Compiled level " + level.getId() + " to " + output);
+        }
+    }
+    /**
+     * Compiles one level from its sources.
+     *
+     * @param objects the JSON configuration of game objects
+     * @param entities the JSON configuration of NPCs and enemies
+     * @param map the text map, one row of tile numbers per line
+     * @return the compiled level
+     * @throws IOException if a source cannot be read
+     */
+    public static CompiledLevel compile(InputStream objects, InputStream entities, InputStream map) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<CompiledLevel.ObjectPlacement> objectPlacements = new ArrayList<>();
+        for (JsonNode gameObjectNode : objectMapper.readTree(objects).get("gameObjects")) {
+            JsonNode position = gameObjectNode.get("position");
+            boolean isLocked = gameObjectNode.has("isLocked") && gameObjectNode.get("isLocked").asBoolean();
+            objectPlacements.add(new CompiledLevel.ObjectPlacement(gameObjectNode.get("type").asText(),
+                    position.get("x").asInt(), position.get("y").asInt(), isLocked));
+        }
+
+        JsonNode rootNode = objectMapper.readTree(entities);
+        List<CompiledLevel.CharacterPlacement> npcs = new ArrayList<>();
+        for (JsonNode npcNode : rootNode.get("npcs")) {
+            List<String> dialogues = new ArrayList<>();
+            npcNode.get("dialogues").forEach(dialogue -> dialogues.add(dialogue.asText()));
+            npcs.add(readCharacter(npcNode, dialogues));
+        }
+        List<CompiledLevel.CharacterPlacement> enemies = new ArrayList<>();
+        for (JsonNode enemyNode : rootNode.get("enemies")) {
+            enemies.add(readCharacter(enemyNode, Collections.emptyList()));
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        BufferedReader br = new BufferedReader(new InputStreamReader(map, StandardCharsets.UTF_8));
+        String line;
+        int width = 0;
+        while ((line = br.readLine()) != null) {
+            if (!line.isBlank()) {
+                String[] tiles = line.trim().split("\\s+");
+                rows.add(tiles);
+                width = Math.max(width, tiles.length);
+            }
+        }
+        int height = rows.size();
+        short[] tiles = new short[width * height];
+        for (int row = 0; row < height; row++) {
+            String[] rowTiles = rows.get(row);
+            for (int col = 0; col < rowTiles.length; col++) {
+                tiles[col * height + row] = Short.parseShort(rowTiles[col]);
+            }
+        }
+        return new CompiledLevel(width, height, ShortBuffer.wrap(tiles), objectPlacements, npcs, enemies);
+    }
+
+    private static CompiledLevel.CharacterPlacement readCharacter(JsonNode node, List<String> dialogues) {
+        JsonNode position = node.get("position");
+        return new CompiledLevel.CharacterPlacement(position.get("x").asInt(), position.get("y").asInt(),
+                node.get("speed").asInt(), node.get("health").asInt(), dialogues);
+    }
+}
@@ -7,69 +7,296 @@ import cz.cvut.fel.klykadan.model.gameObject.GameObject;
 import cz.cvut.fel.klykadan.model.gameObject.LevelDoor;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
 import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.model.gameObject.items.*;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 /**
  * The LevelController class is responsible for managing the loading and setup of different levels in the game.
  * It controls the initialization of game objects, NPCs, enemies, and the map configuration based on level-specific
- * data files.
+ * data files listed in the {@link LevelRegistry}.
+ * <p>
+ * Once the player gets close to a {@link LevelDoor} or picks up a {@link LevelKey}, the next level is prepared
+ * on a background thread: its files are read and its objects and characters, together with their images, are
+ * created. Switching levels then only swaps the prepared level in.
  */
 public class LevelController {
+    private static final int STREAMING_TILE_COUNT = 256 * 256;
+    private static final int PREFETCH_DISTANCE = 8;
+    private static final int PREFETCH_CHECK_INTERVAL = 10;
     private GameController controller;
     private GUICoinfig cn;
+    private final LevelRegistry registry;
+    private ExecutorService prefetcher;
+    private Future<PreparedLevel> prefetched;
+    private int prefetchedLevel = -1;
+    private int prefetchCountdown;
 
 
     /**
      * Constructs a LevelController with a reference to the GameController and the game's GUI configuration.
+     * The levels are read from the manifest on the classpath.
      *
      * @param controller the main game controller that this level controller will interact with
      * @param cn the GUI configuration settings used throughout the game
      */
     public LevelController(GameController controller, GUICoinfig cn) {
+        this(controller, cn, readRegistry());
+    }
+    /**
+     * Constructs a LevelController loading the levels of the given registry.
+     *
+     * @param controller the main game controller that this level controller will interact with
+     * @param cn the GUI configuration settings used throughout the game
+     * @param registry the levels of the game
+     */
+    public LevelController(GameController controller, GUICoinfig cn, LevelRegistry registry) {
         this.controller = controller;
         this.cn = cn;
+        this.registry = registry;
+    }
+
+    private static LevelRegistry readRegistry() {
+        try {
+            return LevelRegistry.fromClasspath();
+        } catch (IOException e) {
+            System.out.println("Cannot read the level manifest: " + e.getMessage());
+            return new LevelRegistry();
+        }
+    }
+
+    public LevelRegistry getRegistry() {
+        return registry;
     }
 
     /**
-     * Loads the specified level by reading configuration files for objects, entities, and the map.
-     * It sets up the game environment according to the level details provided in JSON format.
+     * Loads the specified level. A level prepared in the background is swapped in, waiting for it if it is
+     * not finished yet. Otherwise the level is prepared now, from the compiled level file when it is
+     * available or from its JSON configurations and text map.
      *
      * @param levelNumber the level number to load
      */
     public void loadLevel(int levelNumber) {
         try {
-            String objectsConfigPath = "";
-            String entityConfigPath = "";
-            String mapPath = "";
-
-            if (levelNumber == 1) {
-                objectsConfigPath = "levels/level1/objectsConfig1.json";
-                entityConfigPath = "levels/level1/entityConfig1.json";
-                mapPath = "/maps/testmap2.txt";
-            } else if (levelNumber == 2) {
-                objectsConfigPath = "levels/level2/objectsConfig2.json";
-                entityConfigPath = "levels/level2/entityConfig2.json";
-                mapPath = "/maps/testmap1.txt";
-            } else {
+            PreparedLevel prepared = takePrefetched(levelNumber);
+            if (prepared == null) {
+                prepared = prepareLevel(levelNumber);
+            }
+            if (prepared == null) {
                 System.out.println("Level not found");
                 return;
             }
-
-            setupGameObjects(objectsConfigPath);
-            setCharacter(entityConfigPath);
-            controller.getTextureM().initMap(mapPath);
+            install(prepared);
         } catch (Exception e) {
             e.printStackTrace();
             System.out.println("Error loading level: " + levelNumber);
         }
     }
+    /**
+     * Sets up the map, game objects and characters of a compiled level. Levels with more than
+     * 256x256 tiles are not loaded at once but streamed around the player by a {@link ChunkedWorld}.
+     *
+     * @param level the compiled level
+     */
+    public void loadLevel(CompiledLevel level) {
+        install(prepareLevel(level));
+    }
+    /**
+     * Starts preparing a level on a background thread, so that a later {@link #loadLevel(int)} of the same
+     * level does not have to read it. Does nothing if the level is already being prepared or does not exist.
+     *
+     * @param levelNumber the level number to prepare
+     */
+    public void prefetch(int levelNumber) {
+        if (levelNumber == prefetchedLevel || registry.getLevel(levelNumber) == null) {
+            return;
+        }
+        cancelPrefetch();
+        if (prefetcher == null) {
+            prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "level-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        prefetchedLevel = levelNumber;
+        prefetched = prefetcher.submit(() -> prepareLevel(levelNumber));
+    }
+    /**
+     * Prefetches the next level when the player comes within {@value #PREFETCH_DISTANCE} tiles of a
+     * {@link LevelDoor}. Called from the game tick; the doors are only looked for every few ticks.
+     *
+     * @param player the player
+     */
+    public void updatePrefetch(Player player) {
+        int nextLevel = player.getCurrentLevel() + 1;
+        if (nextLevel == prefetchedLevel || --prefetchCountdown > 0) {
+            return;
+        }
+        prefetchCountdown = PREFETCH_CHECK_INTERVAL;
+        int reach = PREFETCH_DISTANCE * cn.getTileSize();
+        List<GameObject> gameObjects = controller.getGameObjects();
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
+            if (obj instanceof LevelDoor && Math.abs(obj.getXposition() - player.getX()) <= reach
+                    && Math.abs(obj.getYposition() - player.getY()) <= reach) {
+                prefetch(nextLevel);
+                return;
+            }
+        }
+    }
+    /**
+     * Returns the level that is being prepared in the background.
+     *
+     * @return the level number, or -1 if no level is being prepared
+     */
+    public int getPrefetchedLevel() {
+        return prefetchedLevel;
+    }
+
+    private PreparedLevel takePrefetched(int levelNumber) {
+        if (prefetched == null) {
+            return null;
+        }
+        if (prefetchedLevel != levelNumber) {
+            cancelPrefetch();
+            return null;
+        }
+        Future<PreparedLevel> future = prefetched;
+        prefetched = null;
+        prefetchedLevel = -1;
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.out.println("Cannot prefetch level " + levelNumber + ": " + e.getCause());
+            return null;
+        }
+    }
+    /**
+     * Drops the level prepared in the background. If it is already being prepared, its images
+     * are released once it is finished.
+     */
+    private void cancelPrefetch() {
+        if (prefetched == null) {
+            return;
+        }
+        Future<PreparedLevel> future = prefetched;
+        prefetched = null;
+        prefetchedLevel = -1;
+        if (!future.cancel(false)) {
+            prefetcher.execute(() -> {
+                try {
+                    PreparedLevel prepared = future.get();
+                    if (prepared != null) {
+                        prepared.releaseAssets();
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    // nothing was prepared, nothing to release
+                }
+            });
+        }
+    }
+    /**
+     * Reads a level and creates its objects and characters without touching the current level,
+     * so it may run on any thread.
+     *
+     * @param levelNumber the level number
+     * @return the prepared level, or null if there is no such level
+     * @throws IOException if the level cannot be read
+     */
+    PreparedLevel prepareLevel(int levelNumber) throws IOException {
+        LevelRegistry.LevelEntry entry = registry.getLevel(levelNumber);
+        if (entry == null) {
+            return null;
+        }
+        CompiledLevel level = openCompiledLevel(entry);
+        if (level == null) {
+            level = compileSources(entry);
+        }
+        return prepareLevel(level);
+    }
+
+    private PreparedLevel prepareLevel(CompiledLevel level) {
+        PreparedLevel prepared = new PreparedLevel(level);
+        if (!isStreamed(level)) {
+            prepared.createEntities();
+        }
+        return prepared;
+    }
+
+    private static boolean isStreamed(CompiledLevel level) {
+        return (long) level.getWidth() * level.getHeight() > STREAMING_TILE_COUNT;
+    }
+
+    private CompiledLevel openCompiledLevel(LevelRegistry.LevelEntry entry) {
+        URL url = getClass().getClassLoader().getResource(entry.getCompiledPath());
+        if (url == null) {
+            return null;
+        }
+        try {
+            return CompiledLevel.open(url);
+        } catch (IOException e) {
+            System.out.println("Cannot read compiled level " + entry.getId() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private CompiledLevel compileSources(LevelRegistry.LevelEntry entry) throws IOException {
+        try (InputStream objects = openResource(entry.getObjectsPath());
+             InputStream entities = openResource(entry.getEntitiesPath());
+             InputStream map = openResource(entry.getMapPath())) {
+            return LevelCompiler.compile(objects, entities, map);
+        }
+    }
+
+    private InputStream openResource(String path) throws FileNotFoundException {
+        InputStream is = getClass().getClassLoader().getResourceAsStream(path);
+        if (is == null) {
+            throw new FileNotFoundException("Resource " + path + " not found.");
+        }
+        return is;
+    }
+    /**
+     * Swaps a prepared level in as the current level.
+     */
+    private void install(PreparedLevel prepared) {
+        CompiledLevel level = prepared.level;
+        if (prepared.gameObjects == null) {
+            try {
+                ChunkedWorld world = new ChunkedWorld(controller, cn, this, level);
+                controller.setWorld(world);
+                world.attach(controller.getPlayer().getTileColumn(), controller.getPlayer().getTileRow());
+                return;
+            } catch (IOException e) {
+                System.out.println("Cannot stream the level, loading it at once: " + e.getMessage());
+                prepared.createEntities();
+            }
+        }
+        controller.getTextureM().initMap(prepared.tiles, level.getWidth(), level.getHeight());
+        SpatialGrid spatialGrid = controller.getPhysics().getSpatialGrid();
+        if (spatialGrid.getColumns() != level.getWidth() || spatialGrid.getRows() != level.getHeight()) {
+            spatialGrid.resize(level.getWidth(), level.getHeight());
+        }
+        for (GameObject gameObject : prepared.gameObjects) {
+            controller.addGameObject(gameObject);
+        }
+        controller.getNpcs().addAll(prepared.npcs);
+        controller.getEnemies().addAll(prepared.enemies);
+    }
     /**
      * Sets up the game objects for the current level based on a configuration path.
      * This includes instantiating and positioning all static and interactive objects within the game.
@@ -77,46 +304,24 @@ public class LevelController {
      * @param objectsLevelPath the file path to the JSON configuration for game objects
      */
     public void setupGameObjects(String objectsLevelPath){
+        setupGameObjects(getClass().getClassLoader().getResourceAsStream(objectsLevelPath));
+    }
+    /**
+     * Sets up the game objects described by a JSON configuration read from the given stream.
+     *
+     * @param inputStream the stream containing the JSON configuration for game objects
+     */
+    public void setupGameObjects(InputStream inputStream){
         try {
-            int tileSize = cn.getTileSize();
             ObjectMapper objectMapper = new ObjectMapper();
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream(objectsLevelPath);
             JsonNode rootNode = objectMapper.readTree(inputStream);
 
             JsonNode gameObjectsArray = rootNode.get("gameObjects");
             for (JsonNode gameObjectNode : gameObjectsArray) {
                 String type = gameObjectNode.get("type").asText();
                 JsonNode position = gameObjectNode.get("position");
-                int x = position.get("x").asInt() * tileSize;
-                int y = position.get("y").asInt() * tileSize;
                 boolean isLocked = gameObjectNode.has("isLocked") && gameObjectNode.get("isLocked").asBoolean();
-
-                switch (type) {
-                    case "Key":
-                        controller.getGameObjects().add(new Key(x, y, tileSize, tileSize));
-                        break;
-                    case "Door":
-                        controller.getGameObjects().add(new Door(x, y, tileSize, tileSize, isLocked));
-                        break;
-                    case "Weapon":
-                        controller.getGameObjects().add(new Weapon(cn, x, y, tileSize, tileSize));
-                        break;
-                    case "Ammo":
-                        controller.getGameObjects().add(new Ammo(x, y, tileSize, tileSize));
-                        break;
-                    case "Heal":
-                        controller.getGameObjects().add(new Heal(x, y, tileSize, tileSize));
-                        break;
-                    case "Detail":
-                        controller.getGameObjects().add(new Detail(x, y, tileSize, tileSize));
-                        break;
-                    case "LevelDoor":
-                        controller.getGameObjects().add(new LevelDoor(x, y, tileSize, tileSize, isLocked));
-                        break;
-                    case "LevelKey":
-                        controller.getGameObjects().add(new LevelKey(x, y, tileSize, tileSize));
-                        break;
-                }
+                addGameObject(type, position.get("x").asInt(), position.get("y").asInt(), isLocked);
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -131,7 +336,6 @@ public class LevelController {
 
     public void setCharacter(String charactersLevelPath) {
         try {
-            int tileSize = cn.getTileSize();
             ObjectMapper objectMapper = new ObjectMapper();
             InputStream inputStream = getClass().getClassLoader().getResourceAsStream(charactersLevelPath);
             JsonNode rootNode = objectMapper.readTree(inputStream);
@@ -142,28 +346,134 @@ public class LevelController {
                 List<String> dialogues = new ArrayList<>();
                 npcNode.get("dialogues").forEach(dialogue -> dialogues.add(dialogue.asText()));
                 JsonNode position = npcNode.get("position");
-                int x = position.get("x").asInt() * tileSize;
-                int y = position.get("y").asInt() * tileSize;
-                int speed = npcNode.get("speed").asInt();
-                int health = npcNode.get("health").asInt();
-
-                FriendlyNPC npc = new FriendlyNPC(controller, dialogues, cn, controller.getTextureM(), x, y, speed, health);
-                controller.getNpcs().add(npc);
+                addNpc(dialogues, position.get("x").asInt(), position.get("y").asInt(),
+                        npcNode.get("speed").asInt(), npcNode.get("health").asInt());
             }
             JsonNode enemiesArray = rootNode.get("enemies");
 
             for (JsonNode enemyNode : enemiesArray) {
                 JsonNode position = enemyNode.get("position");
-                int x = position.get("x").asInt() * tileSize;
-                int y = position.get("y").asInt() * tileSize;
-                int speed = enemyNode.get("speed").asInt();
-                int health = enemyNode.get("health").asInt();
-
-                Enemy enemy = new Enemy(controller, cn, controller.getTextureM(), x, y, speed, health);
-                controller.getEnemies().add(enemy);
+                addEnemy(position.get("x").asInt(), position.get("y").asInt(),
+                        enemyNode.get("speed").asInt(), enemyNode.get("health").asInt());
             }
         } catch (Exception e) {
             System.out.println("Cannot read npc from json");
         }
     }
+
+    private void addGameObject(String type, int tileX, int tileY, boolean isLocked) {
+        int tileSize = cn.getTileSize();
+        GameObject gameObject = createGameObject(type, tileX * tileSize, tileY * tileSize, isLocked);
+        if (gameObject != null) {
+            controller.addGameObject(gameObject);
+        }
+    }
+
+    private void addNpc(List<String> dialogues, int tileX, int tileY, int speed, int health) {
+        int tileSize = cn.getTileSize();
+        controller.getNpcs().add(createNpc(dialogues, tileX * tileSize, tileY * tileSize, speed, health));
+    }
+
+    private void addEnemy(int tileX, int tileY, int speed, int health) {
+        int tileSize = cn.getTileSize();
+        controller.getEnemies().add(createEnemy(tileX * tileSize, tileY * tileSize, speed, health));
+    }
+    /**
+     * Creates a game object of the type named in a level configuration.
+     *
+     * @param type the type of the object, e.g. "Key" or "Door"
+     * @param x the x-coordinate of the object in pixels
+     * @param y the y-coordinate of the object in pixels
+     * @param isLocked whether a door is locked
+     * @return the game object, or null for an unknown type
+     */
+    GameObject createGameObject(String type, int x, int y, boolean isLocked) {
+        int tileSize = cn.getTileSize();
+        switch (type) {
+            case "Key":
+                return new Key(x, y, tileSize, tileSize);
+            case "Door":
+                return new Door(x, y, tileSize, tileSize, isLocked);
+            case "Weapon":
+                return new Weapon(cn, x, y, tileSize, tileSize);
+            case "Ammo":
+                return new Ammo(x, y, tileSize, tileSize);
+            case "Heal":
+                return new Heal(x, y, tileSize, tileSize);
+            case "Detail":
+                return new Detail(x, y, tileSize, tileSize);
+            case "LevelDoor":
+                return new LevelDoor(x, y, tileSize, tileSize, isLocked);
+            case "LevelKey":
+                return new LevelKey(x, y, tileSize, tileSize);
+            default:
+                return null;
+        }
+    }
+
+    FriendlyNPC createNpc(List<String> dialogues, int x, int y, int speed, int health) {
+        return new FriendlyNPC(controller, dialogues, cn, controller.getTextureM(), x, y, speed, health);
+    }
+
+    Enemy createEnemy(int x, int y, int speed, int health) {
+        return new Enemy(controller, cn, controller.getTextureM(), x, y, speed, health);
+    }
+
+    /**
+     * A level that has been read and whose objects and characters have been created, ready to become
+     * the current level. Streamed levels create their entities chunk by chunk instead.
+     */
+    class PreparedLevel {
+        private final CompiledLevel level;
+        private ShortBuffer tiles;
+        private List<GameObject> gameObjects;
+        private List<FriendlyNPC> npcs;
+        private List<Enemy> enemies;
+
+        PreparedLevel(CompiledLevel level) {
+            this.level = level;
+        }
+        /**
+         * Creates the objects and characters of the level and copies its tiles to the heap,
+         * so a memory-mapped level is paged in by the thread preparing it.
+         */
+        private void createEntities() {
+            tiles = ShortBuffer.allocate(level.getWidth() * level.getHeight());
+            tiles.put(level.getTiles().duplicate()).flip();
+            int tileSize = cn.getTileSize();
+            gameObjects = new ArrayList<>(level.getObjects().size());
+            for (CompiledLevel.ObjectPlacement object : level.getObjects()) {
+                GameObject gameObject = createGameObject(object.getType(), object.getX() * tileSize,
+                        object.getY() * tileSize, object.isLocked());
+                if (gameObject != null) {
+                    gameObjects.add(gameObject);
+                }
+            }
+            npcs = new ArrayList<>(level.getNpcs().size());
+            for (CompiledLevel.CharacterPlacement npc : level.getNpcs()) {
+                npcs.add(createNpc(npc.getDialogues(), npc.getX() * tileSize, npc.getY() * tileSize,
+                        npc.getSpeed(), npc.getHealth()));
+            }
+            enemies = new ArrayList<>(level.getEnemies().size());
+            for (CompiledLevel.CharacterPlacement enemy : level.getEnemies()) {
+                enemies.add(createEnemy(enemy.getX() * tileSize, enemy.getY() * tileSize,
+                        enemy.getSpeed(), enemy.getHealth()));
+            }
+        }
+
+        private void releaseAssets() {
+            if (gameObjects == null) {
+                return;
+            }
+            for (GameObject gameObject : gameObjects) {
+                gameObject.releaseAssets();
+            }
+            for (FriendlyNPC npc : npcs) {
+                npc.releaseAssets();
+            }
+            for (Enemy enemy : enemies) {
+                enemy.releaseAssets();
+            }
+        }
+    }
 }
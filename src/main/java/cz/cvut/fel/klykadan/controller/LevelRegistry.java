@@ -0,0 +1,131 @@
+package cz.cvut.fel.klykadan.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The LevelRegistry class maps level numbers to the resources a level is built from. The levels are listed
+ * in a JSON manifest, {@value #MANIFEST} on the classpath, so adding a level needs no code changes:
+ * <pre>
+ * {"levels": [{"id": 1, "objects": "levels/level1/objectsConfig1.json", "entities": "levels/level1/entityConfig1.json",
+ *              "map": "maps/testmap2.txt", "compiled": "levels/level1/level1.zpl"}]}
+ * </pre>
+ * All paths are resource paths relative to the classpath root. The compiled path is optional and defaults
+ * to {@code levels/level<id>/level<id>.zpl}.
+ */
+public class LevelRegistry {
+    public static final String MANIFEST = "levels/levels.json";
+    private final Map<Integer, LevelEntry> levels = new TreeMap<>();
+
+    /**
+     * Constructs an empty registry without any levels.
+     */
+    public LevelRegistry() {
+    }
+    /**
+     * Reads a registry from a level manifest. The stream is closed afterwards.
+     *
+     * @param manifest the stream containing the JSON manifest
+     * @throws IOException if the manifest cannot be read or a level misses one of its sources
+     */
+    public LevelRegistry(InputStream manifest) throws IOException {
+        try (InputStream is = manifest) {
+            JsonNode levelsArray = new ObjectMapper().readTree(is).get("levels");
+            if (levelsArray == null) {
+                throw new IOException("The level manifest has no levels");
+            }
+            for (JsonNode levelNode : levelsArray) {
+                int id = levelNode.get("id").asInt();
+                String compiled = levelNode.has("compiled") ? levelNode.get("compiled").asText()
+                        : "levels/level" + id + "/level" + id + ".zpl";
+                levels.put(id, new LevelEntry(id, requireText(levelNode, "objects", id),
+                        requireText(levelNode, "entities", id), requireText(levelNode, "map", id), compiled));
+            }
+        }
+    }
+
+    private static String requireText(JsonNode levelNode, String field, int id) throws IOException {
+        if (!levelNode.has(field)) {
+            throw new IOException("Level " + id + " has no " + field + " source");
+        }
+        return levelNode.get(field).asText();
+    }
+    /**
+     * Reads the registry from the manifest on the classpath.
+     *
+     * @return the registry
+     * @throws IOException if the manifest is missing or cannot be read
+     */
+    public static LevelRegistry fromClasspath() throws IOException {
+        InputStream is = LevelRegistry.class.getClassLoader().getResourceAsStream(MANIFEST);
+        if (is == null) {
+            throw new FileNotFoundException("Resource " + MANIFEST + " not found.");
+        }
+        return new LevelRegistry(is);
+    }
+    /**
+     * Returns the resources of a level.
+     *
+     * @param id the level number
+     * @return the level, or null if there is no such level
+     */
+    public LevelEntry getLevel(int id) {
+        return levels.get(id);
+    }
+    /**
+     * Returns all registered levels ordered by their numbers.
+     *
+     * @return an unmodifiable list of the levels
+     */
+    public List<LevelEntry> getLevels() {
+        return Collections.unmodifiableList(new ArrayList<>(levels.values()));
+    }
+
+    /**
+     * The resources of one level.
+     */
+    public static class LevelEntry {
+        private final int id;
+        private final String objectsPath;
+        private final String entitiesPath;
+        private final String mapPath;
+        private final String compiledPath;
+
+        public LevelEntry(int id, String objectsPath, String entitiesPath, String mapPath, String compiledPath) {
+            this.id = id;
+            this.objectsPath = objectsPath;
+            this.entitiesPath = entitiesPath;
+            this.mapPath = mapPath;
+            this.compiledPath = compiledPath;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getObjectsPath() {
+            return objectsPath;
+        }
+
+        public String getEntitiesPath() {
+            return entitiesPath;
+        }
+
+        public String getMapPath() {
+            return mapPath;
+        }
+
+        public String getCompiledPath() {
+            return compiledPath;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+
+/**
+ * The MovementSystem class moves every entity of an {@link EntityStore} that has a velocity.
+ * It walks the component arrays in order, so the positions of all entities are read and written
+ * sequentially. An entity with a collider does not move into a collision tile, the same rule the
+ * {@link PhysicsEngine} applies to characters, and an entity with a sprite advances its walking
+ * animation while it moves, like {@link Sprite}.
+ * Entities mirrored from game objects have no velocity; their objects still move themselves, so the
+ * game tick does not run this system.
+ */
+public class MovementSystem {
+    private static final int SPRITE_THRESHOLD = 10;
+    private final TextureManager textureM;
+    private final int tileSize;
+
+    /**
+     * Constructs a movement system.
+     *
+     * @param textureM the texture manager providing the collision tiles of the map
+     * @param cn the GUI configuration, used for the tile size
+     */
+    public MovementSystem(TextureManager textureM, GUICoinfig cn) {
+        this.textureM = textureM;
+        this.tileSize = cn.getTileSize();
+    }
+    /**
+     * Moves all entities with a position and a velocity by one tick.
+     *
+     * @param store the entities
+     */
+    public void update(EntityStore store) {
+        int count = store.getCount();
+        int[] mask = store.mask;
+        int[] x = store.x;
+        int[] y = store.y;
+        int[] velocityX = store.velocityX;
+        int[] velocityY = store.velocityY;
+        for (int i = 0; i < count; i++) {
+            int components = mask[i];
+            if ((components & (EntityStore.POSITION | EntityStore.VELOCITY)) != (EntityStore.POSITION | EntityStore.VELOCITY)) {
+                continue;
+            }
+            store.previousX[i] = x[i];
+            store.previousY[i] = y[i];
+            int futureX = x[i] + velocityX[i];
+            int futureY = y[i] + velocityY[i];
+            boolean moving = velocityX[i] != 0 || velocityY[i] != 0;
+            if (moving && (components & EntityStore.COLLIDER) != 0 && collides(store, i, futureX, futureY)) {
+                moving = false;
+            }
+            if (moving) {
+                x[i] = futureX;
+                y[i] = futureY;
+            }
+            if ((components & EntityStore.SPRITE) != 0) {
+                animate(store, i, moving);
+            }
+        }
+    }
+
+    private boolean collides(EntityStore store, int i, int futureX, int futureY) {
+        int left = futureX + store.boxOffsetX[i];
+        int top = futureY + store.boxOffsetY[i];
+        return textureM.getCollisionMap().isBoxBlocked(left, top, left + store.boxWidth[i], top + store.boxHeight[i], tileSize);
+    }
+
+    private void animate(EntityStore store, int i, boolean moving) {
+        if (moving) {
+            if (++store.spriteCounter[i] > SPRITE_THRESHOLD) {
+                store.spriteFrame[i] = store.spriteFrame[i] % 2 + 1;
+                store.spriteCounter[i] = 0;
+            }
+        } else {
+            store.spriteFrame[i] = 0;
+            store.spriteCounter[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.Arrays;
+
+/**
+ * The Pathfinder class finds shortest paths between tiles of the current map, moving only
+ * horizontally and vertically and avoiding collision tiles. It runs A* with jump point search
+ * pruning, so straight corridors and open rooms are crossed in single jumps instead of tile by tile.
+ * The open set is a binary heap over primitive arrays and all search state is reused between
+ * queries, so a search does not allocate.
+ * <p>
+ * Results are cached per target tile: every tile on a found path remembers its next step toward
+ * the target, so other characters heading to the same target reuse the path without searching.
+ * The cache is dropped when the target tile or the map changes.
+ * <p>
+ * The search is limited to a square window around the target, so the memory used does not grow
+ * with the size of the map, which matters for streamed worlds. Start tiles outside the window have no path.
+ */
+public class Pathfinder {
+    public static final int NO_PATH = -1;
+    private static final int MAX_EXPANSIONS = 10_000;
+    private static final int DEFAULT_SEARCH_RADIUS = 128;
+    private final TextureManager textureM;
+    private final int searchRadius;
+    private CollisionMap collisionMap;
+    private int mapWidth;
+    private int mapHeight;
+    private int width;
+    private int height;
+    private int originCol;
+    private int originRow;
+
+    private int[] g;
+    private int[] f;
+    private int[] parent;
+    private int[] openStamp;
+    private int[] closedStamp;
+    private int[] heap;
+    private int[] heapIndex;
+    private int heapSize;
+    private int searchStamp = 0;
+
+    private int[] nextStep;
+    private int[] cacheStamp;
+    private int cacheGeneration = 0;
+    private int cachedTarget = -1;
+    private int cachedMapVersion = -1;
+
+    /**
+     * Constructs a pathfinder over the map of the given texture manager.
+     *
+     * @param textureM the texture manager providing the tile map and collision tiles
+     */
+    public Pathfinder(TextureManager textureM) {
+        this(textureM, DEFAULT_SEARCH_RADIUS);
+    }
+    /**
+     * Constructs a pathfinder that searches at most the given number of tiles away from the target.
+     *
+     * @param textureM the texture manager providing the tile map and collision tiles
+     * @param searchRadius the half size of the searched window around the target, in tiles
+     */
+    public Pathfinder(TextureManager textureM, int searchRadius) {
+        this.textureM = textureM;
+        this.searchRadius = searchRadius;
+    }
+    /**
+     * Returns the next tile to move to on a shortest path from the start tile to the target tile.
+     * Tiles are identified by the index {@code row * mapWidth + col}.
+     *
+     * @param startCol the column of the start tile
+     * @param startRow the row of the start tile
+     * @param targetCol the column of the target tile
+     * @param targetRow the row of the target tile
+     * @return the index of the next tile, the target index if the start is the target,
+     *         or {@link #NO_PATH} if the target cannot be reached
+     */
+    public int nextStep(int startCol, int startRow, int targetCol, int targetRow) {
+        if (targetCol < 0 || targetRow < 0 || targetCol >= textureM.getMapWidth() || targetRow >= textureM.getMapHeight()) {
+            return NO_PATH;
+        }
+        prepare(targetCol, targetRow);
+        startCol -= originCol;
+        startRow -= originRow;
+        targetCol -= originCol;
+        targetRow -= originRow;
+        if (!isWalkable(startCol, startRow) || !isWalkable(targetCol, targetRow)) {
+            return NO_PATH;
+        }
+        int start = startRow * width + startCol;
+        int target = targetRow * width + targetCol;
+        if (target != cachedTarget) {
+            cachedTarget = target;
+            invalidateCache();
+        }
+        if (cacheStamp[start] != cacheGeneration) {
+            search(start, target);
+        }
+        int next = nextStep[start];
+        if (next == NO_PATH) {
+            return NO_PATH;
+        }
+        return (originRow + next / width) * mapWidth + originCol + next % width;
+    }
+    /**
+     * Drops all cached paths, for example after the map was edited.
+     */
+    public void invalidateCache() {
+        cacheGeneration++;
+        if (cacheGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(cacheStamp, 0);
+            cacheGeneration = 1;
+        }
+    }
+
+    public int getMapWidth() {
+        return mapWidth;
+    }
+
+    private void prepare(int targetCol, int targetRow) {
+        collisionMap = textureM.getCollisionMap();
+        mapWidth = textureM.getMapWidth();
+        mapHeight = textureM.getMapHeight();
+        int windowWidth = Math.min(mapWidth, 2 * searchRadius + 1);
+        int windowHeight = Math.min(mapHeight, 2 * searchRadius + 1);
+        if (windowWidth != width || windowHeight != height) {
+            width = windowWidth;
+            height = windowHeight;
+            int size = width * height;
+            g = new int[size];
+            f = new int[size];
+            parent = new int[size];
+            openStamp = new int[size];
+            closedStamp = new int[size];
+            heap = new int[size];
+            heapIndex = new int[size];
+            nextStep = new int[size];
+            cacheStamp = new int[size];
+            searchStamp = 0;
+            cacheGeneration = 0;
+            cachedTarget = -1;
+        }
+        int windowCol = Math.max(0, Math.min(mapWidth - width, targetCol - searchRadius));
+        int windowRow = Math.max(0, Math.min(mapHeight - height, targetRow - searchRadius));
+        if (windowCol != originCol || windowRow != originRow) {
+            originCol = windowCol;
+            originRow = windowRow;
+            cachedTarget = -1;
+        }
+        if (textureM.getMapVersion() != cachedMapVersion) {
+            cachedMapVersion = textureM.getMapVersion();
+            invalidateCache();
+        }
+    }
+
+    private void search(int start, int target) {
+        nextSearchStamp();
+        int targetCol = target % width;
+        int targetRow = target / width;
+        heapSize = 0;
+        g[start] = 0;
+        parent[start] = -1;
+        open(start, heuristic(start, targetCol, targetRow));
+
+        int expansions = 0;
+        while (heapSize > 0 && expansions++ < MAX_EXPANSIONS) {
+            int node = pop();
+            closedStamp[node] = searchStamp;
+            if (node == target) {
+                storePath(start, target);
+                return;
+            }
+            int col = node % width;
+            int row = node / width;
+            int from = parent[node];
+            if (from < 0) {
+                expand(node, col + 1, row, 1, 0, targetCol, targetRow);
+                expand(node, col - 1, row, -1, 0, targetCol, targetRow);
+                expand(node, col, row + 1, 0, 1, targetCol, targetRow);
+                expand(node, col, row - 1, 0, -1, targetCol, targetRow);
+            } else {
+                int dx = Integer.signum(col - from % width);
+                int dy = Integer.signum(row - from / width);
+                if (dx != 0) {
+                    expand(node, col, row - 1, 0, -1, targetCol, targetRow);
+                    expand(node, col, row + 1, 0, 1, targetCol, targetRow);
+                    expand(node, col + dx, row, dx, 0, targetCol, targetRow);
+                } else {
+                    expand(node, col - 1, row, -1, 0, targetCol, targetRow);
+                    expand(node, col + 1, row, 1, 0, targetCol, targetRow);
+                    expand(node, col, row + dy, 0, dy, targetCol, targetRow);
+                }
+            }
+        }
+        nextStep[start] = NO_PATH;
+        cacheStamp[start] = cacheGeneration;
+    }
+
+    private void expand(int node, int col, int row, int dx, int dy, int targetCol, int targetRow) {
+        int jumpPoint = jump(col, row, dx, dy, targetCol, targetRow);
+        if (jumpPoint < 0 || closedStamp[jumpPoint] == searchStamp) {
+            return;
+        }
+        int cost = g[node] + Math.abs(jumpPoint % width - node % width) + Math.abs(jumpPoint / width - node / width);
+        if (openStamp[jumpPoint] != searchStamp) {
+            g[jumpPoint] = cost;
+            parent[jumpPoint] = node;
+            open(jumpPoint, cost + heuristic(jumpPoint, targetCol, targetRow));
+        } else if (cost < g[jumpPoint]) {
+            g[jumpPoint] = cost;
+            parent[jumpPoint] = node;
+            f[jumpPoint] = cost + heuristic(jumpPoint, targetCol, targetRow);
+            siftUp(heapIndex[jumpPoint]);
+        }
+    }
+    /**
+     * Scans from a tile in a straight line until it reaches a jump point: the target, a tile with a
+     * forced neighbour, or, when moving vertically, a tile from which a horizontal scan finds one.
+     *
+     * @return the index of the jump point, or -1 if the scan hits a wall
+     */
+    private int jump(int col, int row, int dx, int dy, int targetCol, int targetRow) {
+        while (isWalkable(col, row)) {
+            if (col == targetCol && row == targetRow) {
+                return row * width + col;
+            }
+            if (dx != 0) {
+                if ((isWalkable(col, row - 1) && !isWalkable(col - dx, row - 1))
+                        || (isWalkable(col, row + 1) && !isWalkable(col - dx, row + 1))) {
+                    return row * width + col;
+                }
+            } else {
+                if ((isWalkable(col - 1, row) && !isWalkable(col - 1, row - dy))
+                        || (isWalkable(col + 1, row) && !isWalkable(col + 1, row - dy))) {
+                    return row * width + col;
+                }
+                if (jump(col + 1, row, 1, 0, targetCol, targetRow) >= 0
+                        || jump(col - 1, row, -1, 0, targetCol, targetRow) >= 0) {
+                    return row * width + col;
+                }
+            }
+            col += dx;
+            row += dy;
+        }
+        return -1;
+    }
+    /**
+     * Writes the next step toward the target into the cache for every tile of the found path.
+     * Jump points are connected by straight lines, so the tiles between them are filled in directly.
+     */
+    private void storePath(int start, int target) {
+        nextStep[target] = target;
+        cacheStamp[target] = cacheGeneration;
+        int node = target;
+        while (node != start) {
+            int from = parent[node];
+            int step = Integer.signum(node % width - from % width) + Integer.signum(node / width - from / width) * width;
+            int next = node;
+            for (int tile = node - step; ; tile -= step) {
+                nextStep[tile] = next;
+                cacheStamp[tile] = cacheGeneration;
+                next = tile;
+                if (tile == from) {
+                    break;
+                }
+            }
+            node = from;
+        }
+    }
+
+    private boolean isWalkable(int col, int row) {
+        return col >= 0 && row >= 0 && col < width && row < height && !collisionMap.isBlocked(originCol + col, originRow + row);
+    }
+
+    private int heuristic(int node, int targetCol, int targetRow) {
+        return Math.abs(node % width - targetCol) + Math.abs(node / width - targetRow);
+    }
+
+    private void nextSearchStamp() {
+        searchStamp++;
+        if (searchStamp == Integer.MAX_VALUE) {
+            Arrays.fill(openStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            searchStamp = 1;
+        }
+    }
+
+    private void open(int node, int cost) {
+        openStamp[node] = searchStamp;
+        f[node] = cost;
+        heap[heapSize] = node;
+        heapIndex[node] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndex[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Orders open nodes by estimated total cost. Ties, which are very common with the Manhattan
+     * heuristic, go to the node that is further along its path, so the search heads for the target
+     * instead of widening across equally good tiles.
+     */
+    private boolean isBefore(int a, int b) {
+        return f[a] < f[b] || (f[a] == f[b] && g[a] > g[b]);
+    }
+
+    private void siftUp(int index) {
+        int node = heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) / 2;
+            int parentNode = heap[parentIndex];
+            if (!isBefore(node, parentNode)) {
+                break;
+            }
+            heap[index] = parentNode;
+            heapIndex[parentNode] = index;
+            index = parentIndex;
+        }
+        heap[index] = node;
+        heapIndex[node] = index;
+    }
+
+    private void siftDown(int index) {
+        int node = heap[index];
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isBefore(heap[child], node)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = node;
+        heapIndex[node] = index;
+    }
+}
@@ -20,6 +20,8 @@ public class PhysicsEngine {
     private GameController controller;
     private GUICoinfig cn;
     private Player player;
+    private SpatialGrid spatialGrid;
+    private final ThreadLocal<List<GameObject>> nearbyObjects = ThreadLocal.withInitial(ArrayList::new);
     /**
      * Constructs a PhysicsEngine with a reference to the GameController and the game's GUI configuration.
      *
@@ -29,11 +31,14 @@ public class PhysicsEngine {
     public PhysicsEngine(GameController controller, GUICoinfig cn){
         this.controller = controller;
         this.cn = cn;
+        this.spatialGrid = new SpatialGrid(cn.getTileSize(), cn.getLevelSizeX(), cn.getLevelSizeY());
     }
     /**
      * Detects potential collisions for a given character based on its current trajectory and speed.
      * This method checks for collisions against the environment (like map tiles) and other collidable game objects.
+     * Only game objects stored in the spatial grid cells around the character's future collision box are tested.
      * If a collision is detected, it updates the character's collision status.
+     * Characters may be checked from several threads at once while the map and the game objects do not change.
      *
      * @param character the character whose collisions are to be checked, including players and NPCs
      */
@@ -64,24 +69,15 @@ public class PhysicsEngine {
         }
         boolean collisionDetected = false;
 
-        int[][] tilesToCheck = {
-                {futureX , futureY}, //top-left
-                {futureX + boxWidth, futureY}, //top-right
-                {futureX, futureY + boxHeight}, //bottom-left
-                {futureX + boxWidth, futureY + boxHeight} //bottom-right
-        };
-        for (int[] point : tilesToCheck) {
-            int col = point[0] / cn.getTileSize();
-            int row = point[1] / cn.getTileSize();
-            if (row >= 0 && row < controller.getTextureM().getMap()[0].length && col >= 0 && col < controller.getTextureM().getMap().length) {
-                int tileNum = controller.getTextureM().getMap()[col][row];
-                if (controller.getTextureM().getCollisionTiles()[tileNum]) {
-                    character.setCollision(true);
-                    return;
-                }
-            }
+        if (controller.getTextureM().getCollisionMap().isBoxBlocked(futureX, futureY, futureX + boxWidth, futureY + boxHeight, cn.getTileSize())) {
+            character.setCollision(true);
+            return;
         }
-        for(GameObject obj : controller.getGameObjects()){
+        List<GameObject> nearbyObjects = this.nearbyObjects.get();
+        nearbyObjects.clear();
+        spatialGrid.queryAll(futureX, futureY, futureX + boxWidth, futureY + boxHeight, nearbyObjects);
+        for (int i = 0; i < nearbyObjects.size(); i++) {
+            GameObject obj = nearbyObjects.get(i);
             if(obj.isCollidable() && character != obj){
                 if (futureX < obj.getXposition() + obj.getSizeX() &&
                         futureX + boxWidth > obj.getXposition() &&
@@ -92,6 +88,11 @@ public class PhysicsEngine {
                 }
             }
         }
+        nearbyObjects.clear();
         character.setCollision(collisionDetected);
     }
+
+    public SpatialGrid getSpatialGrid() {
+        return spatialGrid;
+    }
 }
@@ -0,0 +1,294 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.image.Image;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The ProjectileSystem class simulates and draws every bullet in the level.
+ * Projectiles are stored in a fixed-capacity pool laid out as parallel primitive arrays
+ * (structure of arrays). Active projectiles are kept packed at the start of the arrays and
+ * a finished projectile is replaced by the last active one, so firing and expiring
+ * bullets never allocates, no matter how long a session runs.
+ * <p>
+ * A projectile moves further in one tick than most of a tile, so hits are resolved on the segment it
+ * travelled rather than at its new position. The segment is walked through the tile grid cell by cell
+ * (DDA) up to the first collision tile, and only the targets the character grid of the {@link ProximityIndex}
+ * finds around the segment are tested against it, so resolving a projectile costs the cells it crossed
+ * instead of a test against every enemy, and projectiles never pass through walls or skip targets.
+ */
+public class ProjectileSystem {
+    public static final int OWNER_PLAYER = 0;
+    private static final int SPEED = 35;
+    private static final int DAMAGE = 25;
+    private static final int TARGETS = EntityStore.POSITION | EntityStore.HEALTH | EntityStore.HOSTILE;
+    private static final Logger LOGGER = Logger.getLogger(ProjectileSystem.class.getName());
+
+    private final GameController controller;
+    private final GUICoinfig cn;
+    private final Image image;
+    private final int capacity;
+    private final int range;
+
+    private final int[] x;
+    private final int[] y;
+    private final int[] previousX;
+    private final int[] previousY;
+    private final int[] dx;
+    private final int[] dy;
+    private final int[] travelled;
+    private final int[] owner;
+    private int count = 0;
+
+    /**
+     * Constructs a projectile system with a fixed number of slots.
+     *
+     * @param controller the game controller, used to access the characters projectiles can hit
+     * @param cn the GUI configuration, used for tile sizes
+     * @param capacity the maximum number of projectiles alive at the same time
+     */
+    public ProjectileSystem(GameController controller, GUICoinfig cn, int capacity) {
+        this.controller = controller;
+        this.cn = cn;
+        this.capacity = capacity;
+        this.range = 10 * cn.getTileSize();
+        this.image = AssetManager.getInstance().getImage("/textures/weapon/bullet.png");
+        x = new int[capacity];
+        y = new int[capacity];
+        previousX = new int[capacity];
+        previousY = new int[capacity];
+        dx = new int[capacity];
+        dy = new int[capacity];
+        travelled = new int[capacity];
+        owner = new int[capacity];
+    }
+    /**
+     * Fires a new projectile from the given position.
+     *
+     * @param startX the initial x-coordinate of the projectile
+     * @param startY the initial y-coordinate of the projectile
+     * @param direction the direction in which the projectile travels
+     * @param ownerId who fired the projectile, for example {@link #OWNER_PLAYER}
+     * @return true if the projectile was fired, false if the pool is full
+     */
+    public boolean spawn(int startX, int startY, Direction direction, int ownerId) {
+        if (count == capacity) {
+            LOGGER.log(Level.FINE, "Projectile pool is full, shot dropped");
+            return false;
+        }
+        int i = count++;
+        x[i] = startX;
+        y[i] = startY;
+        previousX[i] = startX;
+        previousY[i] = startY;
+        dx[i] = 0;
+        dy[i] = 0;
+        switch (direction) {
+            case UP: dy[i] = -SPEED; break;
+            case DOWN: dy[i] = SPEED; break;
+            case LEFT: dx[i] = -SPEED; break;
+            case RIGHT: dx[i] = SPEED; break;
+        }
+        travelled[i] = 0;
+        owner[i] = ownerId;
+        return true;
+    }
+    /**
+     * Moves every projectile, applies damage to enemies that are hit and recycles
+     * the slots of projectiles that hit something or exceeded their range.
+     */
+    public void update() {
+        integrate(0, count);
+        resolveHits();
+    }
+    /**
+     * Moves a range of projectiles by one tick. Every projectile only changes its own slot,
+     * so ranges can be moved in parallel.
+     *
+     * @param from the first projectile
+     * @param to the projectile after the last one
+     */
+    public void integrate(int from, int to) {
+        for (int i = from; i < to; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            x[i] += dx[i];
+            y[i] += dy[i];
+            travelled[i] += Math.abs(dx[i]) + Math.abs(dy[i]);
+        }
+    }
+    /**
+     * Applies damage to enemies hit by the moved projectiles and recycles the slots of projectiles that hit
+     * something or exceeded their range. Projectiles are resolved in slot order, so which projectile hits
+     * an enemy first does not depend on how the moving was split up.
+     */
+    public void resolveHits() {
+        if (count == 0) {
+            return;
+        }
+        EntityStore entities = controller.getEntities();
+        TextureManager textureM = controller.getTextureM();
+        int tileSize = cn.getTileSize();
+        int i = 0;
+        while (i < count) {
+            double wall = wallEntry(textureM, tileSize, i);
+            boolean finished = travelled[i] >= range || wall <= 1;
+            if (owner[i] == OWNER_PLAYER) {
+                finished |= hitTarget(entities, tileSize, i, wall);
+            }
+            if (finished) {
+                recycle(i);
+            } else {
+                i++;
+            }
+        }
+    }
+    /**
+     * Walks the tiles crossed by the centre of a projectile in the last tick, in the order it crossed them.
+     *
+     * @return the fraction of the movement at which the projectile entered a collision tile,
+     *         or infinity if it did not hit a wall
+     */
+    private double wallEntry(TextureManager textureM, int tileSize, int i) {
+        int half = tileSize / 2;
+        int startX = previousX[i] + half;
+        int startY = previousY[i] + half;
+        int moveX = x[i] - previousX[i];
+        int moveY = y[i] - previousY[i];
+        int col = Math.floorDiv(startX, tileSize);
+        int row = Math.floorDiv(startY, tileSize);
+        if (textureM.isCollisionTile(col, row)) {
+            return 0;
+        }
+        int stepX = Integer.signum(moveX);
+        int stepY = Integer.signum(moveY);
+        double nextX = stepX == 0 ? Double.POSITIVE_INFINITY
+                : ((stepX > 0 ? col + 1 : col) * (double) tileSize - startX) / moveX;
+        double nextY = stepY == 0 ? Double.POSITIVE_INFINITY
+                : ((stepY > 0 ? row + 1 : row) * (double) tileSize - startY) / moveY;
+        double deltaX = stepX == 0 ? 0 : tileSize / (double) Math.abs(moveX);
+        double deltaY = stepY == 0 ? 0 : tileSize / (double) Math.abs(moveY);
+        int cells = Math.abs(Math.floorDiv(startX + moveX, tileSize) - col) + Math.abs(Math.floorDiv(startY + moveY, tileSize) - row);
+        for (int n = 0; n < cells; n++) {
+            double t;
+            if (nextX < nextY) {
+                t = nextX;
+                col += stepX;
+                nextX += deltaX;
+            } else {
+                t = nextY;
+                row += stepY;
+                nextY += deltaY;
+            }
+            if (textureM.isCollisionTile(col, row)) {
+                return t;
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+    /**
+     * Damages the hostile entity a projectile reached first on its way in the last tick, before the wall
+     * it may have hit. An entity is reached when the projectile comes within a tile of its position.
+     *
+     * @return true if an entity was hit
+     */
+    private boolean hitTarget(EntityStore entities, int tileSize, int i, double wall) {
+        int fromX = previousX[i];
+        int fromY = previousY[i];
+        int moveX = x[i] - fromX;
+        int moveY = y[i] - fromY;
+        EntityGrid targets = controller.getProximity().getCharacters();
+        int found = targets.query(Math.min(fromX, x[i]) - tileSize, Math.min(fromY, y[i]) - tileSize,
+                Math.max(fromX, x[i]) + tileSize, Math.max(fromY, y[i]) + tileSize);
+        int[] mask = entities.mask;
+        int[] ex = entities.x;
+        int[] ey = entities.y;
+        int hit = -1;
+        double first = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < found; k++) {
+            int e = targets.getFound(k);
+            if ((mask[e] & TARGETS) != TARGETS) {
+                continue;
+            }
+            double t = segmentEntry(fromX, fromY, moveX, moveY, ex[e] - tileSize, ey[e] - tileSize, ex[e] + tileSize, ey[e] + tileSize);
+            if (t <= wall && (t < first || t == first && e < hit)) {
+                first = t;
+                hit = e;
+            }
+        }
+        if (hit < 0) {
+            return false;
+        }
+        entities.health[hit] -= DAMAGE;
+        controller.getEntityAdapter().applyHealth(hit);
+        return true;
+    }
+    /**
+     * Intersects a movement with a box, edges included.
+     *
+     * @return the fraction of the movement at which it enters the box, or infinity if it misses the box
+     */
+    private static double segmentEntry(int fromX, int fromY, int moveX, int moveY, int minX, int minY, int maxX, int maxY) {
+        double enter = 0;
+        double exit = 1;
+        if (moveX == 0) {
+            if (fromX < minX || fromX > maxX) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            double t1 = (minX - fromX) / (double) moveX;
+            double t2 = (maxX - fromX) / (double) moveX;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        if (moveY == 0) {
+            if (fromY < minY || fromY > maxY) {
+                return Double.POSITIVE_INFINITY;
+            }
+        } else {
+            double t1 = (minY - fromY) / (double) moveY;
+            double t2 = (maxY - fromY) / (double) moveY;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+        return enter <= exit ? enter : Double.POSITIVE_INFINITY;
+    }
+    /**
+     * Adds every projectile in view to the draw list of a snapshot.
+     *
+     * @param snapshot the snapshot being filled
+     */
+    public void capture(RenderSnapshot snapshot) {
+        for (int i = 0; i < count; i++) {
+            snapshot.add(image, previousX[i], previousY[i], x[i], y[i]);
+        }
+    }
+    /**
+     * Removes all projectiles, for example when a level is unloaded.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    public int getActiveCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void recycle(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        previousX[i] = previousX[last];
+        previousY[i] = previousY[last];
+        dx[i] = dx[last];
+        dy[i] = dy[last];
+        travelled[i] = travelled[last];
+        owner[i] = owner[last];
+    }
+}
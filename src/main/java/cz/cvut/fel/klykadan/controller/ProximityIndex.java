@@ -0,0 +1,184 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ProximityIndex class answers which game objects and characters are near a point. Game objects are
+ * looked up in the {@link SpatialGrid} of the physics engine and characters in an {@link EntityGrid} over
+ * the {@link EntityStore}, which is rebuilt once per tick after the characters were mirrored into the store.
+ * Queries only visit the cells around the point and compare squared distances, so their cost depends on how
+ * crowded the surroundings are, not on the size of the level.
+ * <p>
+ * Once per tick the index also finds the object the player would interact with when pressing E, which the
+ * player uses for the interaction and the UI for the interaction prompt.
+ */
+public class ProximityIndex {
+    private final GameController controller;
+    private final int tileSize;
+    private final EntityGrid characters;
+    private final List<GameObject> candidates = new ArrayList<>();
+    private long[] distances = new long[16];
+    private GameObject interactionTarget;
+
+    /**
+     * Constructs the index of a game.
+     *
+     * @param controller the game controller providing the objects, characters and the player
+     * @param cn the GUI configuration, used for the tile size
+     */
+    public ProximityIndex(GameController controller, GUICoinfig cn) {
+        this.controller = controller;
+        this.tileSize = cn.getTileSize();
+        this.characters = new EntityGrid(tileSize, 1024);
+    }
+    /**
+     * Rebuilds the character grid from the entity store and finds the current interaction target
+     * of the player. Called once per tick after the entity store was synchronised.
+     */
+    public void update() {
+        characters.build(controller.getEntities(), EntityStore.POSITION);
+        Player player = controller.getPlayer();
+        interactionTarget = player == null ? null : findInteractable(player.getX(), player.getY(), tileSize);
+    }
+    /**
+     * Finds the nearest interactable object or character whose position is within a reach of a point
+     * along both axes. Game objects win ties against characters.
+     *
+     * @param x the x-coordinate of the point in pixels
+     * @param y the y-coordinate of the point in pixels
+     * @param reach the largest distance along each axis in pixels
+     * @return the nearest interactable, or null if none is within reach
+     */
+    public GameObject findInteractable(int x, int y, int reach) {
+        GameObject nearest = null;
+        long nearestDistance = Long.MAX_VALUE;
+        candidates.clear();
+        controller.getPhysics().getSpatialGrid().queryAll(x - reach, y - reach, x + reach, y + reach, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            GameObject obj = candidates.get(i);
+            long distance = distanceSquared(obj.getXposition(), obj.getYposition(), x, y);
+            if (distance < nearestDistance && obj.isInteractable() && isWithin(obj.getXposition(), obj.getYposition(), x, y, reach)) {
+                nearestDistance = distance;
+                nearest = obj;
+            }
+        }
+        candidates.clear();
+        EntityStore store = controller.getEntities();
+        int found = characters.query(x - reach, y - reach, x + reach, y + reach);
+        for (int i = 0; i < found; i++) {
+            int e = characters.getFound(i);
+            GameObject obj = store.object[e];
+            if (obj == null || obj == controller.getPlayer()) {
+                continue;
+            }
+            long distance = distanceSquared(store.x[e], store.y[e], x, y);
+            if (distance < nearestDistance && obj.isInteractable() && isWithin(store.x[e], store.y[e], x, y, reach)) {
+                nearestDistance = distance;
+                nearest = obj;
+            }
+        }
+        return nearest;
+    }
+    /**
+     * Collects the game objects and characters within a radius of a point, nearest first.
+     * The player is not included.
+     *
+     * @param x the x-coordinate of the point in pixels
+     * @param y the y-coordinate of the point in pixels
+     * @param radius the radius in pixels
+     * @param result the list the objects are appended to, nearest first
+     * @return the number of objects found
+     */
+    public int queryRadius(int x, int y, int radius, List<GameObject> result) {
+        return queryNearest(x, y, radius, Integer.MAX_VALUE, result);
+    }
+    /**
+     * Collects at most {@code k} game objects and characters nearest to a point within a radius, nearest first.
+     * The player is not included.
+     *
+     * @param x the x-coordinate of the point in pixels
+     * @param y the y-coordinate of the point in pixels
+     * @param radius the radius in pixels
+     * @param k the largest number of objects to collect
+     * @param result the list the objects are appended to, nearest first
+     * @return the number of objects found
+     */
+    public int queryNearest(int x, int y, int radius, int k, List<GameObject> result) {
+        int start = result.size();
+        long radiusSquared = (long) radius * radius;
+        candidates.clear();
+        controller.getPhysics().getSpatialGrid().query(x - radius, y - radius, x + radius, y + radius, candidates);
+        for (int i = 0; i < candidates.size(); i++) {
+            GameObject obj = candidates.get(i);
+            long distance = distanceSquared(obj.getXposition(), obj.getYposition(), x, y);
+            if (distance <= radiusSquared) {
+                insert(result, start, k, obj, distance);
+            }
+        }
+        candidates.clear();
+        EntityStore store = controller.getEntities();
+        int found = characters.query(x - radius, y - radius, x + radius, y + radius);
+        for (int i = 0; i < found; i++) {
+            int e = characters.getFound(i);
+            GameObject obj = store.object[e];
+            long distance = distanceSquared(store.x[e], store.y[e], x, y);
+            if (obj != null && obj != controller.getPlayer() && distance <= radiusSquared) {
+                insert(result, start, k, obj, distance);
+            }
+        }
+        return result.size() - start;
+    }
+    /**
+     * Inserts an object into the sorted part of the result behind {@code start}, dropping the farthest
+     * object once {@code k} objects were collected.
+     */
+    private void insert(List<GameObject> result, int start, int k, GameObject obj, long distance) {
+        int count = result.size() - start;
+        if (count == k) {
+            if (k == 0 || distance >= distances[k - 1]) {
+                return;
+            }
+            result.remove(result.size() - 1);
+            count--;
+        }
+        if (count == distances.length) {
+            long[] grown = new long[distances.length * 2];
+            System.arraycopy(distances, 0, grown, 0, count);
+            distances = grown;
+        }
+        int position = count;
+        while (position > 0 && distances[position - 1] > distance) {
+            distances[position] = distances[position - 1];
+            position--;
+        }
+        distances[position] = distance;
+        result.add(start + position, obj);
+    }
+
+    private static boolean isWithin(int objX, int objY, int x, int y, int reach) {
+        return Math.abs(objX - x) <= reach && Math.abs(objY - y) <= reach;
+    }
+
+    private static long distanceSquared(int ax, int ay, int bx, int by) {
+        long dx = ax - bx;
+        long dy = ay - by;
+        return dx * dx + dy * dy;
+    }
+    /**
+     * Returns the object the player would interact with, as found by the last {@link #update()}.
+     *
+     * @return the interaction target, or null if nothing is within reach
+     */
+    public GameObject getInteractionTarget() {
+        return interactionTarget;
+    }
+
+    public EntityGrid getCharacters() {
+        return characters;
+    }
+}
@@ -0,0 +1,253 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.image.Image;
+
+import java.util.Arrays;
+
+/**
+ * The RenderSnapshot class holds everything needed to draw one tick: the game state, the camera given by the
+ * previous and current position of the player, a draw list of the images in view with their previous and
+ * current positions, and copies of the tiles of the chunks in view. The simulation fills a snapshot at the end
+ * of a tick and publishes it through a {@link SnapshotBuffer}; the renderer then only reads the snapshot and
+ * never the live game model, which keeps changing on the simulation thread.
+ * <p>
+ * The draw list is in drawing order: game objects, projectiles, the player, NPCs and enemies. Entries whose
+ * movement lies completely outside the view are left out, and so are characters hidden under a special tile.
+ * A snapshot is reused for later ticks; its arrays grow when needed and are otherwise kept, so filling a
+ * snapshot does not allocate once it reached its working size.
+ */
+public class RenderSnapshot {
+    private final int tileSize;
+    private final int screenWidth;
+    private final int screenHeight;
+
+    // The renderer in this package reads the fields directly. They are written by the simulation thread
+    // before the snapshot is published and not changed until it is handed back to the simulation.
+    long sequence;
+    long time;
+    GameStateController.State state;
+
+    int playerPreviousX;
+    int playerPreviousY;
+    int playerX;
+    int playerY;
+    int screenX;
+    int screenY;
+    int viewMinX;
+    int viewMinY;
+    int viewMaxX;
+    int viewMaxY;
+
+    int count;
+    int characterStart;
+    Image[] image;
+    int[] previousX;
+    int[] previousY;
+    int[] x;
+    int[] y;
+
+    int tileLayout = -1;
+    int chunkSize;
+    int firstChunkX;
+    int firstChunkY;
+    int windowChunksX;
+    int windowChunksY;
+    int[] windowChunk = new int[0];
+    int[] windowVersion = new int[0];
+    int[] tiles = new int[0];
+
+    int objectTotal;
+    int npcTotal;
+    int enemyTotal;
+    int projectileTotal;
+
+    /**
+     * Constructs an empty snapshot for the screen of a configuration.
+     *
+     * @param cn the GUI configuration, used for the tile size and the screen size
+     * @param initialCapacity the number of draw list entries the snapshot holds before it has to grow
+     */
+    public RenderSnapshot(GUICoinfig cn, int initialCapacity) {
+        this.tileSize = cn.getTileSize();
+        this.screenWidth = cn.getScreenWidth();
+        this.screenHeight = cn.getScreenHeight();
+        int capacity = Math.max(1, initialCapacity);
+        image = new Image[capacity];
+        previousX = new int[capacity];
+        previousY = new int[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+    }
+    /**
+     * Starts filling the snapshot for a tick and sets the camera. A player that moved by more than a tile,
+     * for example by entering a new level, is not interpolated, so the camera does not sweep across the map.
+     *
+     * @param time the time of the tick in nanoseconds, as given by {@link System#nanoTime()}
+     * @param state the game state
+     * @param playerPreviousX the x-coordinate of the player before the tick
+     * @param playerPreviousY the y-coordinate of the player before the tick
+     * @param playerX the x-coordinate of the player after the tick
+     * @param playerY the y-coordinate of the player after the tick
+     * @param screenX the x-coordinate on the screen the player is drawn at
+     * @param screenY the y-coordinate on the screen the player is drawn at
+     */
+    public void begin(long time, GameStateController.State state, int playerPreviousX, int playerPreviousY,
+                      int playerX, int playerY, int screenX, int screenY) {
+        this.time = time;
+        this.state = state;
+        if (Math.abs(playerX - playerPreviousX) > tileSize || Math.abs(playerY - playerPreviousY) > tileSize) {
+            playerPreviousX = playerX;
+            playerPreviousY = playerY;
+        }
+        this.playerPreviousX = playerPreviousX;
+        this.playerPreviousY = playerPreviousY;
+        this.playerX = playerX;
+        this.playerY = playerY;
+        this.screenX = screenX;
+        this.screenY = screenY;
+        viewMinX = Math.min(playerPreviousX, playerX) - screenX - 1;
+        viewMinY = Math.min(playerPreviousY, playerY) - screenY - 1;
+        viewMaxX = Math.max(playerPreviousX, playerX) - screenX + screenWidth + 1;
+        viewMaxY = Math.max(playerPreviousY, playerY) - screenY + screenHeight + 1;
+        count = 0;
+        characterStart = 0;
+        Arrays.fill(image, null);
+    }
+    /**
+     * Appends an image of a tile's size to the draw list, unless it is null or stays outside the view
+     * between its previous and current position.
+     *
+     * @param image the image to draw
+     * @param previousX the x-coordinate before the tick
+     * @param previousY the y-coordinate before the tick
+     * @param x the x-coordinate after the tick
+     * @param y the y-coordinate after the tick
+     * @return true if the image was added
+     */
+    public boolean add(Image image, int previousX, int previousY, int x, int y) {
+        if (image == null || Math.max(previousX, x) + tileSize < viewMinX || Math.min(previousX, x) > viewMaxX
+                || Math.max(previousY, y) + tileSize < viewMinY || Math.min(previousY, y) > viewMaxY) {
+            return false;
+        }
+        if (count == this.x.length) {
+            grow();
+        }
+        this.image[count] = image;
+        this.previousX[count] = previousX;
+        this.previousY[count] = previousY;
+        this.x[count] = x;
+        this.y[count] = y;
+        count++;
+        return true;
+    }
+    /**
+     * Marks the end of the objects and projectiles in the draw list; the entries added later are characters.
+     */
+    public void beginCharacters() {
+        characterStart = count;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        image = Arrays.copyOf(image, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+    }
+    /**
+     * Starts copying the tiles of a window of chunks. The arrays for the window are grown if needed.
+     *
+     * @param layout identifies the chunk layout of the map; chunks of different layouts are never confused
+     * @param chunkSize the number of tiles along each side of a chunk
+     * @param firstChunkX the first chunk column of the window
+     * @param firstChunkY the first chunk row of the window
+     * @param windowChunksX the number of chunk columns of the window, 0 if no chunk is in view
+     * @param windowChunksY the number of chunk rows of the window, 0 if no chunk is in view
+     */
+    void beginTiles(int layout, int chunkSize, int firstChunkX, int firstChunkY, int windowChunksX, int windowChunksY) {
+        if (layout != tileLayout || chunkSize != this.chunkSize) {
+            Arrays.fill(windowChunk, -1);
+        }
+        this.tileLayout = layout;
+        this.chunkSize = chunkSize;
+        this.firstChunkX = firstChunkX;
+        this.firstChunkY = firstChunkY;
+        this.windowChunksX = windowChunksX;
+        this.windowChunksY = windowChunksY;
+        int chunks = windowChunksX * windowChunksY;
+        if (windowChunk.length < chunks) {
+            int[] grown = Arrays.copyOf(windowChunk, chunks);
+            Arrays.fill(grown, windowChunk.length, chunks, -1);
+            windowChunk = grown;
+            windowVersion = Arrays.copyOf(windowVersion, chunks);
+            tiles = Arrays.copyOf(tiles, chunks * chunkSize * chunkSize);
+        }
+    }
+    /**
+     * Checks whether a slot of the tile window already holds the tiles of a chunk in a given version,
+     * so they do not have to be copied again.
+     */
+    boolean holdsChunk(int slot, int chunk, int version) {
+        return windowChunk[slot] == chunk && windowVersion[slot] == version;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public GameStateController.State getState() {
+        return state;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getCharacterStart() {
+        return characterStart;
+    }
+
+    public Image getImage(int i) {
+        return image[i];
+    }
+
+    public int getX(int i) {
+        return x[i];
+    }
+
+    public int getY(int i) {
+        return y[i];
+    }
+
+    public int getPlayerX() {
+        return playerX;
+    }
+
+    public int getPlayerY() {
+        return playerY;
+    }
+
+    public int getWindowChunkCount() {
+        return windowChunksX * windowChunksY;
+    }
+    /**
+     * Sets the numbers of entities in the level, shown by the profiler overlay.
+     *
+     * @param objects the number of game objects
+     * @param npcs the number of NPCs
+     * @param enemies the number of enemies
+     * @param projectiles the number of active projectiles
+     */
+    public void setTotals(int objects, int npcs, int enemies, int projectiles) {
+        objectTotal = objects;
+        npcTotal = npcs;
+        enemyTotal = enemies;
+        projectileTotal = projectiles;
+    }
+}
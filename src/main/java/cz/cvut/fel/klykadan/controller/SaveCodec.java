@@ -0,0 +1,472 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The SaveCodec class encodes a {@link SaveController} in the compact binary save format.
+ * <p>
+ * A save starts with the int {@link #MAGIC}, a varint format version and a flags byte; with {@link #FLAG_DEFLATE}
+ * set the rest of the file is compressed with a {@link Deflater}. The body is a sequence of fields, each
+ * a varint key {@code tag << 3 | wireType} followed by either a varint value or a varint length and that many
+ * bytes. Records such as inventory items are nested fields. A reader skips fields with tags it does not know,
+ * so new fields can be added without breaking older saves or older readers; a tag must never change its meaning.
+ * <p>
+ * Signed numbers are zigzag encoded, item and object names known to the game are stored as small type IDs
+ * and only other names are written out as strings.
+ */
+public class SaveCodec {
+    public static final int MAGIC = 0x5A505356;
+    public static final int VERSION = 1;
+    public static final int FLAG_DEFLATE = 1;
+    /**
+     * Names stored as type IDs, the ID is the index plus one. New names may only be appended.
+     */
+    private static final String[] TYPE_NAMES = {
+            "Gun", "SuperWeapon", "Heal", "Ammo", "Key", "LevelKey", "Detail", "Door", "LevelDoor"
+    };
+    private static final int VARINT = 0;
+    private static final int BYTES = 2;
+
+    private static final int SAVE_PLAYER_X = 1;
+    private static final int SAVE_PLAYER_Y = 2;
+    private static final int SAVE_PLAYER_HEALTH = 3;
+    private static final int SAVE_PLAYER_LEVEL = 4;
+    private static final int SAVE_ITEM = 5;
+    private static final int SAVE_GAME_OBJECT = 6;
+    private static final int SAVE_REMOVED_ITEM = 7;
+
+    private static final int RECORD_TYPE = 1;
+    private static final int RECORD_NAME = 2;
+    private static final int RECORD_X = 3;
+    private static final int RECORD_Y = 4;
+    private static final int RECORD_SIZE_X = 5;
+    private static final int RECORD_SIZE_Y = 6;
+    private static final int RECORD_VISIBLE = 7;
+    private static final int RECORD_ID = 8;
+    private static final int RECORD_USED = 9;
+    private static final int RECORD_AMMO = 10;
+
+    private SaveCodec() {
+    }
+    /**
+     * Checks whether data starts like a save in this format.
+     *
+     * @param data the saved data
+     * @return true if the data starts with the magic number
+     */
+    public static boolean isBinarySave(byte[] data) {
+        return data.length >= 4 && ((data[0] & 0xFF) << 24 | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8
+                | (data[3] & 0xFF)) == MAGIC;
+    }
+    /**
+     * Encodes a save.
+     *
+     * @param save the saved state
+     * @param deflate whether to compress the body
+     * @return the encoded save
+     */
+    public static byte[] encode(SaveController save, boolean deflate) {
+        Writer body = new Writer();
+        body.writeSigned(SAVE_PLAYER_X, save.getPlayerX());
+        body.writeSigned(SAVE_PLAYER_Y, save.getPlayerY());
+        body.writeSigned(SAVE_PLAYER_HEALTH, save.getPlayerHealth());
+        body.writeSigned(SAVE_PLAYER_LEVEL, save.getPlayerLevel());
+        Writer record = new Writer();
+        for (SaveController.ItemData item : save.getInventory()) {
+            record.reset();
+            writeName(record, item.name);
+            writeBounds(record, item.x, item.y, item.sizeX, item.sizeY, item.isVisible);
+            if (item.id != null) {
+                record.writeBytes(RECORD_ID, toBytes(item.id));
+            }
+            record.writeBoolean(RECORD_USED, item.used);
+            record.writeSigned(RECORD_AMMO, item.ammoCount);
+            body.writeBytes(SAVE_ITEM, record.toByteArray());
+        }
+        for (SaveController.GameObjectData object : save.getGameObjectData()) {
+            record.reset();
+            writeName(record, object.name);
+            writeBounds(record, object.x, object.y, object.sizeX, object.sizeY, object.isVisible);
+            body.writeBytes(SAVE_GAME_OBJECT, record.toByteArray());
+        }
+        for (UUID removed : save.getRemovedItems()) {
+            body.writeBytes(SAVE_REMOVED_ITEM, toBytes(removed));
+        }
+
+        byte[] payload = body.toByteArray();
+        if (deflate) {
+            payload = deflate(payload);
+        }
+        Writer out = new Writer();
+        out.writeRaw(MAGIC >>> 24);
+        out.writeRaw(MAGIC >>> 16);
+        out.writeRaw(MAGIC >>> 8);
+        out.writeRaw(MAGIC);
+        out.writeVarint(VERSION);
+        out.writeRaw(deflate ? FLAG_DEFLATE : 0);
+        out.writeRaw(payload, 0, payload.length);
+        return out.toByteArray();
+    }
+
+    private static void writeName(Writer record, String name) {
+        int type = typeId(name);
+        record.writeVarint(RECORD_TYPE, type);
+        if (type == 0 && name != null) {
+            record.writeBytes(RECORD_NAME, name.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void writeBounds(Writer record, int x, int y, int sizeX, int sizeY, boolean visible) {
+        record.writeSigned(RECORD_X, x);
+        record.writeSigned(RECORD_Y, y);
+        record.writeSigned(RECORD_SIZE_X, sizeX);
+        record.writeSigned(RECORD_SIZE_Y, sizeY);
+        record.writeBoolean(RECORD_VISIBLE, visible);
+    }
+    /**
+     * Decodes a save.
+     *
+     * @param data the encoded save
+     * @return the saved state
+     * @throws IOException if the data is not a save in this format, is of a newer version or is corrupted
+     */
+    public static SaveController decode(byte[] data) throws IOException {
+        if (!isBinarySave(data)) {
+            throw new IOException("Not a binary save");
+        }
+        try {
+            Reader header = new Reader(data, 4, data.length);
+            int version = (int) header.readVarint();
+            if (version > VERSION) {
+                throw new IOException("Unsupported save version " + version);
+            }
+            int flags = header.readRaw();
+            byte[] payload = Arrays.copyOfRange(data, header.position, data.length);
+            if ((flags & FLAG_DEFLATE) != 0) {
+                payload = inflate(payload);
+            }
+
+            SaveController save = new SaveController();
+            Reader body = new Reader(payload, 0, payload.length);
+            while (body.hasMore()) {
+                int key = (int) body.readVarint();
+                switch (key >>> 3) {
+                    case SAVE_PLAYER_X:
+                        save.setPlayerX(body.readSigned());
+                        break;
+                    case SAVE_PLAYER_Y:
+                        save.setPlayerY(body.readSigned());
+                        break;
+                    case SAVE_PLAYER_HEALTH:
+                        save.setPlayerHealth(body.readSigned());
+                        break;
+                    case SAVE_PLAYER_LEVEL:
+                        save.setPlayerLevel(body.readSigned());
+                        break;
+                    case SAVE_ITEM:
+                        save.getInventory().add(readItem(body.readNested()));
+                        break;
+                    case SAVE_GAME_OBJECT:
+                        save.getGameObjectData().add(readGameObject(body.readNested()));
+                        break;
+                    case SAVE_REMOVED_ITEM:
+                        save.getRemovedItems().add(toUuid(body.readBytes()));
+                        break;
+                    default:
+                        body.skip(key & 7);
+                }
+            }
+            return save;
+        } catch (RuntimeException | DataFormatException e) {
+            throw new IOException("Corrupted save", e);
+        }
+    }
+
+    private static SaveController.ItemData readItem(Reader record) throws IOException {
+        SaveController.ItemData item = new SaveController.ItemData(null, null, 0, 0, 0, 0, false, 0, true);
+        while (record.hasMore()) {
+            int key = (int) record.readVarint();
+            switch (key >>> 3) {
+                case RECORD_TYPE:
+                    item.name = typeName(record.readVarint(), item.name);
+                    break;
+                case RECORD_NAME:
+                    item.name = new String(record.readBytes(), StandardCharsets.UTF_8);
+                    break;
+                case RECORD_X:
+                    item.x = record.readSigned();
+                    break;
+                case RECORD_Y:
+                    item.y = record.readSigned();
+                    break;
+                case RECORD_SIZE_X:
+                    item.sizeX = record.readSigned();
+                    break;
+                case RECORD_SIZE_Y:
+                    item.sizeY = record.readSigned();
+                    break;
+                case RECORD_VISIBLE:
+                    item.isVisible = record.readVarint() != 0;
+                    break;
+                case RECORD_ID:
+                    item.id = toUuid(record.readBytes());
+                    break;
+                case RECORD_USED:
+                    item.used = record.readVarint() != 0;
+                    break;
+                case RECORD_AMMO:
+                    item.ammoCount = record.readSigned();
+                    break;
+                default:
+                    record.skip(key & 7);
+            }
+        }
+        return item;
+    }
+
+    private static SaveController.GameObjectData readGameObject(Reader record) throws IOException {
+        SaveController.GameObjectData object = new SaveController.GameObjectData(null, 0, 0, 0, 0, true);
+        while (record.hasMore()) {
+            int key = (int) record.readVarint();
+            switch (key >>> 3) {
+                case RECORD_TYPE:
+                    object.name = typeName(record.readVarint(), object.name);
+                    break;
+                case RECORD_NAME:
+                    object.name = new String(record.readBytes(), StandardCharsets.UTF_8);
+                    break;
+                case RECORD_X:
+                    object.x = record.readSigned();
+                    break;
+                case RECORD_Y:
+                    object.y = record.readSigned();
+                    break;
+                case RECORD_SIZE_X:
+                    object.sizeX = record.readSigned();
+                    break;
+                case RECORD_SIZE_Y:
+                    object.sizeY = record.readSigned();
+                    break;
+                case RECORD_VISIBLE:
+                    object.isVisible = record.readVarint() != 0;
+                    break;
+                default:
+                    record.skip(key & 7);
+            }
+        }
+        return object;
+    }
+
+    private static int typeId(String name) {
+        for (int i = 0; i < TYPE_NAMES.length; i++) {
+            if (TYPE_NAMES[i].equals(name)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static String typeName(long type, String name) throws IOException {
+        if (type == 0) {
+            return name;
+        }
+        if (type > TYPE_NAMES.length) {
+            throw new IOException("Unknown item type " + type);
+        }
+        return TYPE_NAMES[(int) type - 1];
+    }
+
+    private static byte[] toBytes(UUID id) {
+        byte[] bytes = new byte[16];
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (most >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (least >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    private static UUID toUuid(byte[] bytes) throws IOException {
+        if (bytes.length != 16) {
+            throw new IOException("Invalid item ID");
+        }
+        long most = 0;
+        long least = 0;
+        for (int i = 0; i < 8; i++) {
+            most = most << 8 | (bytes[i] & 0xFF);
+            least = least << 8 | (bytes[8 + i] & 0xFF);
+        }
+        return new UUID(most, least);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+        byte[] buffer = new byte[4096];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        inflater.setInput(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+        byte[] buffer = new byte[4096];
+        while (!inflater.finished()) {
+            int count = inflater.inflate(buffer);
+            if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                throw new DataFormatException("Truncated save");
+            }
+            out.write(buffer, 0, count);
+        }
+        inflater.end();
+        return out.toByteArray();
+    }
+
+    /**
+     * Appends fields to a growing byte array.
+     */
+    private static class Writer {
+        private byte[] buffer = new byte[64];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeRaw(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeRaw(byte[] bytes, int offset, int length) {
+            if (size + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + length));
+            }
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeRaw((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeRaw((int) value);
+        }
+
+        void writeVarint(int tag, long value) {
+            writeVarint(tag << 3 | VARINT);
+            writeVarint(value);
+        }
+
+        void writeSigned(int tag, int value) {
+            writeVarint(tag, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+        }
+
+        void writeBoolean(int tag, boolean value) {
+            writeVarint(tag, value ? 1 : 0);
+        }
+
+        void writeBytes(int tag, byte[] bytes) {
+            writeVarint(tag << 3 | BYTES);
+            writeVarint(bytes.length);
+            writeRaw(bytes, 0, bytes.length);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    /**
+     * Reads fields from a range of a byte array.
+     */
+    private static class Reader {
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        Reader(byte[] data, int position, int end) {
+            this.data = data;
+            this.position = position;
+            this.end = end;
+        }
+
+        boolean hasMore() {
+            return position < end;
+        }
+
+        int readRaw() throws IOException {
+            if (position >= end) {
+                throw new IOException("Truncated save");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readRaw();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        int readSigned() throws IOException {
+            int value = (int) readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private int readLength() throws IOException {
+            long length = readVarint();
+            if (length < 0 || length > end - position) {
+                throw new IOException("Truncated save");
+            }
+            return (int) length;
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = readLength();
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        Reader readNested() throws IOException {
+            int length = readLength();
+            Reader nested = new Reader(data, position, position + length);
+            position += length;
+            return nested;
+        }
+
+        void skip(int wireType) throws IOException {
+            if (wireType == VARINT) {
+                readVarint();
+            } else if (wireType == BYTES) {
+                int length = readLength();
+                position += length;
+            } else {
+                throw new IOException("Unknown wire type " + wireType);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package cz.cvut.fel.klykadan.controller;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An input handler driven by a script of timed key presses and releases instead of a keyboard.
+ * The script is replayed tick by tick, which makes simulation runs reproducible
+ * and allows the game to be controlled without any window.
+ */
+public class ScriptedInputHandler extends InputHandler {
+    private final List<KeyStep> steps = new ArrayList<>();
+    private int nextStep = 0;
+    private boolean sorted = true;
+
+    /**
+     * Schedules a key press at the given tick.
+     *
+     * @param tick the tick at which the key is pressed
+     * @param code the key to press
+     * @return this handler, for chaining
+     */
+    public ScriptedInputHandler press(int tick, KeyCode code) {
+        return addStep(tick, code, true);
+    }
+    /**
+     * Schedules a key release at the given tick.
+     *
+     * @param tick the tick at which the key is released
+     * @param code the key to release
+     * @return this handler, for chaining
+     */
+    public ScriptedInputHandler release(int tick, KeyCode code) {
+        return addStep(tick, code, false);
+    }
+    /**
+     * Schedules a key to be held from one tick until another.
+     *
+     * @param fromTick the tick at which the key is pressed
+     * @param toTick the tick at which the key is released
+     * @param code the key to hold
+     * @return this handler, for chaining
+     */
+    public ScriptedInputHandler hold(int fromTick, int toTick, KeyCode code) {
+        press(fromTick, code);
+        return release(toTick, code);
+    }
+    /**
+     * Applies every scripted key change scheduled up to and including the given tick.
+     *
+     * @param tick the tick that is about to be simulated
+     */
+    public void advance(int tick) {
+        if (!sorted) {
+            steps.subList(nextStep, steps.size()).sort(Comparator.comparingInt(step -> step.tick));
+            sorted = true;
+        }
+        while (nextStep < steps.size() && steps.get(nextStep).tick <= tick) {
+            KeyStep step = steps.get(nextStep++);
+            setKeyState(step.code, step.pressed);
+        }
+    }
+
+    private ScriptedInputHandler addStep(int tick, KeyCode code, boolean pressed) {
+        steps.add(new KeyStep(tick, code, pressed));
+        sorted = false;
+        return this;
+    }
+
+    private static class KeyStep {
+        final int tick;
+        final KeyCode code;
+        final boolean pressed;
+
+        KeyStep(int tick, KeyCode code, boolean pressed) {
+            this.tick = tick;
+            this.code = code;
+            this.pressed = pressed;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.characters.Character;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+
+import java.util.List;
+
+/**
+ * The SimulationLOD class lowers the update rate of characters far from the player (simulation level of detail).
+ * Characters are sorted into three bands by their distance in tiles from the player, measured separately
+ * along both axes so the bands follow the shape of the screen:
+ * <ul>
+ *     <li>in view, within the visible area and a margin, updated every tick,</li>
+ *     <li>near, within twice that area, updated every {@value #NEAR_INTERVAL} ticks,</li>
+ *     <li>far, updated every {@value #FAR_INTERVAL} ticks.</li>
+ * </ul>
+ * The band only stretches the interval of the {@link AIScheduler}; a character that was updated less often
+ * catches up the ticks it missed in one update. It moves the distance of all those ticks in steps of at most
+ * a tile, each checked for collisions, so it keeps its average speed unless it runs into an obstacle, and it
+ * takes its place in the world without a jump when it returns into view.
+ */
+public class SimulationLOD {
+    public static final int FULL_INTERVAL = 1;
+    public static final int NEAR_INTERVAL = 4;
+    public static final int FAR_INTERVAL = 16;
+    private static final int MARGIN = 2;
+
+    private final int tileSize;
+    private final int viewCols;
+    private final int viewRows;
+    private boolean enabled = true;
+
+    /**
+     * Constructs the level of detail bands for the screen size of a configuration.
+     *
+     * @param cn the GUI configuration, used for the tile size and the number of visible tiles
+     */
+    public SimulationLOD(GUICoinfig cn) {
+        this.tileSize = cn.getTileSize();
+        this.viewCols = cn.getMaxScreenCol() / 2 + MARGIN;
+        this.viewRows = cn.getMaxScreenRow() / 2 + MARGIN;
+    }
+    /**
+     * Sorts the characters into the bands around a position, usually the one of the player.
+     *
+     * @param centerX the x-coordinate of the centre in pixels
+     * @param centerY the y-coordinate of the centre in pixels
+     * @param characters the characters
+     */
+    public void update(int centerX, int centerY, List<? extends Character> characters) {
+        int centerCol = Math.floorDiv(centerX, tileSize);
+        int centerRow = Math.floorDiv(centerY, tileSize);
+        for (int i = 0; i < characters.size(); i++) {
+            Character character = characters.get(i);
+            character.setLodInterval(enabled ? intervalAt(Math.floorDiv(character.getX(), tileSize) - centerCol,
+                    Math.floorDiv(character.getY(), tileSize) - centerRow) : FULL_INTERVAL);
+        }
+    }
+    /**
+     * Returns the update interval of the band a tile offset from the centre falls into.
+     *
+     * @param cols the offset in columns
+     * @param rows the offset in rows
+     * @return the number of ticks between two updates
+     */
+    public int intervalAt(int cols, int rows) {
+        int distanceCols = Math.abs(cols);
+        int distanceRows = Math.abs(rows);
+        if (distanceCols <= viewCols && distanceRows <= viewRows) {
+            return FULL_INTERVAL;
+        }
+        if (distanceCols <= 2 * viewCols && distanceRows <= 2 * viewRows) {
+            return NEAR_INTERVAL;
+        }
+        return FAR_INTERVAL;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
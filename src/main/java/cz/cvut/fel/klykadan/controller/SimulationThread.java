@@ -0,0 +1,136 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SimulationThread class runs the fixed-timestep simulation of a {@link GameController} on its own thread,
+ * so a slow frame on the JavaFX thread does not delay ticks and a slow tick does not stall rendering.
+ * After every tick the controller publishes a {@link RenderSnapshot}, which the JavaFX thread draws.
+ * <p>
+ * The simulation thread owns the game model. Other threads change the game only through actions given to
+ * {@link #submit(Runnable)}, which run between two ticks. Actions such as loading a game can take long, so the
+ * clock restarts after them instead of simulating the time they took all at once.
+ */
+public class SimulationThread {
+    private static final Logger LOGGER = Logger.getLogger(SimulationThread.class.getName());
+    private final GameController controller;
+    private final long tickNanos;
+    private final int maxTicksBehind;
+    private final ConcurrentLinkedQueue<Runnable> actions = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = false;
+    private volatile Thread thread;
+
+    /**
+     * Constructs the simulation thread of a game. The thread is not started.
+     *
+     * @param controller the game controller whose ticks are run
+     * @param tickNanos the length of a tick in nanoseconds
+     * @param maxTicksBehind the number of ticks the simulation may fall behind before the backlog is dropped
+     */
+    public SimulationThread(GameController controller, long tickNanos, int maxTicksBehind) {
+        this.controller = controller;
+        this.tickNanos = tickNanos;
+        this.maxTicksBehind = maxTicksBehind;
+    }
+    /**
+     * Starts the simulation, or keeps it running if it is already running or being stopped by an action.
+     */
+    public synchronized void start() {
+        running = true;
+        if (thread == null) {
+            thread = new Thread(this::run, "simulation");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+    /**
+     * Stops the simulation after the current tick. Called from another thread, it waits until the simulation
+     * has stopped; called from an action on the simulation thread, it returns at once, and a following
+     * {@link #start()} in the same action keeps the simulation running.
+     */
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = thread;
+        }
+        if (current != null && current != Thread.currentThread()) {
+            LockSupport.unpark(current);
+            try {
+                current.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    /**
+     * Queues an action that changes the game to run on the simulation thread before its next tick.
+     *
+     * @param action the action
+     */
+    public void submit(Runnable action) {
+        actions.add(action);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isSimulationThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    private void run() {
+        while (true) {
+            loop();
+            synchronized (this) {
+                if (!running) {
+                    thread = null;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void loop() {
+        long nextTick = System.nanoTime();
+        while (running) {
+            if (runActions()) {
+                nextTick = System.nanoTime();
+            }
+            long wait = nextTick - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            if (-wait >= maxTicksBehind * tickNanos) {
+                LOGGER.log(Level.FINE, "Dropping {0} ticks of simulation backlog", -wait / tickNanos);
+                nextTick += (-wait / tickNanos) * tickNanos;
+            }
+            try {
+                controller.update();
+                controller.publishSnapshot(nextTick);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Tick failed", e);
+            }
+            nextTick += tickNanos;
+        }
+    }
+
+    private boolean runActions() {
+        boolean ran = false;
+        Runnable action;
+        while ((action = actions.poll()) != null) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Action failed", e);
+            }
+            ran = true;
+        }
+        return ran;
+    }
+}
@@ -0,0 +1,65 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The SnapshotBuffer class hands {@link RenderSnapshot}s from the simulation thread to the rendering thread
+ * without locks (a triple buffer). The writer owns one snapshot it fills, the reader owns the one it draws,
+ * and the third is exchanged between them through a single atomic swap, together with a flag telling whether
+ * it is newer than the one the reader holds. Neither side ever waits for the other: the writer can publish
+ * several ticks while a frame is drawn, and the reader then gets only the newest one, or keeps drawing the
+ * snapshot it has while no tick finished.
+ * <p>
+ * There must be only one writer thread and one reader thread.
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final RenderSnapshot[] snapshots;
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+    private long published = 0;
+    private boolean hasFront = false;
+
+    /**
+     * Constructs a buffer of three snapshots.
+     *
+     * @param first the snapshot filled first by the writer
+     * @param second the snapshot exchanged first
+     * @param third the snapshot held first by the reader
+     */
+    public SnapshotBuffer(RenderSnapshot first, RenderSnapshot second, RenderSnapshot third) {
+        snapshots = new RenderSnapshot[] {first, second, third};
+    }
+    /**
+     * Returns the snapshot the writer fills next. It stays the same until {@link #publish()} is called.
+     *
+     * @return the snapshot owned by the writer
+     */
+    public RenderSnapshot getBack() {
+        return snapshots[back];
+    }
+    /**
+     * Publishes the snapshot returned by {@link #getBack()} as the newest one and gives the writer
+     * another snapshot to fill. Called by the writer thread.
+     */
+    public void publish() {
+        snapshots[back].sequence = ++published;
+        back = shared.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+    /**
+     * Returns the newest published snapshot. The snapshot is owned by the reader until the next call,
+     * so it can be drawn while the writer keeps publishing. Called by the reader thread.
+     *
+     * @return the newest snapshot, or null if none was published yet
+     */
+    public RenderSnapshot acquire() {
+        if ((shared.get() & FRESH) != 0) {
+            front = shared.getAndSet(front) & INDEX_MASK;
+            hasFront = true;
+        }
+        return hasFront ? snapshots[front] : null;
+    }
+}
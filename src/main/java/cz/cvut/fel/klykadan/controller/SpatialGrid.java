@@ -0,0 +1,255 @@
+package cz.cvut.fel.klykadan.controller;
+
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SpatialGrid class is a uniform grid broadphase keyed on tile cells. Every game object is stored
+ * in each cell its bounds overlap, so queries only need to look at the few cells around an area
+ * instead of scanning every object in the level. Objects outside the level are clamped to the border cells.
+ * <p>
+ * For worlds too large to cover with cells, the grid covers a window whose top left cell can be moved
+ * with {@link #setOrigin(int, int)}; objects outside the window are clamped to its border cells.
+ */
+public class SpatialGrid {
+    private final int cellSize;
+    private int columns;
+    private int rows;
+    private int originCol = 0;
+    private int originRow = 0;
+    private List<Entry>[] cells;
+    private final Map<GameObject, Entry> entries = new IdentityHashMap<>();
+    private int queryStamp = 0;
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param cellSize the width and height of one cell in pixels, usually the tile size
+     * @param columns the number of cells along the X axis
+     * @param rows the number of cells along the Y axis
+     */
+    public SpatialGrid(int cellSize, int columns, int rows) {
+        this.cellSize = Math.max(1, cellSize);
+        resize(columns, rows);
+    }
+    /**
+     * Changes the dimensions of the grid and moves its origin back to the first cell.
+     * All stored objects are removed.
+     *
+     * @param columns the number of cells along the X axis
+     * @param rows the number of cells along the Y axis
+     */
+    @SuppressWarnings("unchecked")
+    public void resize(int columns, int rows) {
+        this.columns = Math.max(1, columns);
+        this.rows = Math.max(1, rows);
+        this.originCol = 0;
+        this.originRow = 0;
+        this.cells = new List[this.columns * this.rows];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new ArrayList<>();
+        }
+        entries.clear();
+    }
+    /**
+     * Inserts a game object into every cell overlapped by its bounds.
+     * Inserting an object that is already stored only updates its cells.
+     *
+     * @param obj the game object to insert
+     */
+    public void insert(GameObject obj) {
+        if (entries.containsKey(obj)) {
+            update(obj);
+            return;
+        }
+        Entry entry = new Entry(obj);
+        setBounds(entry, obj);
+        entries.put(obj, entry);
+        addToCells(entry);
+    }
+    /**
+     * Removes a game object from the grid.
+     *
+     * @param obj the game object to remove
+     */
+    public void remove(GameObject obj) {
+        Entry entry = entries.remove(obj);
+        if (entry != null) {
+            removeFromCells(entry);
+        }
+    }
+    /**
+     * Moves a game object to the cells matching its current position.
+     * Nothing is done if the object still overlaps the same cells.
+     *
+     * @param obj the game object that may have moved
+     */
+    public void update(GameObject obj) {
+        Entry entry = entries.get(obj);
+        if (entry == null) {
+            return;
+        }
+        int minCol = column(obj.getXposition());
+        int minRow = row(obj.getYposition());
+        int maxCol = column(obj.getXposition() + Math.max(1, obj.getSizeX()) - 1);
+        int maxRow = row(obj.getYposition() + Math.max(1, obj.getSizeY()) - 1);
+        if (minCol == entry.minCol && minRow == entry.minRow && maxCol == entry.maxCol && maxRow == entry.maxRow) {
+            return;
+        }
+        removeFromCells(entry);
+        setBounds(entry, obj);
+        addToCells(entry);
+    }
+    /**
+     * Moves the window covered by the grid so that its top left cell is the given cell.
+     * All stored objects are sorted into the cells of the new window.
+     *
+     * @param col the column of the new top left cell
+     * @param row the row of the new top left cell
+     */
+    public void setOrigin(int col, int row) {
+        if (col == originCol && row == originRow) {
+            return;
+        }
+        originCol = col;
+        originRow = row;
+        for (List<Entry> cell : cells) {
+            cell.clear();
+        }
+        for (Entry entry : entries.values()) {
+            setBounds(entry, entry.obj);
+            addToCells(entry);
+        }
+    }
+    /**
+     * Removes all objects from the grid.
+     */
+    public void clear() {
+        for (List<Entry> cell : cells) {
+            cell.clear();
+        }
+        entries.clear();
+    }
+    /**
+     * Collects every object stored in the cells overlapping the given rectangle.
+     * Each object is reported once, even if it spans several of those cells.
+     * The caller still has to perform the exact overlap test.
+     *
+     * @param minX the left edge of the area in pixels
+     * @param minY the top edge of the area in pixels
+     * @param maxX the right edge of the area in pixels, inclusive
+     * @param maxY the bottom edge of the area in pixels, inclusive
+     * @param result the list the found objects are appended to
+     */
+    public void query(int minX, int minY, int maxX, int maxY, List<GameObject> result) {
+        int stamp = ++queryStamp;
+        int minCol = column(minX);
+        int maxCol = column(maxX);
+        int minRow = row(minY);
+        int maxRow = row(maxY);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                List<Entry> cell = cells[row * columns + col];
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.stamp != stamp) {
+                        entry.stamp = stamp;
+                        result.add(entry.obj);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the objects whose cells overlap the given pixel area to the result list, like
+     * {@link #query(int, int, int, int, List)}, but without removing duplicates: an object spanning
+     * several queried cells is appended once per cell. The grid is only read, so several threads can
+     * query it at once as long as no thread changes it.
+     *
+     * @param minX the left edge of the area in pixels
+     * @param minY the top edge of the area in pixels
+     * @param maxX the right edge of the area in pixels, inclusive
+     * @param maxY the bottom edge of the area in pixels, inclusive
+     * @param result the list the found objects are appended to
+     */
+    public void queryAll(int minX, int minY, int maxX, int maxY, List<GameObject> result) {
+        int minCol = column(minX);
+        int maxCol = column(maxX);
+        int minRow = row(minY);
+        int maxRow = row(maxY);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                List<Entry> cell = cells[row * columns + col];
+                for (int i = 0; i < cell.size(); i++) {
+                    result.add(cell.get(i).obj);
+                }
+            }
+        }
+    }
+
+    public boolean contains(GameObject obj) {
+        return entries.containsKey(obj);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    private void setBounds(Entry entry, GameObject obj) {
+        entry.minCol = column(obj.getXposition());
+        entry.minRow = row(obj.getYposition());
+        entry.maxCol = column(obj.getXposition() + Math.max(1, obj.getSizeX()) - 1);
+        entry.maxRow = row(obj.getYposition() + Math.max(1, obj.getSizeY()) - 1);
+    }
+
+    private void addToCells(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                cells[row * columns + col].add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                cells[row * columns + col].remove(entry);
+            }
+        }
+    }
+
+    private int column(int x) {
+        return Math.min(columns - 1, Math.max(0, Math.floorDiv(x, cellSize) - originCol));
+    }
+
+    private int row(int y) {
+        return Math.min(rows - 1, Math.max(0, Math.floorDiv(y, cellSize) - originRow));
+    }
+
+    private static class Entry {
+        final GameObject obj;
+        int minCol, minRow, maxCol, maxRow;
+        int stamp;
+
+        Entry(GameObject obj) {
+            this.obj = obj;
+        }
+    }
+}
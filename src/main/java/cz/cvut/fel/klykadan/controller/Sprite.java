@@ -1,15 +1,10 @@
 package cz.cvut.fel.klykadan.controller;
 
-import cz.cvut.fel.klykadan.model.gameObject.CollisionBox;
-import cz.cvut.fel.klykadan.model.gameObject.GameObject;
-import cz.cvut.fel.klykadan.model.gameObject.characters.Character;
-import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 /**
- * The Sprite class manages drawing and animation for entities in the game that are capable of animation.
- * It handles the positioning and rendering of entities based on their state and location in the game world.
+ * The Sprite class manages the animation of entities in the game that are capable of animation.
+ * It selects the image an entity shows based on its state and location in the game world.
  */
 public class Sprite {
 
@@ -32,48 +27,23 @@ public class Sprite {
         this.controller = controller;
     }
     /**
-     * Draws the entity on the canvas using the provided graphics context.
-     * The drawing accounts for special conditions such as being under special tiles that might affect visibility.
+     * Returns the image the entity shows in the current animation frame. An entity under a special tile
+     * is hidden and shows no image.
      *
-     * @param gc the graphics context on which the sprite is drawn
      * @param cn configuration settings of the GUI
-     * @param drawX the x-coordinate on the canvas where the sprite should be drawn
-     * @param drawY the y-coordinate on the canvas where the sprite should be drawn
+     * @return the image to draw, or null if the entity is hidden
      */
-    public void drawEntity(GraphicsContext gc, GUICoinfig cn, double drawX, double drawY) {
+    public Image getFrame(GUICoinfig cn) {
         int tileX = (entity.getX() + 15) / cn.getTileSize();
         int tileY = (entity.getY() + 25) / cn.getTileSize();
-        int tileUnderEntity = textureM.getMap()[tileX][tileY];
+        int tileUnderEntity = textureM.getTile(tileX, tileY);
 
         boolean isUnderSpecialTile = tileUnderEntity == 8;
 
-        if (!isUnderSpecialTile){
-            Image image = selectImageBasedOnDirectionAndAnimationState();
-            gc.drawImage(image, drawX, drawY, cn.getTileSize(), cn.getTileSize());
+        if (isUnderSpecialTile) {
+            return null;
         }
-    }
-    /**
-     * Draws the player sprite. This method adjusts for the player's position on the screen.
-     *
-     * @param gc the graphics context on which the player is drawn
-     * @param cn GUI configuration settings used for drawing
-     */
-
-    public void drawPlayer(GraphicsContext gc, GUICoinfig cn) {
-        drawEntity(gc, cn, entity.getScreenX(), entity.getScreenY());
-    }
-    /**
-     * Draws an NPC sprite relative to the player's position on the screen.
-     *
-     * @param gc the graphics context on which the NPC is drawn
-     * @param cn GUI configuration settings used for drawing
-     */
-
-    public void drawNPC(GraphicsContext gc, GUICoinfig cn){
-        Player player = controller.getPlayer();
-        double entityX = entity.getX() - player.getXposition() + player.getScreenX();
-        double entityY = entity.getY() - player.getYposition() + player.getScreenY();
-        drawEntity(gc, cn, entityX, entityY);
+        return selectImageBasedOnDirectionAndAnimationState();
     }
 
     private Image selectImageBasedOnDirectionAndAnimationState() {
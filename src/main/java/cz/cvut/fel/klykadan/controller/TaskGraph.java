@@ -0,0 +1,262 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The TaskGraph class runs the systems of one simulation tick, in parallel where they do not depend on each other.
+ * A task declares the tasks it depends on when it is added, so the graph cannot contain cycles. Tasks are grouped
+ * into levels: a task runs in the level after the last of its dependencies, and all tasks of a level run
+ * concurrently on a {@link ForkJoinPool}. A parallel task processes a range of items, which is split into chunks
+ * that run concurrently as well; small ranges run as a single chunk. A level with fewer items in total than the
+ * smallest chunk is not worth a trip to the pool and runs on the calling thread.
+ * <p>
+ * A task of a level must only write state no other task of the same level reads or writes, typically the state of
+ * the items of its own range. Work that changes shared state, for example the health of the player, belongs in a
+ * serial task that depends on the parallel ones and processes the items in their list order. Then the result of
+ * a tick does not depend on the number of threads, and a graph without a pool gives the same result running
+ * every task on the calling thread in the order the tasks were added.
+ * <p>
+ * The chunks are created when the graph is built and reused every tick, so running the graph does not allocate.
+ */
+public class TaskGraph {
+    /**
+     * Work on a range of items.
+     */
+    public interface RangeWork {
+        /**
+         * Processes the items from {@code from} inclusive to {@code to} exclusive.
+         *
+         * @param from the first item
+         * @param to the item after the last one
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Returns the number of items of a parallel task, read at the start of each run.
+     */
+    public interface Size {
+        int get();
+    }
+
+    private final ForkJoinPool pool;
+    private final int chunksPerTask;
+    private final int minChunkSize;
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Level> levels = new ArrayList<>();
+    private final LevelAction levelAction = new LevelAction();
+
+    /**
+     * Constructs a graph.
+     *
+     * @param pool the pool the tasks run on, or null to run every task on the calling thread
+     * @param minChunkSize the smallest number of items worth a chunk of its own
+     */
+    public TaskGraph(ForkJoinPool pool, int minChunkSize) {
+        this.pool = pool;
+        this.chunksPerTask = pool == null ? 1 : pool.getParallelism() * 2;
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+    /**
+     * Adds a task that runs as a whole on one thread.
+     *
+     * @param name the name of the task
+     * @param work the work of the task
+     * @param dependencies the tasks that have to finish before this one starts
+     * @return the task
+     */
+    public Task add(String name, Runnable work, Task... dependencies) {
+        return add(name, () -> 1, (from, to) -> work.run(), 1, dependencies);
+    }
+    /**
+     * Adds a task that processes a range of items in parallel chunks.
+     *
+     * @param name the name of the task
+     * @param size the number of items
+     * @param work the work on a range of the items
+     * @param dependencies the tasks that have to finish before this one starts
+     * @return the task
+     */
+    public Task addParallel(String name, Size size, RangeWork work, Task... dependencies) {
+        return add(name, size, work, chunksPerTask, dependencies);
+    }
+
+    private Task add(String name, Size size, RangeWork work, int chunkCount, Task... dependencies) {
+        int level = 0;
+        for (Task dependency : dependencies) {
+            if (dependency.graph != this) {
+                throw new IllegalArgumentException("Task " + dependency.name + " belongs to another graph");
+            }
+            level = Math.max(level, dependency.level + 1);
+        }
+        Task task = new Task(this, name, size, work, level, chunkCount);
+        tasks.add(task);
+        while (levels.size() <= level) {
+            levels.add(new Level());
+        }
+        levels.get(level).add(task);
+        return task;
+    }
+    /**
+     * Runs all tasks once, level by level.
+     */
+    public void run() {
+        for (int i = 0; i < levels.size(); i++) {
+            Level level = levels.get(i);
+            level.prepare(minChunkSize);
+            if (pool == null || level.chunkCount <= 1 || level.items < minChunkSize) {
+                level.runInline();
+            } else {
+                levelAction.level = level;
+                levelAction.reinitialize();
+                pool.invoke(levelAction);
+                levelAction.level = null;
+            }
+        }
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * A task of the graph.
+     */
+    public static final class Task {
+        private final TaskGraph graph;
+        private final String name;
+        private final Size size;
+        private final RangeWork work;
+        private final int level;
+        private final Chunk[] chunks;
+        private int activeChunks;
+        private int items;
+
+        private Task(TaskGraph graph, String name, Size size, RangeWork work, int level, int chunkCount) {
+            this.graph = graph;
+            this.name = name;
+            this.size = size;
+            this.work = work;
+            this.level = level;
+            this.chunks = new Chunk[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                chunks[i] = new Chunk(this, i);
+            }
+        }
+
+        private int prepare(int minChunkSize) {
+            items = size.get();
+            activeChunks = Math.max(1, Math.min(chunks.length, items / minChunkSize));
+            return activeChunks;
+        }
+        /**
+         * Returns the total time the chunks of this task ran in the last run, summed over all threads.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            long total = 0;
+            for (int i = 0; i < activeChunks; i++) {
+                total += chunks[i].elapsed;
+            }
+            return total;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private final Task task;
+        private final int index;
+        private long elapsed;
+
+        private Chunk(Task task, int index) {
+            this.task = task;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            long start = System.nanoTime();
+            long items = task.items;
+            int from = (int) (items * index / task.activeChunks);
+            int to = (int) (items * (index + 1) / task.activeChunks);
+            if (from < to) {
+                task.work.run(from, to);
+            }
+            elapsed = System.nanoTime() - start;
+        }
+    }
+
+    private static final class Level {
+        private final List<Task> tasks = new ArrayList<>();
+        private ForkJoinTask<?>[] chunks = new ForkJoinTask<?>[0];
+        private int chunkCount;
+        private int items;
+
+        private void add(Task task) {
+            tasks.add(task);
+            int capacity = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                capacity += tasks.get(i).chunks.length;
+            }
+            chunks = new ForkJoinTask<?>[capacity];
+        }
+
+        private void prepare(int minChunkSize) {
+            chunkCount = 0;
+            items = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                int active = task.prepare(minChunkSize);
+                items += task.items;
+                for (int c = 0; c < active; c++) {
+                    Chunk chunk = task.chunks[c];
+                    chunk.reinitialize();
+                    chunks[chunkCount++] = chunk;
+                }
+            }
+        }
+
+        private void runInline() {
+            for (int i = 0; i < chunkCount; i++) {
+                ((Chunk) chunks[i]).compute();
+            }
+        }
+    }
+
+    private static final class LevelAction extends RecursiveAction {
+        private Level level;
+
+        @Override
+        protected void compute() {
+            Level current = level;
+            ForkJoinTask<?> first = current.chunks[0];
+            for (int i = 1; i < current.chunkCount; i++) {
+                current.chunks[i].fork();
+            }
+            first.invoke();
+            for (int i = 1; i < current.chunkCount; i++) {
+                current.chunks[i].join();
+            }
+        }
+    }
+}
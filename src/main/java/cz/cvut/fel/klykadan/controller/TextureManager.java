@@ -1,11 +1,11 @@
 package cz.cvut.fel.klykadan.controller;
-import cz.cvut.fel.klykadan.model.gameObject.Bullet;
 import cz.cvut.fel.klykadan.model.gameObject.CollisionBox;
-import cz.cvut.fel.klykadan.model.gameObject.GameObject;
-import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.model.gameObject.items.Key;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
 import cz.cvut.fel.klykadan.view.GamePanel;
 import javafx.scene.paint.Color;
@@ -13,6 +13,8 @@ import javafx.scene.paint.Color;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
 
@@ -22,13 +24,39 @@ import java.util.Scanner;
  * loading texture images, and rendering textures based on the player's position within the game world.
  */
 public class TextureManager {
+    private static final int CHUNK_SIZE = 16;
+    private static final int CHUNK_CACHE_SIZE = 16;
     private GraphicsContext gc;
     private GUICoinfig cn;
     private Image[] texture;
-    private Player player;
     private GameController controller;
     private int map[][];
+    private int mapWidth;
+    private int mapHeight;
+    private ChunkedWorld world;
     private boolean collisionTiles[];
+    private final CollisionMap collisionMap = new CollisionMap(0, 0);
+    private int chunksX;
+    private int chunksY;
+    // Versions of the chunks in a window, the whole map unless a streamed world is attached.
+    private int windowFirstChunkX;
+    private int windowFirstChunkY;
+    private int windowChunksX;
+    private int windowChunksY;
+    private int[] chunkVersions;
+    private int[] movedChunkVersions;
+    private int chunkStamp = 0;
+    private int chunkLayout = 0;
+    private int mapVersion = 0;
+    // The chunk image cache is used by the renderer on the JavaFX thread only.
+    private final WritableImage[] cachedImages = new WritableImage[CHUNK_CACHE_SIZE];
+    private final int[] cachedLayout = new int[CHUNK_CACHE_SIZE];
+    private final int[] cachedChunk = new int[CHUNK_CACHE_SIZE];
+    private final int[] cachedVersion = new int[CHUNK_CACHE_SIZE];
+    private final long[] cachedUse = new long[CHUNK_CACHE_SIZE];
+    private long frame = 0;
+    private Canvas chunkCanvas;
+    private SnapshotParameters snapshotParameters;
 
     /**
      * Constructs a TextureManager with specified graphics context, GUI configuration, and game controller.
@@ -44,14 +72,12 @@ public class TextureManager {
         this.controller = controller;
         this.texture = new Image[50];
         this.collisionTiles = new boolean[texture.length];
-        map = new int[cn.getLevelSizeX()][cn.getLevelSizeY()];
+        resizeMap(cn.getLevelSizeX(), cn.getLevelSizeY());
         initCollisionTiles();
         getTexture();
+        Arrays.fill(cachedChunk, -1);
     }
 
-    public void setPlayer(Player player) {
-        this.player = player;
-    }
     /**
      * Initializes the game map from a specified file path, loading the layout into the map array.
      *
@@ -59,16 +85,31 @@ public class TextureManager {
      */
 
     public void initMap(String mapPath){
+        InputStream is = getClass().getResourceAsStream(mapPath);
+        if (is == null) {
+            new FileNotFoundException("Resource " + mapPath + " not found.").printStackTrace();
+            invalidateAllChunks();
+            return;
+        }
+        initMap(is);
+    }
+    /**
+     * Initializes the game map from a stream in the text map format, one row of tile numbers per line.
+     * The stream is closed afterwards.
+     *
+     * @param is the stream containing the map layout
+     */
+    public void initMap(InputStream is){
+        if (world != null) {
+            world = null;
+            resizeMap(cn.getLevelSizeX(), cn.getLevelSizeY());
+        }
         try{
-            InputStream is = getClass().getResourceAsStream(mapPath);
-            if (is == null) {
-                throw new FileNotFoundException("Resource " + mapPath + " not found.");
-            }
             BufferedReader br = new BufferedReader(new InputStreamReader(is));
 
 
-            int fieldWidth = cn.getLevelSizeX();
-            int fieldHeight = cn.getLevelSizeY();
+            int fieldWidth = mapWidth;
+            int fieldHeight = mapHeight;
 
             String line;
             for (int row = 0; row < fieldHeight; row++) {
@@ -85,22 +126,225 @@ public class TextureManager {
         } catch(Exception e){
             e.printStackTrace();
         }
+        rebuildCollisionMap();
+        invalidateAllChunks();
+        mapVersion++;
+    }
+    /**
+     * Initializes the game map from the tiles of a compiled level. The map is resized if the level
+     * has different dimensions than the current map.
+     *
+     * @param tiles the tile numbers column by column, the tile at (col, row) at index {@code col * height + row}
+     * @param width the width of the map in tiles
+     * @param height the height of the map in tiles
+     */
+    public void initMap(ShortBuffer tiles, int width, int height) {
+        if (world != null || mapWidth != width || mapHeight != height || map.length != width) {
+            world = null;
+            resizeMap(width, height);
+        }
+        for (int col = 0; col < width; col++) {
+            int[] column = map[col];
+            int offset = col * height;
+            for (int row = 0; row < height; row++) {
+                column[row] = tiles.get(offset + row);
+            }
+        }
+        rebuildCollisionMap();
+        invalidateAllChunks();
+        mapVersion++;
+    }
 
+    /**
+     * Attaches a streamed world. While it is attached, tiles are read from the chunks the world
+     * has loaded, and tiles of chunks that are not loaded block movement and are not drawn.
+     * The collision map and the chunk versions only cover the window of the world's loaded chunks,
+     * moved by {@link #setWindowOrigin(int, int)}, so their size does not depend on the size of the level.
+     *
+     * @param world the streamed world
+     */
+    public void setWorld(ChunkedWorld world) {
+        this.world = world;
+        map = new int[0][0];
+        int window = world.getWindowSize();
+        resizeRenderChunks(world.getWidth(), world.getHeight(), window / CHUNK_SIZE + 2, window / CHUNK_SIZE + 2);
+        movedChunkVersions = new int[chunkVersions.length];
+        collisionMap.resizeWindow(window, window);
+        invalidateAllChunks();
+        mapVersion++;
+    }
+    /**
+     * Moves the window of a streamed world. The collision map of the window is read again from the
+     * loaded chunks, and chunks that entered the window get new versions, so they are drawn again.
+     *
+     * @param col the column of the top left tile of the window
+     * @param row the row of the top left tile of the window
+     */
+    public void setWindowOrigin(int col, int row) {
+        if (col == collisionMap.getOriginCol() && row == collisionMap.getOriginRow()) {
+            return;
+        }
+        collisionMap.setOrigin(col, row);
+        deriveCollisionArea(col, row, col + collisionMap.getWidth() - 1, row + collisionMap.getHeight() - 1);
+        moveChunkWindow(Math.floorDiv(col, CHUNK_SIZE), Math.floorDiv(row, CHUNK_SIZE));
+        mapVersion++;
+    }
+
+    public ChunkedWorld getWorld() {
+        return world;
+    }
+
+    private void resizeMap(int width, int height) {
+        map = new int[width][height];
+        int chunks = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        resizeRenderChunks(width, height, chunks, (height + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        movedChunkVersions = null;
+        collisionMap.resize(width, height);
+    }
+
+    private void resizeRenderChunks(int width, int height, int windowChunksX, int windowChunksY) {
+        mapWidth = width;
+        mapHeight = height;
+        chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.windowFirstChunkX = 0;
+        this.windowFirstChunkY = 0;
+        this.windowChunksX = windowChunksX;
+        this.windowChunksY = windowChunksY;
+        chunkVersions = new int[windowChunksX * windowChunksY];
+        chunkLayout++;
+    }
+    /**
+     * Moves the window of chunk versions. Chunks staying in the window keep their versions,
+     * the others get new ones.
+     */
+    private void moveChunkWindow(int firstChunkX, int firstChunkY) {
+        for (int y = 0; y < windowChunksY; y++) {
+            for (int x = 0; x < windowChunksX; x++) {
+                int oldSlot = windowSlot(firstChunkX + x, firstChunkY + y);
+                movedChunkVersions[y * windowChunksX + x] = oldSlot >= 0 ? chunkVersions[oldSlot] : ++chunkStamp;
+            }
+        }
+        int[] versions = chunkVersions;
+        chunkVersions = movedChunkVersions;
+        movedChunkVersions = versions;
+        windowFirstChunkX = firstChunkX;
+        windowFirstChunkY = firstChunkY;
+    }
+    /**
+     * Returns the index of a chunk in the window of chunk versions, or -1 if it is outside the window.
+     */
+    private int windowSlot(int chunkX, int chunkY) {
+        int x = chunkX - windowFirstChunkX;
+        int y = chunkY - windowFirstChunkY;
+        if (x < 0 || y < 0 || x >= windowChunksX || y >= windowChunksY) {
+            return -1;
+        }
+        return y * windowChunksX + x;
+    }
+    /**
+     * Marks a chunk as changed, if it is in the window of chunk versions. Versions are taken from a
+     * single counter, so a chunk that leaves the window and comes back never repeats an old version.
+     */
+    private void touchChunk(int chunkX, int chunkY) {
+        int slot = windowSlot(chunkX, chunkY);
+        if (slot >= 0) {
+            chunkVersions[slot] = ++chunkStamp;
+        }
+    }
+    /**
+     * Derives the collision map from all tiles of the map.
+     */
+    private void rebuildCollisionMap() {
+        for (int col = 0; col < mapWidth; col++) {
+            int[] column = map[col];
+            for (int row = 0; row < mapHeight; row++) {
+                collisionMap.set(col, row, collisionTiles[column[row]]);
+            }
+        }
+    }
+    /**
+     * Changes a single tile of the map and invalidates the chunk that contains it.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @param tileNum the new texture index of the tile
+     */
+    public void setTile(int col, int row, int tileNum) {
+        if (world != null) {
+            if (world.setTile(col, row, tileNum)) {
+                collisionMap.set(col, row, collisionTiles[tileNum]);
+                touchChunk(col / CHUNK_SIZE, row / CHUNK_SIZE);
+                mapVersion++;
+            }
+            return;
+        }
+        if (map[col][row] != tileNum) {
+            map[col][row] = tileNum;
+            collisionMap.set(col, row, collisionTiles[tileNum]);
+            touchChunk(col / CHUNK_SIZE, row / CHUNK_SIZE);
+            mapVersion++;
+        }
+    }
+
+    private void invalidateAllChunks() {
+        for (int i = 0; i < chunkVersions.length; i++) {
+            chunkVersions[i] = ++chunkStamp;
+        }
+    }
+    /**
+     * Marks the tiles of a rectangular area as changed, for example after a streamed chunk was loaded
+     * or evicted. Chunks overlapping the area are drawn again the next time they are in view,
+     * and the collision map of a streamed world is read again from its chunks.
+     *
+     * @param firstCol the first column of the area
+     * @param firstRow the first row of the area
+     * @param lastCol the last column of the area, inclusive
+     * @param lastRow the last row of the area, inclusive
+     */
+    public void invalidateArea(int firstCol, int firstRow, int lastCol, int lastRow) {
+        if (world != null) {
+            deriveCollisionArea(firstCol, firstRow, lastCol, lastRow);
+        }
+        int lastChunkX = Math.min(chunksX - 1, lastCol / CHUNK_SIZE);
+        int lastChunkY = Math.min(chunksY - 1, lastRow / CHUNK_SIZE);
+        for (int chunkY = Math.max(0, firstRow / CHUNK_SIZE); chunkY <= lastChunkY; chunkY++) {
+            for (int chunkX = Math.max(0, firstCol / CHUNK_SIZE); chunkX <= lastChunkX; chunkX++) {
+                touchChunk(chunkX, chunkY);
+            }
+        }
+        mapVersion++;
+    }
+    /**
+     * Reads the collision map of the part of an area that lies in the window of a streamed world
+     * from the loaded chunks. Tiles of chunks that are not loaded block.
+     */
+    private void deriveCollisionArea(int firstCol, int firstRow, int lastCol, int lastRow) {
+        int minCol = Math.max(Math.max(0, firstCol), collisionMap.getOriginCol());
+        int minRow = Math.max(Math.max(0, firstRow), collisionMap.getOriginRow());
+        int maxCol = Math.min(Math.min(mapWidth - 1, lastCol), collisionMap.getOriginCol() + collisionMap.getWidth() - 1);
+        int maxRow = Math.min(Math.min(mapHeight - 1, lastRow), collisionMap.getOriginRow() + collisionMap.getHeight() - 1);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int tile = world.getTile(col, row);
+                collisionMap.set(col, row, tile < 0 || collisionTiles[tile]);
+            }
+        }
     }
 
 
     private void getTexture(){
         try{
-            texture[0] = new Image("/textures/lab/tiles.png");
-            texture[1] = new Image("/textures/lab/tile6.png");
-            texture[2] = new Image("/textures/doors/OFFICEDOOR.png");
-            texture[3] = new Image("/textures/lab/sleft2.png");
-            texture[4] = new Image("/textures/lab/tile110.png");
-            texture[5] = new Image("/textures/lab/sup.png");
-            texture[6] = new Image("/textures/lab/tile7.png");
-            texture[7] = new Image("/textures/lab/tile8.8.png");
-            texture[8] = new Image("/textures/lab/specialTile.png");
-            texture[9] = new Image("/textures/doors/door_green.png");
+            texture[0] = AssetManager.getInstance().getImage("/textures/lab/tiles.png");
+            texture[1] = AssetManager.getInstance().getImage("/textures/lab/tile6.png");
+            texture[2] = AssetManager.getInstance().getImage("/textures/doors/OFFICEDOOR.png");
+            texture[3] = AssetManager.getInstance().getImage("/textures/lab/sleft2.png");
+            texture[4] = AssetManager.getInstance().getImage("/textures/lab/tile110.png");
+            texture[5] = AssetManager.getInstance().getImage("/textures/lab/sup.png");
+            texture[6] = AssetManager.getInstance().getImage("/textures/lab/tile7.png");
+            texture[7] = AssetManager.getInstance().getImage("/textures/lab/tile8.8.png");
+            texture[8] = AssetManager.getInstance().getImage("/textures/lab/specialTile.png");
+            texture[9] = AssetManager.getInstance().getImage("/textures/doors/door_green.png");
 
         } catch (Exception e){
             System.err.println("Texture not found: " + e.getMessage());
@@ -112,69 +356,199 @@ public class TextureManager {
         collisionTiles[6] = true;
     }
     /**
-     * Draws the textures for the entire game level based on the player's current position,
-     * ensuring that only visible portions of the map are rendered to optimize performance.
+     * Copies the tiles of the chunks in the view of a snapshot into the snapshot, so the renderer can draw
+     * the tile layer without reading the map while the simulation changes it. Called on the simulation thread
+     * after the camera of the snapshot was set; chunks the snapshot already holds in their current version
+     * are not copied again.
      *
-     * @param gc the graphics context on which textures are drawn
+     * @param snapshot the snapshot being filled
      */
-    public void drawTexture(GraphicsContext gc) {
-        int tileSize = cn.getTileSize();
-        int levelSizeX = cn.getLevelSizeX();
-        int levelSizeY = cn.getLevelSizeY();
-
-        double playerPosX = player.getX();
-        double playerPosY = player.getY();
-        double playerSizeX = player.getScreenX();
-        double playerSizeY = player.getScreenY();
-
-        double playerMinX = playerPosX - playerSizeX;
-        double playerMaxX = playerPosX + playerSizeX;
-        double playerMinY = playerPosY - playerSizeY;
-        double playerMaxY = playerPosY + playerSizeY;
-
-        for (int row = 0; row < levelSizeY; row++) {
-            int y = row * tileSize;
-            double screenY = y - playerPosY + playerSizeY;
-
-            for (int col = 0; col < levelSizeX; col++) {
-                int x = col * tileSize;
-                double screenX = x - playerPosX + playerSizeX;
-                int tileNum = map[col][row];
-
-                if (x + tileSize > playerMinX &&
-                        x - tileSize < playerMaxX &&
-                        y + tileSize > playerMinY &&
-                        y - tileSize < playerMaxY) {
-                    gc.drawImage(texture[tileNum], screenX, screenY, tileSize, tileSize);
+    public void captureTiles(RenderSnapshot snapshot) {
+        int chunkPixels = CHUNK_SIZE * cn.getTileSize();
+        int firstChunkX = Math.max(Math.max(0, windowFirstChunkX), Math.floorDiv(snapshot.viewMinX, chunkPixels));
+        int firstChunkY = Math.max(Math.max(0, windowFirstChunkY), Math.floorDiv(snapshot.viewMinY, chunkPixels));
+        int lastChunkX = Math.min(Math.min(chunksX, windowFirstChunkX + windowChunksX) - 1, Math.floorDiv(snapshot.viewMaxX, chunkPixels));
+        int lastChunkY = Math.min(Math.min(chunksY, windowFirstChunkY + windowChunksY) - 1, Math.floorDiv(snapshot.viewMaxY, chunkPixels));
+        int windowX = Math.max(0, lastChunkX - firstChunkX + 1);
+        int windowY = Math.max(0, lastChunkY - firstChunkY + 1);
+        snapshot.beginTiles(chunkLayout, CHUNK_SIZE, firstChunkX, firstChunkY, windowX, windowY);
+        int[] tiles = snapshot.tiles;
+        for (int slot = 0; slot < windowX * windowY; slot++) {
+            int chunkX = firstChunkX + slot % windowX;
+            int chunkY = firstChunkY + slot / windowX;
+            int chunk = chunkY * chunksX + chunkX;
+            int version = chunkVersions[windowSlot(chunkX, chunkY)];
+            if (snapshot.holdsChunk(slot, chunk, version)) {
+                continue;
+            }
+            int offset = slot * CHUNK_SIZE * CHUNK_SIZE;
+            for (int row = 0; row < CHUNK_SIZE; row++) {
+                for (int col = 0; col < CHUNK_SIZE; col++) {
+                    tiles[offset + row * CHUNK_SIZE + col] = getTile(chunkX * CHUNK_SIZE + col, chunkY * CHUNK_SIZE + row);
                 }
             }
+            snapshot.windowChunk[slot] = chunk;
+            snapshot.windowVersion[slot] = version;
         }
     }
     /**
-     * Draws all visible game objects using the graphics context. Each object's position is adjusted
-     * based on the player's position to ensure correct placement on the screen.
+     * Draws the tile layer of a snapshot around its interpolated camera.
+     * The tiles are pre-rendered into chunk images of {@value #CHUNK_SIZE}x{@value #CHUNK_SIZE} tiles,
+     * so each frame only blits the few chunks that intersect the viewport. The images of the
+     * {@value #CHUNK_CACHE_SIZE} most recently drawn chunks are cached, and a chunk is rendered again only
+     * after one of its tiles has changed or it has dropped out of the cache.
      *
-     * @param gc the graphics context on which game objects are drawn
+     * @param gc the graphics context on which textures are drawn
+     * @param snapshot the snapshot to draw
+     * @param alpha the fraction of a tick elapsed since the snapshot's tick, used to interpolate the camera
      */
+    public void drawTexture(GraphicsContext gc, RenderSnapshot snapshot, double alpha) {
+        int chunkPixels = CHUNK_SIZE * cn.getTileSize();
+        double cameraX = Math.round(interpolate(snapshot.playerPreviousX, snapshot.playerX, alpha) - snapshot.screenX);
+        double cameraY = Math.round(interpolate(snapshot.playerPreviousY, snapshot.playerY, alpha) - snapshot.screenY);
+        frame++;
+        for (int slot = 0; slot < snapshot.getWindowChunkCount(); slot++) {
+            int chunkX = snapshot.firstChunkX + slot % snapshot.windowChunksX;
+            int chunkY = snapshot.firstChunkY + slot / snapshot.windowChunksX;
+            WritableImage chunk = getChunkImage(snapshot, slot);
+            gc.drawImage(chunk, chunkX * chunkPixels - cameraX, chunkY * chunkPixels - cameraY);
+        }
+    }
+    /**
+     * Returns the cached image of a chunk of the snapshot's tile window, rendering it first if it is missing,
+     * outdated, or the least recently drawn image has to make room for it.
+     */
+    private WritableImage getChunkImage(RenderSnapshot snapshot, int slot) {
+        int chunk = snapshot.windowChunk[slot];
+        int version = snapshot.windowVersion[slot];
+        int cached = 0;
+        for (int i = 0; i < CHUNK_CACHE_SIZE; i++) {
+            if (cachedChunk[i] == chunk && cachedLayout[i] == snapshot.tileLayout) {
+                cached = i;
+                break;
+            }
+            if (cachedUse[i] < cachedUse[cached]) {
+                cached = i;
+            }
+        }
+        if (cachedImages[cached] == null || cachedChunk[cached] != chunk
+                || cachedLayout[cached] != snapshot.tileLayout || cachedVersion[cached] != version) {
+            cachedImages[cached] = renderChunk(snapshot, slot, cachedImages[cached]);
+            cachedChunk[cached] = chunk;
+            cachedLayout[cached] = snapshot.tileLayout;
+            cachedVersion[cached] = version;
+        }
+        cachedUse[cached] = frame;
+        return cachedImages[cached];
+    }
 
-    public void drawGameObjects(GraphicsContext gc) {
-        for (GameObject obj : controller.getGameObjects()) {
-            if (obj.isVisible()) {
-
-                double objX = obj.getXposition() - player.getXposition() + player.getScreenX();
-                double objY = obj.getYposition() - player.getYposition() + player.getScreenY();
+    private WritableImage renderChunk(RenderSnapshot snapshot, int slot, WritableImage target) {
+        int tileSize = cn.getTileSize();
+        int chunkPixels = CHUNK_SIZE * tileSize;
+        if (chunkCanvas == null) {
+            chunkCanvas = new Canvas(chunkPixels, chunkPixels);
+            snapshotParameters = new SnapshotParameters();
+            snapshotParameters.setFill(Color.TRANSPARENT);
+        }
+        GraphicsContext chunkGc = chunkCanvas.getGraphicsContext2D();
+        chunkGc.clearRect(0, 0, chunkPixels, chunkPixels);
 
-                gc.drawImage(obj.getImage(), objX, objY, cn.getTileSize(), cn.getTileSize());
+        int offset = slot * CHUNK_SIZE * CHUNK_SIZE;
+        for (int row = 0; row < CHUNK_SIZE; row++) {
+            for (int col = 0; col < CHUNK_SIZE; col++) {
+                int tile = snapshot.tiles[offset + row * CHUNK_SIZE + col];
+                if (tile >= 0) {
+                    chunkGc.drawImage(texture[tile], col * tileSize, row * tileSize, tileSize, tileSize);
+                }
             }
-            obj.update();
         }
+        return chunkCanvas.snapshot(snapshotParameters, target);
     }
+    /**
+     * Draws a range of the draw list of a snapshot. Each image is interpolated between its previous and
+     * current position and placed relative to the interpolated camera, so the player stays at its screen position.
+     *
+     * @param gc the graphics context on which the images are drawn
+     * @param snapshot the snapshot to draw
+     * @param from the first entry of the draw list to draw
+     * @param to the entry after the last one to draw
+     * @param alpha the fraction of a tick elapsed since the snapshot's tick, used to interpolate positions
+     */
+    public void drawGameObjects(GraphicsContext gc, RenderSnapshot snapshot, int from, int to, double alpha) {
+        double cameraX = interpolate(snapshot.playerPreviousX, snapshot.playerX, alpha) - snapshot.screenX;
+        double cameraY = interpolate(snapshot.playerPreviousY, snapshot.playerY, alpha) - snapshot.screenY;
+        int tileSize = cn.getTileSize();
+        for (int i = from; i < to; i++) {
+            double objX = interpolate(snapshot.previousX[i], snapshot.x[i], alpha) - cameraX;
+            double objY = interpolate(snapshot.previousY[i], snapshot.y[i], alpha) - cameraY;
+            gc.drawImage(snapshot.image[i], objX, objY, tileSize, tileSize);
+        }
+    }
+
+    private static double interpolate(int previous, int current, double alpha) {
+        return previous + (current - previous) * alpha;
+    }
+    /**
+     * Returns the tile array of a level held completely in memory, indexed as {@code map[col][row]}.
+     * While a streamed world is attached the array is empty; use {@link #getTile(int, int)} instead.
+     *
+     * @return the tile array
+     */
     public int[][] getMap() {
         return map;
     }
+    /**
+     * Returns the texture index of a tile.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return the texture index, or -1 outside the map and in streamed chunks that are not loaded
+     */
+    public int getTile(int col, int row) {
+        if (col < 0 || row < 0 || col >= mapWidth || row >= mapHeight) {
+            return -1;
+        }
+        if (world != null) {
+            return world.getTile(col, row);
+        }
+        return map[col][row];
+    }
+    /**
+     * Checks whether a tile blocks movement. Tiles outside the map never block, while tiles of streamed
+     * chunks that are not loaded yet and tiles outside the window of a streamed world always do.
+     *
+     * @param col the column of the tile
+     * @param row the row of the tile
+     * @return true if the tile is a collision tile
+     */
+    public boolean isCollisionTile(int col, int row) {
+        return collisionMap.isBlocked(col, row);
+    }
+
+    public int getMapWidth() {
+        return mapWidth;
+    }
+
+    public int getMapHeight() {
+        return mapHeight;
+    }
+
+    /**
+     * Returns a counter that changes whenever the map is loaded or a tile is changed,
+     * so that data derived from the map, such as cached paths, can detect it is outdated.
+     *
+     * @return the current version of the map
+     */
+    public int getMapVersion() {
+        return mapVersion;
+    }
 
     public boolean[] getCollisionTiles() {
         return collisionTiles;
     }
+
+    public CollisionMap getCollisionMap() {
+        return collisionMap;
+    }
 }
 
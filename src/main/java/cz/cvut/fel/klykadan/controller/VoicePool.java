@@ -0,0 +1,191 @@
+package cz.cvut.fel.klykadan.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The VoicePool class plays short sound effects on a fixed number of voices. Every sound is registered once
+ * with its preloaded clip, so playing it later creates no players and allocates nothing.
+ * When all voices are busy, the voice playing the sound with the lowest priority is stolen, the oldest one
+ * among sounds of equal priority. A sound with a lower priority than everything playing is dropped instead.
+ * A sound requested several times within one tick, such as rapid fire, plays only once.
+ */
+public class VoicePool {
+    private final Map<String, Sound> sounds = new HashMap<>();
+    private final Sound[] voices;
+    private final long[] voiceStart;
+    private final long[] voiceEnd;
+    private final LongSupplier clock;
+    private int tick;
+
+    /**
+     * Constructs a voice pool timed by {@link System#nanoTime()}.
+     *
+     * @param voiceCount the number of sounds that can play at once
+     */
+    public VoicePool(int voiceCount) {
+        this(voiceCount, System::nanoTime);
+    }
+    /**
+     * Constructs a voice pool.
+     *
+     * @param voiceCount the number of sounds that can play at once
+     * @param clock the source of the current time in nanoseconds, used to tell when a voice finished
+     */
+    public VoicePool(int voiceCount, LongSupplier clock) {
+        if (voiceCount <= 0) {
+            throw new IllegalArgumentException("The voice count must be positive");
+        }
+        this.voices = new Sound[voiceCount];
+        this.voiceStart = new long[voiceCount];
+        this.voiceEnd = new long[voiceCount];
+        this.clock = clock;
+    }
+    /**
+     * Registers a sound that can be played afterwards.
+     *
+     * @param name the name the sound is played by
+     * @param clip the preloaded clip
+     * @param durationNanos how long one playback of the clip lasts
+     * @param volume the volume the sound plays at, where 1.0 is the loudest
+     * @param priority the priority of the sound; a higher priority can steal the voice of a lower one
+     */
+    public void register(String name, Clip clip, long durationNanos, double volume, int priority) {
+        sounds.put(name, new Sound(clip, durationNanos, volume, priority));
+    }
+    /**
+     * Checks if a sound is registered.
+     *
+     * @param name the name of the sound
+     * @return true if the sound can be played
+     */
+    public boolean isRegistered(String name) {
+        return sounds.containsKey(name);
+    }
+    /**
+     * Plays a registered sound on a free voice, stealing one if needed.
+     *
+     * @param name the name of the sound
+     * @return true if the sound started playing, false if it is unknown, was already played this tick
+     * or every voice plays a sound of a higher priority
+     */
+    public boolean play(String name) {
+        Sound sound = sounds.get(name);
+        if (sound == null || sound.lastTick == tick) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        int voice = findFreeVoice(now);
+        if (voice < 0) {
+            voice = findVictim();
+            if (voices[voice].priority > sound.priority) {
+                return false;
+            }
+            stop(voices[voice]);
+        }
+        voices[voice] = sound;
+        voiceStart[voice] = now;
+        voiceEnd[voice] = now + sound.durationNanos;
+        sound.lastTick = tick;
+        sound.clip.play(sound.volume);
+        return true;
+    }
+
+    private int findFreeVoice(long now) {
+        for (int i = 0; i < voices.length; i++) {
+            if (voices[i] == null || voiceEnd[i] <= now) {
+                voices[i] = null;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int findVictim() {
+        int victim = 0;
+        for (int i = 1; i < voices.length; i++) {
+            if (voices[i].priority < voices[victim].priority
+                    || voices[i].priority == voices[victim].priority && voiceStart[i] < voiceStart[victim]) {
+                victim = i;
+            }
+        }
+        return victim;
+    }
+    /**
+     * Stops a sound. A clip stops all of its playbacks at once, so every voice playing it is freed.
+     */
+    private void stop(Sound sound) {
+        sound.clip.stop();
+        for (int i = 0; i < voices.length; i++) {
+            if (voices[i] == sound) {
+                voices[i] = null;
+            }
+        }
+    }
+    /**
+     * Starts the next tick, after which every sound can be played again.
+     */
+    public void nextTick() {
+        tick++;
+    }
+    /**
+     * Stops all playing sounds and frees their voices.
+     */
+    public void stopAll() {
+        for (Sound sound : voices) {
+            if (sound != null) {
+                stop(sound);
+            }
+        }
+    }
+    /**
+     * Returns the number of voices that are still playing.
+     *
+     * @return the number of busy voices
+     */
+    public int getActiveVoiceCount() {
+        long now = clock.getAsLong();
+        int active = 0;
+        for (int i = 0; i < voices.length; i++) {
+            if (voices[i] != null && voiceEnd[i] > now) {
+                active++;
+            }
+        }
+        return active;
+    }
+    public int getVoiceCount() {
+        return voices.length;
+    }
+
+    /**
+     * A preloaded sound clip that can play several times at once.
+     */
+    public interface Clip {
+        /**
+         * Starts a new playback of the clip.
+         *
+         * @param volume the volume, where 1.0 is the loudest
+         */
+        void play(double volume);
+        /**
+         * Stops all playbacks of the clip.
+         */
+        void stop();
+    }
+
+    private static final class Sound {
+        private final Clip clip;
+        private final long durationNanos;
+        private final double volume;
+        private final int priority;
+        private int lastTick = -1;
+
+        private Sound(Clip clip, long durationNanos, double volume, int priority) {
+            this.clip = clip;
+            this.durationNanos = durationNanos;
+            this.volume = volume;
+            this.priority = priority;
+        }
+    }
+}
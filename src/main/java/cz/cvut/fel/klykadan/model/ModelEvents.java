@@ -0,0 +1,59 @@
+package cz.cvut.fel.klykadan.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ModelEvents class lets the user interface observe the game model instead of polling it every tick.
+ * The model publishes a {@link Change} whenever a value shown to the player changes, and the listeners
+ * refresh only what depends on it. Publishing allocates nothing, so it is safe inside the game tick.
+ */
+public class ModelEvents {
+    /**
+     * The kinds of model changes.
+     */
+    public enum Change {
+        HEALTH, AMMO, INVENTORY, STATE
+    }
+
+    /**
+     * Receives the changes of the game model.
+     */
+    public interface Listener {
+        /**
+         * Called after a part of the model changed.
+         *
+         * @param change what changed
+         */
+        void onModelChanged(Change change);
+    }
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * Adds a listener that is notified of every change.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+    /**
+     * Notifies all listeners of a change.
+     *
+     * @param change what changed
+     */
+    public void publish(Change change) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onModelChanged(change);
+        }
+    }
+}
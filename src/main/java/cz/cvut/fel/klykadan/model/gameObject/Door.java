@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.model.gameObject.items.Item;
 import javafx.scene.image.Image;
@@ -23,7 +24,7 @@ public class Door extends GameObject {
      */
 
     public Door(int Xposition, int Yposition, int sizeX, int sizeY, boolean isLocked){
-        this(new Image("/textures/doors/door_red.png"), Xposition, Yposition, sizeX, sizeY, isLocked);
+        this(AssetManager.getInstance().getImage("/textures/doors/door_red.png"), Xposition, Yposition, sizeX, sizeY, isLocked);
     }
 
     /**
@@ -86,6 +87,10 @@ public class Door extends GameObject {
         LOGGER.info("Door unlocked. Collidable now: " + isCollidable());
     }
 
+    public boolean isLocked() {
+        return isLocked;
+    }
+
     @Override
     public boolean isCollidable() {
         return isLocked;
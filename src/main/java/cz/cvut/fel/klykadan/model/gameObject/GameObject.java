@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.controller.Collidable;
 import cz.cvut.fel.klykadan.controller.GameController;
 import cz.cvut.fel.klykadan.controller.Interactable;
@@ -24,11 +25,14 @@ public abstract class GameObject implements Collidable, Interactable {
     protected int sizeY;
     protected int Xposition;
     protected int Yposition;
+    protected int previousXposition;
+    protected int previousYposition;
     protected int screenPositionX;
     protected int screenPositionY;
     protected boolean collision;
     protected boolean isVisible;
     private UUID id;
+    private int entity = -1;
     /**
      * Constructs a game object with the specified properties.
      * @param name The name of the game object.
@@ -45,6 +49,8 @@ public abstract class GameObject implements Collidable, Interactable {
         this.sizeY = sizeY;
         this.Xposition = Xposition;
         this.Yposition = Yposition;
+        this.previousXposition = Xposition;
+        this.previousYposition = Yposition;
         this.collisionBox = new CollisionBox(Xposition, Yposition, sizeX, sizeY);
         this.collision = false;
         this.isVisible = true;
@@ -55,6 +61,36 @@ public abstract class GameObject implements Collidable, Interactable {
      * This method should be implemented by subclasses to define specific update behavior.
      */
     public abstract void update();
+    /**
+     * Remembers the current position as the position of the previous simulation tick.
+     * Called once at the start of every tick so that rendering can interpolate between ticks.
+     */
+    public void storePreviousPosition() {
+        previousXposition = Xposition;
+        previousYposition = Yposition;
+    }
+    /**
+     * Returns the X position of the previous tick, from which rendering interpolates.
+     * @return The previous X position.
+     */
+    public int getPreviousXposition() {
+        return previousXposition;
+    }
+    /**
+     * Returns the Y position of the previous tick, from which rendering interpolates.
+     * @return The previous Y position.
+     */
+    public int getPreviousYposition() {
+        return previousYposition;
+    }
+
+    /**
+     * Gives the images held by this object back to the {@link AssetManager}.
+     * Called when the level containing the object is unloaded.
+     */
+    public void releaseAssets() {
+        AssetManager.getInstance().release(image);
+    }
 
     @Override
     public CollisionBox getCollisionBox() {
@@ -132,4 +168,15 @@ public abstract class GameObject implements Collidable, Interactable {
     public void setId(UUID id) {
         this.id = id;
     }
+    /**
+     * Returns the id of the entity mirroring this object in the {@link cz.cvut.fel.klykadan.controller.EntityStore}.
+     * @return The entity id, or -1 if the object is not mirrored.
+     */
+    public int getEntity() {
+        return entity;
+    }
+
+    public void setEntity(int entity) {
+        this.entity = entity;
+    }
 }
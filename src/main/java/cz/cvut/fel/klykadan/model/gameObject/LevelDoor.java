@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.controller.GameController;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import javafx.scene.image.Image;
@@ -20,7 +21,7 @@ public class LevelDoor extends Door {
      * @param isLocked Flag indicating whether the level door is initially locked.
      */
     public LevelDoor(int Xposition, int Yposition, int sizeX, int sizeY, boolean isLocked) {
-        super(new Image("/textures/lab/tile050.png"), Xposition, Yposition, sizeX, sizeY, isLocked);
+        super(AssetManager.getInstance().getImage("/textures/lab/tile050.png"), Xposition, Yposition, sizeX, sizeY, isLocked);
         this.name = "LevelDoor";
     }
 
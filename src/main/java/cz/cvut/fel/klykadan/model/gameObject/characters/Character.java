@@ -22,7 +22,14 @@ public class Character extends GameObject implements Animatable, Collidable{
     protected int health;
     protected Image[] upImages, downImages, leftImages, rightImages;
     protected Image upStand, downStand, leftStand, rightStand;
+    protected static final Direction[] MOVE_DIRECTIONS = {Direction.LEFT, Direction.RIGHT, Direction.UP, Direction.DOWN};
+    protected final Random random;
     protected int FPClocker = 0;
+    private int catchUpTicks = 1;
+    protected int updateInterval = 1;
+    private int schedulePhase = -1;
+    private int lodInterval = 1;
+    private long lastUpdateTick = -1;
     /**
      * Constructor for the Character class.
      * @param controller The game controller.
@@ -45,18 +52,31 @@ public class Character extends GameObject implements Animatable, Collidable{
         this.controller = controller;
         direction = direction.DOWN;
         this.health = health;
+        this.random = new Random(seed(name, Xposition, Yposition));
         updateCollisionBox();
     }
+    /**
+     * Derives the seed of the random generator of a character from its name and spawn position, so every
+     * character makes the same random decisions in every run, no matter in which order or on which thread
+     * characters are updated.
+     */
+    private static long seed(String name, int x, int y) {
+        return ((long) name.hashCode() << 32) ^ (31L * x + y);
+    }
     /**
      * Method to update the character's collision box.
+     * The box is created once and moved afterwards.
      */
     public void updateCollisionBox() {
         int boxPositionX = this.getX() + 15;
         int boxPositionY = this.getY() + 25;
-        int boxSizeX = this.cn.getTileSize() - 30;
-        int boxSizeY = this.cn.getTileSize() - 30;
-
-        this.collisionBox = new CollisionBox(boxPositionX, boxPositionY, boxSizeX, boxSizeY);
+        if (collisionBox == null) {
+            int boxSizeX = this.cn.getTileSize() - 30;
+            int boxSizeY = this.cn.getTileSize() - 30;
+            this.collisionBox = new CollisionBox(boxPositionX, boxPositionY, boxSizeX, boxSizeY);
+        } else {
+            collisionBox.update(boxPositionX, boxPositionY);
+        }
     }
     /**
      * Method for the character's action.
@@ -70,9 +90,25 @@ public class Character extends GameObject implements Animatable, Collidable{
      */
     public void update(){
         doAction();
-        setCollision(false);
-        controller.getPhysics().detectCollision(this);
-        if(!isCollision()){
+        move(speed * catchUpTicks);
+        catchUpTicks = 1;
+        sprite.updateSprite(isMoving(), false);
+    }
+    /**
+     * Moves the character in its direction in steps of at most one tile, each checked for collisions,
+     * so it cannot pass through a wall. It stops before the first step that would collide.
+     * @param distance The distance to move in pixels.
+     */
+    private void move(int distance) {
+        int normalSpeed = speed;
+        int tileSize = cn.getTileSize();
+        do {
+            speed = Math.min(distance, tileSize);
+            setCollision(false);
+            controller.getPhysics().detectCollision(this);
+            if (isCollision()) {
+                break;
+            }
             switch (direction) {
                 case UP: Yposition -= speed; break;
                 case DOWN: Yposition += speed; break;
@@ -80,8 +116,29 @@ public class Character extends GameObject implements Animatable, Collidable{
                 case RIGHT: Xposition += speed; break;
             }
             updateCollisionBox();
+            distance -= speed;
+        } while (distance > 0);
+        speed = normalSpeed;
+    }
+    /**
+     * Updates the character once for several ticks that passed since its last update, for example when it is
+     * updated less often far from the player. It moves the distance of all the ticks, split into steps of at
+     * most one tile that are each checked for collisions, and its decision timer advances by all the ticks.
+     * @param ticks The number of ticks since the last update.
+     */
+    public void advance(int ticks) {
+        catchUp(ticks);
+        update();
+    }
+    /**
+     * Makes the next update cover several ticks.
+     * @param ticks The number of ticks since the last update.
+     */
+    protected void catchUp(int ticks) {
+        if (ticks > 1) {
+            catchUpTicks = ticks;
+            FPClocker += ticks - 1;
         }
-        sprite.updateSprite(isMoving(), false);
     }
     /**
      * Method to get an array of images for movement animation.
@@ -111,6 +168,25 @@ public class Character extends GameObject implements Animatable, Collidable{
             default: return downStand;
         }
     }
+    /**
+     * Releases the sprite images of the character in addition to its own image.
+     */
+    @Override
+    public void releaseAssets() {
+        super.releaseAssets();
+        AssetManager assets = AssetManager.getInstance();
+        for (Image[] images : new Image[][] {upImages, downImages, leftImages, rightImages}) {
+            if (images != null) {
+                for (Image image : images) {
+                    assets.release(image);
+                }
+            }
+        }
+        assets.release(upStand);
+        assets.release(downStand);
+        assets.release(leftStand);
+        assets.release(rightStand);
+    }
     /**
      * Updates the character's direction to face the player.
      * @param player The player character.
@@ -133,6 +209,20 @@ public class Character extends GameObject implements Animatable, Collidable{
             }
         }
     }
+    /**
+     * Returns the map column containing the centre of the character's collision box.
+     * @return The tile column of the character.
+     */
+    public int getTileColumn() {
+        return (getX() + cn.getTileSize() / 2) / cn.getTileSize();
+    }
+    /**
+     * Returns the map row containing the centre of the character's collision box.
+     * @return The tile row of the character.
+     */
+    public int getTileRow() {
+        return (getY() + 25 + (cn.getTileSize() - 30) / 2) / cn.getTileSize();
+    }
     @Override
     public boolean isCollidable() {
         return true;
@@ -171,4 +261,42 @@ public class Character extends GameObject implements Animatable, Collidable{
     public int getHealth() {
         return health;
     }
+    /**
+     * Returns how often the AI scheduler updates this character.
+     * @return The number of ticks between two updates.
+     */
+    public int getUpdateInterval() {
+        return updateInterval;
+    }
+
+    public void setUpdateInterval(int updateInterval) {
+        this.updateInterval = updateInterval;
+    }
+
+    public int getSchedulePhase() {
+        return schedulePhase;
+    }
+
+    public void setSchedulePhase(int schedulePhase) {
+        this.schedulePhase = schedulePhase;
+    }
+    /**
+     * Returns the factor by which the simulation level of detail stretches the update interval.
+     * @return The factor, 1 while the character is near the player.
+     */
+    public int getLodInterval() {
+        return lodInterval;
+    }
+
+    public void setLodInterval(int lodInterval) {
+        this.lodInterval = lodInterval;
+    }
+
+    public long getLastUpdateTick() {
+        return lastUpdateTick;
+    }
+
+    public void setLastUpdateTick(long lastUpdateTick) {
+        this.lastUpdateTick = lastUpdateTick;
+    }
 }
@@ -3,22 +3,19 @@ package cz.cvut.fel.klykadan.model.gameObject.characters;
 import cz.cvut.fel.klykadan.controller.*;
 import cz.cvut.fel.klykadan.model.gameObject.CollisionBox;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
-import javafx.application.Platform;
 import javafx.scene.image.Image;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 /**
  * Represents an enemy character in the game.
  */
-public class Enemy extends Character implements Animatable, Collidable, Interactable, Runnable{
+public class Enemy extends Character implements Animatable, Collidable, Interactable{
     private int damage;
     private boolean isMoving;
-    private boolean running = true;
-    private Thread thread;
     private int attackCooldown = 30;
     private int currentFrame = 0;
+    private boolean chasing = false;
     /**
      * Constructs an enemy character.
      * @param controller The game controller.
@@ -35,58 +32,70 @@ public class Enemy extends Character implements Animatable, Collidable, Interact
         this.damage = 10;
         loadImages();
         this.sprite = new Sprite(this, textureM, controller);
-
-        thread = new Thread(this);
-        thread.start();
     }
+
     /**
-     * Runs the enemy behavior loop.
+     * Updates the enemy behavior. Called by the {@link AIScheduler} from the game tick.
      */
     @Override
-    public void run() {
-        while (running) {
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                break;
-            }
-            update();
-        }
+    public void update(){
+        updateMovement();
+        updateCombat();
     }
-
     /**
-     * Updates the enemy behavior.
+     * Turns and moves the enemy. This only changes the enemy itself, so enemies can move in parallel,
+     * unless {@link #needsPathfinder()} is true.
      */
-    @Override
-    public void update(){
-        if(this.health > 0){
+    public void updateMovement() {
+        updateMovement(1);
+    }
+    /**
+     * Turns and moves the enemy once for several ticks, see {@link #advance(int)}.
+     * @param ticks The number of ticks since the last update.
+     */
+    public void updateMovement(int ticks) {
+        if (this.health > 0) {
+            catchUp(ticks);
             super.update();
+        }
+    }
+    /**
+     * Attacks the player, or hides the enemy once it is dead. This changes the player, so enemies
+     * do it one after another in the order of the enemy list.
+     */
+    public void updateCombat() {
+        if (this.health > 0) {
             attackPlayer(controller.getPlayer());
         } else {
             System.out.println("Killed ");
             isVisible = false;
-            running = false;
         }
     }
     /**
-     * Performs the action of the enemy.
+     * Checks if the next move will ask the shared {@link Pathfinder} for a path, because the enemy
+     * chases the player from outside of the flow field. The pathfinder caches paths between calls,
+     * so such moves have to be made one at a time in a fixed order.
+     * @return true if the enemy needs the pathfinder to move
      */
-    @Override
-    public void doAction(){
-        if (isMoving && FPClocker++ >= 30) {
-            FPClocker = 0;
-            Random random = new Random();
-            int randInt = random.nextInt(4);
-            direction = Direction.values()[randInt];
+    public boolean needsPathfinder() {
+        if (!chasing || this.health <= 0) {
+            return false;
         }
+        FlowField flowField = controller.getFlowField();
+        int col = getTileColumn();
+        int row = getTileRow();
+        return flowField.getDirection(col, row) == null && flowField.getDistance(col, row) == FlowField.UNREACHED;
     }
     /**
-     * Stops the enemy thread.
+     * Performs the action of the enemy.
      */
-    public void stopThread() {
-        running = false;
-        if (thread != null) {
-            thread.interrupt();
+    @Override
+    public void doAction(){
+        if (chasing) {
+            chase(controller.getPlayer());
+        } else if (isMoving && FPClocker++ >= 30) {
+            FPClocker = 0;
+            direction = MOVE_DIRECTIONS[random.nextInt(MOVE_DIRECTIONS.length)];
         }
     }
     /**
@@ -105,18 +114,14 @@ public class Enemy extends Character implements Animatable, Collidable, Interact
         double runRange = 5 * cn.getTileSize();
         double attackRange = 0.8 * cn.getTileSize();
 
-        if (distance <= runRange) {
-            updateDirectionTowardsPlayer(player);
-
+        chasing = distance <= runRange;
+        if (chasing) {
             if (distance <= attackRange) {
                 currentFrame++;
 
                 if (currentFrame >= attackCooldown) {
-                    Platform.runLater(() -> {
-                        player.setHealth(player.getHealth() - damage);
-                        player.setHealth(player.getHealth() - damage);
-                        controller.getUI().updateHealth(player.getHealth());
-                    });
+                    player.setHealth(player.getHealth() - damage);
+                    player.setHealth(player.getHealth() - damage);
                     currentFrame = 0;
                 }
             } else {
@@ -124,6 +129,57 @@ public class Enemy extends Character implements Animatable, Collidable, Interact
             }
         }
     }
+    /**
+     * Turns the enemy toward the next tile on the shortest path to the player. The step is read
+     * from the shared {@link FlowField}; outside of the field the {@link Pathfinder} is asked instead.
+     * Before turning into a corridor the enemy first centres itself on its current tile,
+     * so that its collision box fits through. Without a path it heads straight for the player.
+     * @param player The player character.
+     */
+    private void chase(Player player) {
+        int col = getTileColumn();
+        int row = getTileRow();
+        int nextCol = col;
+        int nextRow = row;
+        FlowField flowField = controller.getFlowField();
+        Direction step = flowField.getDirection(col, row);
+        if (step != null) {
+            switch (step) {
+                case LEFT: nextCol--; break;
+                case RIGHT: nextCol++; break;
+                case UP: nextRow--; break;
+                case DOWN: nextRow++; break;
+            }
+        } else if (flowField.getDistance(col, row) == FlowField.UNREACHED) {
+            Pathfinder pathfinder = controller.getPathfinder();
+            int next = pathfinder.nextStep(col, row, player.getTileColumn(), player.getTileRow());
+            if (next != Pathfinder.NO_PATH) {
+                nextCol = next % pathfinder.getMapWidth();
+                nextRow = next / pathfinder.getMapWidth();
+            }
+        }
+        if (nextCol == col && nextRow == row) {
+            updateDirectionTowardsPlayer(player);
+            return;
+        }
+        int tileSize = cn.getTileSize();
+        int boxLeft = getX() + 15;
+        int boxTop = getY() + 25;
+        int boxSize = tileSize - 30;
+        if (nextCol != col) {
+            if (boxTop < row * tileSize || boxTop + boxSize >= (row + 1) * tileSize) {
+                direction = boxTop + boxSize / 2 < row * tileSize + tileSize / 2 ? Direction.DOWN : Direction.UP;
+            } else {
+                direction = nextCol > col ? Direction.RIGHT : Direction.LEFT;
+            }
+        } else {
+            if (boxLeft < col * tileSize || boxLeft + boxSize >= (col + 1) * tileSize) {
+                direction = boxLeft + boxSize / 2 < col * tileSize + tileSize / 2 ? Direction.RIGHT : Direction.LEFT;
+            } else {
+                direction = nextRow > row ? Direction.DOWN : Direction.UP;
+            }
+        }
+    }
     /**
      * Loads the images for the enemy.
      */
@@ -131,26 +187,26 @@ public class Enemy extends Character implements Animatable, Collidable, Interact
     private void loadImages() {
         try {
             upImages = new Image[] {
-                    new Image("/enemies/sprites/up1.png"),
-                    new Image("/enemies/sprites/up2.png")
+                    AssetManager.getInstance().getImage("/enemies/sprites/up1.png"),
+                    AssetManager.getInstance().getImage("/enemies/sprites/up2.png")
             };
             downImages = new Image[] {
-                    new Image("/enemies/sprites/down1.png"),
-                    new Image("/enemies/sprites/down2.png")
+                    AssetManager.getInstance().getImage("/enemies/sprites/down1.png"),
+                    AssetManager.getInstance().getImage("/enemies/sprites/down2.png")
             };
             leftImages = new Image[] {
-                    new Image("/enemies/sprites/left1.png"),
-                    new Image("/enemies/sprites/left2.png")
+                    AssetManager.getInstance().getImage("/enemies/sprites/left1.png"),
+                    AssetManager.getInstance().getImage("/enemies/sprites/left2.png")
             };
             rightImages = new Image[] {
-                    new Image("/enemies/sprites/right1.png"),
-                    new Image("/enemies/sprites/right2.png")
+                    AssetManager.getInstance().getImage("/enemies/sprites/right1.png"),
+                    AssetManager.getInstance().getImage("/enemies/sprites/right2.png")
             };
 
-            upStand = new Image("/enemies/sprites/upStand.png");
-            downStand = new Image("/enemies/sprites/downStand.png");
-            leftStand = new Image("/enemies/sprites/leftStand.png");
-            rightStand = new Image("/enemies/sprites/rightStand.png");
+            upStand = AssetManager.getInstance().getImage("/enemies/sprites/upStand.png");
+            downStand = AssetManager.getInstance().getImage("/enemies/sprites/downStand.png");
+            leftStand = AssetManager.getInstance().getImage("/enemies/sprites/leftStand.png");
+            rightStand = AssetManager.getInstance().getImage("/enemies/sprites/rightStand.png");
         } catch (Exception e){
             System.err.println("Image not found");
         }
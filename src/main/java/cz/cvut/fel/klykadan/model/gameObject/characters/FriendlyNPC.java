@@ -7,7 +7,6 @@ import javafx.scene.image.Image;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 /**
  * Represents a friendly non-playable character (NPC) in the game.
  */
@@ -61,9 +60,7 @@ public class FriendlyNPC extends Character implements Animatable, Collidable, In
     public void doAction(){
         if (isMoving && FPClocker++ >= 60) {
             FPClocker = 0;
-            Random random = new Random();
-            int randInt = random.nextInt(4);
-            direction = Direction.values()[randInt];
+            direction = MOVE_DIRECTIONS[random.nextInt(MOVE_DIRECTIONS.length)];
         }
     }
     /**
@@ -113,26 +110,26 @@ public class FriendlyNPC extends Character implements Animatable, Collidable, In
     private void loadImages() {
         try {
             upImages = new Image[] {
-                    new Image("/npc/sprites/up1.png"),
-                    new Image("/npc/sprites/up2.png")
+                    AssetManager.getInstance().getImage("/npc/sprites/up1.png"),
+                    AssetManager.getInstance().getImage("/npc/sprites/up2.png")
             };
             downImages = new Image[] {
-                    new Image("/npc/sprites/down1.png"),
-                    new Image("/npc/sprites/down2.png")
+                    AssetManager.getInstance().getImage("/npc/sprites/down1.png"),
+                    AssetManager.getInstance().getImage("/npc/sprites/down2.png")
             };
             leftImages = new Image[] {
-                    new Image("/npc/sprites/left1.png"),
-                    new Image("/npc/sprites/left2.png")
+                    AssetManager.getInstance().getImage("/npc/sprites/left1.png"),
+                    AssetManager.getInstance().getImage("/npc/sprites/left2.png")
             };
             rightImages = new Image[] {
-                    new Image("/npc/sprites/right1.png"),
-                    new Image("/npc/sprites/right2.png")
+                    AssetManager.getInstance().getImage("/npc/sprites/right1.png"),
+                    AssetManager.getInstance().getImage("/npc/sprites/right2.png")
             };
 
-            upStand = new Image("/npc/sprites/upStand.png");
-            downStand = new Image("/npc/sprites/downStand.png");
-            leftStand = new Image("/npc/sprites/leftStand.png");
-            rightStand = new Image("/npc/sprites/rightStand.png");
+            upStand = AssetManager.getInstance().getImage("/npc/sprites/upStand.png");
+            downStand = AssetManager.getInstance().getImage("/npc/sprites/downStand.png");
+            leftStand = AssetManager.getInstance().getImage("/npc/sprites/leftStand.png");
+            rightStand = AssetManager.getInstance().getImage("/npc/sprites/rightStand.png");
         } catch (Exception e){
             System.err.println("Image not found");
         }
@@ -1,21 +1,32 @@
 package cz.cvut.fel.klykadan.model.gameObject.characters;
 
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import cz.cvut.fel.klykadan.model.gameObject.items.Item;
 
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 /**
- * Represents the inventory of the player.
+ * Represents the inventory of the player. Every change of its content is published as
+ * {@link ModelEvents.Change#INVENTORY}.
  */
 public class Inventory {
     private Map<String, List<Item>> items; //klic a hodnoty se stejnym jmenem
     private Set<UUID> removedItems;
+    private final ModelEvents events;
     private static final Logger LOGGER = Logger.getLogger(Inventory.class.getName());
 
     public Inventory() {
+        this(new ModelEvents());
+    }
+    /**
+     * Constructs an empty inventory.
+     * @param events The events its changes are published to.
+     */
+    public Inventory(ModelEvents events) {
         items = new HashMap<>();
         removedItems = new HashSet<>();
+        this.events = events;
     }
     /**
      * Adds an item to the inventory.
@@ -27,6 +38,7 @@ public class Inventory {
             items.put(item.getName(), new ArrayList<>()); //pridavam list pro items se stejnym jmenem
         }
         items.get(item.getName()).add(item);
+        events.publish(ModelEvents.Change.INVENTORY);
 
         LOGGER.log(Level.INFO, "Item added: {0}. Count: {1}", new Object[]{item.getName(), getItemCount(item.getName())});
     }
@@ -36,6 +48,7 @@ public class Inventory {
      */
     public void clear() {
         items.clear();
+        events.publish(ModelEvents.Change.INVENTORY);
         LOGGER.info("Inventory has been cleared");
     }
     /**
@@ -64,6 +77,7 @@ public class Inventory {
             if (itemList.isEmpty()) {
                 removedItems.add(item.getId());
             }
+            events.publish(ModelEvents.Change.INVENTORY);
             LOGGER.log(Level.INFO, "Item removed: {0}. Count: {1}", new Object[]{item.getName(), getItemCount(item.getName())});
         } else {
             LOGGER.log(Level.WARNING, "No {0} to remove.", item.getName());
@@ -88,7 +102,8 @@ public class Inventory {
      * @return The count of the item in the inventory.
      */
     public int getItemCount(String itemName) {
-        return items.getOrDefault(itemName, new ArrayList<>()).size();
+        List<Item> itemList = items.get(itemName);
+        return itemList == null ? 0 : itemList.size();
     }
     /**
      * Gets all items in the inventory.
@@ -1,7 +1,7 @@
 package cz.cvut.fel.klykadan.model.gameObject.characters;
 
 import cz.cvut.fel.klykadan.controller.*;
-import cz.cvut.fel.klykadan.model.gameObject.Bullet;
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import cz.cvut.fel.klykadan.model.gameObject.GameObject;
 import cz.cvut.fel.klykadan.model.gameObject.items.*;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
@@ -9,8 +9,6 @@ import cz.cvut.fel.klykadan.view.UI;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 /**
@@ -29,6 +27,7 @@ public class Player extends Character implements Animatable {
     private int defaultSteps = 12;
     private int steps = defaultSteps;
     private int currentLevel;
+    private FriendlyNPC dialoguePartner;
     private static final Logger LOGGER = Logger.getLogger(Player.class.getName());
     /**
      * Constructs a Player object with the specified parameters.
@@ -44,7 +43,7 @@ public class Player extends Character implements Animatable {
         this.input = input;
         this.maxHealth = health;
         this.audioManager = audioManager;
-        this.inventory = new Inventory();
+        this.inventory = new Inventory(controller.getEvents());
         currentLevel = 1;
 
         setDefaultValues();
@@ -77,6 +76,7 @@ public class Player extends Character implements Animatable {
         screenPositionY = cn.getScreenHeight()/2 - (cn.getTileSize()/2);
         Xposition = cn.getTileSize() * 6;
         Yposition = cn.getTileSize() * 35;
+        storePreviousPosition();
     }
 
     /**
@@ -85,26 +85,26 @@ public class Player extends Character implements Animatable {
 
     private void loadImages() {
         upImages = new Image[] {
-                new Image("/player/up1.png"),
-                new Image("/player/up2.png")
+                AssetManager.getInstance().getImage("/player/up1.png"),
+                AssetManager.getInstance().getImage("/player/up2.png")
         };
         downImages = new Image[] {
-                new Image("/player/down1.png"),
-                new Image("/player/down2.png")
+                AssetManager.getInstance().getImage("/player/down1.png"),
+                AssetManager.getInstance().getImage("/player/down2.png")
         };
         leftImages = new Image[] {
-                new Image("/player/left1.png"),
-                new Image("/player/left2.png")
+                AssetManager.getInstance().getImage("/player/left1.png"),
+                AssetManager.getInstance().getImage("/player/left2.png")
         };
         rightImages = new Image[] {
-                new Image("/player/right1.png"),
-                new Image("/player/right2.png")
+                AssetManager.getInstance().getImage("/player/right1.png"),
+                AssetManager.getInstance().getImage("/player/right2.png")
         };
 
-        upStand = new Image("/player/upStand.png");
-        downStand = new Image("/player/downStand.png");
-        leftStand = new Image("/player/leftStand.png");
-        rightStand = new Image("/player/rightStand.png");
+        upStand = AssetManager.getInstance().getImage("/player/upStand.png");
+        downStand = AssetManager.getInstance().getImage("/player/downStand.png");
+        leftStand = AssetManager.getInstance().getImage("/player/leftStand.png");
+        rightStand = AssetManager.getInstance().getImage("/player/rightStand.png");
     }
     /**
      * Updates the player's state.
@@ -114,7 +114,6 @@ public class Player extends Character implements Animatable {
         currentLevel = getCurrentLevel();
         boolean isMoving = input.isMoving();
         sprite.updateSprite(isMoving, input.isShiftPressed());
-        controller.getUI().updateWeaponUI();
         int actualSpeed = speed;
 
         if(input.isShiftPressed()){
@@ -174,10 +173,9 @@ public class Player extends Character implements Animatable {
                 }
             }
         }
-        for(FriendlyNPC npc : controller.getNpcs()){
-            if (npc != null && !isInteractDistance(npc)) {
-                npc.stopInteraction();
-            }
+        if (dialoguePartner != null && !isInteractDistance(dialoguePartner)) {
+            dialoguePartner.stopInteraction();
+            dialoguePartner = null;
         }
         if(this.health <= 0){
             controller.getStateController().setCurrentState(GameStateController.State.GAME_OVER);
@@ -199,28 +197,19 @@ public class Player extends Character implements Animatable {
     }
 
     /**
-     * Interacts with objects in the game world.
+     * Interacts with the nearest interactable object or NPC within a tile, found by the {@link ProximityIndex}.
+     * Talking to another NPC ends the conversation with the previous one, so only one NPC waits for the player.
      */
     private void interactWithObjects(){
-        GameObject nearestObject = null;
-        double minDistance = Double.MAX_VALUE;
-
-        List<GameObject> allInteractables = new ArrayList<>(controller.getGameObjects());
-        allInteractables.addAll(controller.getNpcs());
-
-        for(GameObject obj : allInteractables){
-            if(obj.isInteractable() && isNear(obj)){
-                double distance = Math.sqrt(Math.pow(obj.getXposition() - this.getX(),2) +
-                        Math.pow(obj.getYposition() - this.getY(),2)); //Euclidean distance between two points
-
-                if(distance < minDistance){
-                    minDistance = distance;
-                    nearestObject = obj;
-                }
-            }
-        }
+        GameObject nearestObject = controller.getProximity().findInteractable(getX(), getY(), cn.getTileSize());
         if (nearestObject != null) {
+            if (nearestObject instanceof FriendlyNPC && dialoguePartner != null && dialoguePartner != nearestObject) {
+                dialoguePartner.stopInteraction();
+            }
             nearestObject.interact(this);
+            if (nearestObject instanceof FriendlyNPC) {
+                dialoguePartner = (FriendlyNPC) nearestObject;
+            }
             if(nearestObject.isCollectible() && hasItem("Gun")){
                 controller.removeGameObject(nearestObject);
             }
@@ -228,30 +217,16 @@ public class Player extends Character implements Animatable {
             LOGGER.info("No items to interact with");
         }
     }
-    /**
-     * Checks if the player is near a game object.
-     * @param obj The game object to check.
-     * @return True if the player is near the object, false otherwise.
-     */
-    private boolean isNear(GameObject obj){
-        int threshold = cn.getTileSize(); //max distance to interact
-
-        int distanceX = Math.abs(obj.getXposition() - this.getX());
-        int distanceY = Math.abs(obj.getYposition() - this.getY());
-        boolean isCloseByX = distanceX <= threshold;
-        boolean isCloseByY = distanceY <= threshold;
-        boolean isNear = isCloseByY && isCloseByX;
-        return isNear;
-    }
     /**
      * Checks if the player is within interaction distance of a friendly NPC.
      * @param npc The friendly NPC to check.
      * @return True if the player is within interaction distance, false otherwise.
      */
     private boolean isInteractDistance(FriendlyNPC npc){
-        int distanceThreshold = cn.getTileSize() * 5;
-        double distance = Math.sqrt(Math.pow(npc.getXposition() - this.getX(), 2) + Math.pow(npc.getYposition() - this.getY(), 2));
-        return distance <= distanceThreshold;
+        long distanceThreshold = cn.getTileSize() * 5L;
+        long dx = npc.getXposition() - this.getX();
+        long dy = npc.getYposition() - this.getY();
+        return dx * dx + dy * dy <= distanceThreshold * distanceThreshold;
     }
     /**
      * Picks up an item and adds it to the player's inventory.
@@ -302,8 +277,10 @@ public class Player extends Character implements Animatable {
     }
 
     public void setHealth(int health) {
-        this.health = health;
-        controller.getUI().updateHealth(this.health);
+        if (this.health != health) {
+            this.health = health;
+            controller.getEvents().publish(ModelEvents.Change.HEALTH);
+        }
     }
     public void setWeapon(Weapon weapon){
         this.weapon = weapon;
@@ -336,10 +313,12 @@ public class Player extends Character implements Animatable {
 
     public void setX(int x) {
         this.Xposition = x;
+        this.previousXposition = x;
         updateCollisionBox();
     }
     public void setY(int y) {
         this.Yposition = y;
+        this.previousYposition = y;
         updateCollisionBox();
     }
     public int getCurrentLevel() {
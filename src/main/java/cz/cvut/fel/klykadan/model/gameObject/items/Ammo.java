@@ -1,5 +1,7 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import javafx.scene.image.Image;
 /**
@@ -18,7 +20,7 @@ public class Ammo extends Item{
      * @param sizeY The size of the Ammo item along the Y axis.
      */
     public Ammo(int initialX, int initialY, int sizeX, int sizeY){
-        this(new Image("/textures/weapon/ammo.png"), initialX, initialY, sizeX, sizeY);
+        this(AssetManager.getInstance().getImage("/textures/weapon/ammo.png"), initialX, initialY, sizeX, sizeY);
     }
     /**
      * Constructs an Ammo object with the specified image, position, and size.
@@ -65,6 +67,7 @@ public class Ammo extends Item{
             superWeapon.reload(superCount);
         }
         player.useItem("Ammo");
+        player.getController().getEvents().publish(ModelEvents.Change.AMMO);
         player.getAudioManager().playReloadSound();
     }
     @Override
@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import javafx.scene.image.Image;
 /**
@@ -15,7 +16,7 @@ public class Detail extends Item{
      * @param sizeY The size of the Detail item along the Y axis.
      */
     public Detail(int initialX, int initialY, int sizeX, int sizeY) {
-        this(new Image("/textures/detail/detail.png"), initialX, initialY, sizeX, sizeY);
+        this(AssetManager.getInstance().getImage("/textures/detail/detail.png"), initialX, initialY, sizeX, sizeY);
     }
     /**
      * Constructs a Detail object with the specified image, position, and size.
@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import javafx.scene.image.Image;
 /**
@@ -17,7 +18,7 @@ public class Heal extends Item{
      */
 
     public Heal(int initialX, int initialY, int sizeX, int sizeY) {
-        this(new Image("/textures/heal/heal.png"), initialX, initialY, sizeX, sizeY);
+        this(AssetManager.getInstance().getImage("/textures/heal/heal.png"), initialX, initialY, sizeX, sizeY);
     }
     /**
      * Constructs a Heal object with the specified image, position, and size.
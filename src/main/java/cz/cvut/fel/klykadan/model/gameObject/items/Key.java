@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.controller.GameController;
 import cz.cvut.fel.klykadan.model.gameObject.CollisionBox;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
@@ -21,7 +22,7 @@ public class Key extends Item{
      */
 
     public Key(int initialX, int initialY, int sizeX, int sizeY) {
-        this(new Image("/textures/keys/doorKey.png"), initialX, initialY, sizeX, sizeY);
+        this(AssetManager.getInstance().getImage("/textures/keys/doorKey.png"), initialX, initialY, sizeX, sizeY);
     }
 
     /**
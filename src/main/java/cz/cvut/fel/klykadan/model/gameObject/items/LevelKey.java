@@ -1,5 +1,6 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import javafx.application.Platform;
 import javafx.scene.image.Image;
@@ -15,7 +16,7 @@ public class LevelKey extends Key {
      * @param sizeY The size of the key along the Y axis.
      */
     public LevelKey(int initialX, int initialY, int sizeX, int sizeY) {
-        super(new Image("/textures/keys/levelKey.png"), initialX, initialY, sizeX, sizeY);
+        super(AssetManager.getInstance().getImage("/textures/keys/levelKey.png"), initialX, initialY, sizeX, sizeY);
         this.name = "LevelKey";
     }
     @Override
@@ -23,11 +24,15 @@ public class LevelKey extends Key {
         return false;
     }
 
+    /**
+     * Picks up the key and starts preparing the next level, which the key is going to open.
+     * @param player The player picking up the key.
+     */
     @Override
     public void interact(Player player) {
         player.pickItem(this);
         this.setVisible(false);
         player.getAudioManager().playActionSound();
-
+        player.getController().getLevelController().prefetch(player.getCurrentLevel() + 1);
     }
 }
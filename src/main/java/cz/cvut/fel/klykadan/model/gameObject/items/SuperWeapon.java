@@ -1,20 +1,19 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.controller.Direction;
 import cz.cvut.fel.klykadan.controller.GameController;
-import cz.cvut.fel.klykadan.model.gameObject.Bullet;
+import cz.cvut.fel.klykadan.controller.ProjectileSystem;
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
 import javafx.scene.image.Image;
 
-import java.util.ArrayList;
-import java.util.List;
 /**
  * A class representing a SuperWeapon item in the game.
  */
 public class SuperWeapon extends Item{
     private GUICoinfig cn;
-    private List<Bullet> bullets;
     private int ammoCount;
     private int fireRate = 0;
     /**
@@ -22,15 +21,15 @@ public class SuperWeapon extends Item{
      * @param cn The GUI configuration object.
      */
     public SuperWeapon(GUICoinfig cn) {
-        super("SuperWeapon", new Image("/textures/weapon/gun3.png"), 0,0,0,0);
+        super("SuperWeapon", AssetManager.getInstance().getImage("/textures/weapon/gun3.png"), 0,0,0,0);
         this.cn = cn;
-        this.bullets = new ArrayList<>();
         this.ammoCount = 150;
 
         setVisible(true);
     }
     /**
      * Performs an attack action with the super weapon.
+     * A shot dropped because the projectile pool is full costs no ammo.
      * @param player The player performing the attack.
      * @param controller The game controller managing the game.
      */
@@ -38,17 +37,15 @@ public class SuperWeapon extends Item{
         if(ammoCount > 0){
             if(fireRate++ >= 2){
                 fireRate = 0;
-                controller.getAudioManager().playShootSound();
                 int bulletX = player.getXposition();
                 int bulletY = player.getYposition();
                 Direction direction = player.getDirection();
 
-                Bullet bullet = new Bullet(bulletX, bulletY, direction, cn, controller);
-                controller.getGameObjects().add(bullet);
-                bullets.add(bullet);
-                ammoCount--;
-
-                System.out.println("Ammo count is: " + ammoCount);
+                if (controller.getProjectiles().spawn(bulletX, bulletY, direction, ProjectileSystem.OWNER_PLAYER)) {
+                    controller.getAudioManager().playShootSound();
+                    ammoCount--;
+                    controller.getEvents().publish(ModelEvents.Change.AMMO);
+                }
             }
         } else {
             controller.getAudioManager().playEmptySound();
@@ -1,20 +1,19 @@
 package cz.cvut.fel.klykadan.model.gameObject.items;
 
+import cz.cvut.fel.klykadan.controller.AssetManager;
 import cz.cvut.fel.klykadan.controller.Direction;
 import cz.cvut.fel.klykadan.controller.GameController;
-import cz.cvut.fel.klykadan.model.gameObject.Bullet;
+import cz.cvut.fel.klykadan.controller.ProjectileSystem;
+import cz.cvut.fel.klykadan.model.ModelEvents;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.view.GUICoinfig;
 import javafx.scene.image.Image;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class Weapon extends Item {
     private GUICoinfig cn;
-    private List<Bullet> bullets;
     private int ammoCount;
     private double fireRate;
     private static final Logger LOGGER = Logger.getLogger(Weapon.class.getName());
@@ -27,7 +26,7 @@ public class Weapon extends Item {
      * @param sizeY The height of the weapon.
      */
     public Weapon(GUICoinfig cn, int initialX, int initialY, int sizeX, int sizeY) {
-        this(new Image("/textures/weapon/gun2.png"), cn, initialX, initialY, sizeX, sizeY);
+        this(AssetManager.getInstance().getImage("/textures/weapon/gun2.png"), cn, initialX, initialY, sizeX, sizeY);
         this.fireRate = 4;
     }
 
@@ -43,13 +42,13 @@ public class Weapon extends Item {
     public Weapon(Image image, GUICoinfig cn, int initialX, int initialY, int sizeX, int sizeY) {
         super("Gun", image, initialX, initialY, sizeX, sizeY);
         this.cn = cn;
-        this.bullets = new ArrayList<>();
         this.ammoCount = 15;
 
         setVisible(true);
     }
     /**
      * Attacks with the weapon, spawning bullets and reducing ammo count.
+     * A shot dropped because the projectile pool is full costs no ammo.
      * @param player The player performing the attack.
      * @param controller The game controller managing game objects.
      */
@@ -57,16 +56,18 @@ public class Weapon extends Item {
         if(ammoCount > 0){
             if(fireRate++ >= 10){
                 fireRate = 0;
-                controller.getAudioManager().playShootSound();
                 int bulletX = player.getXposition();
                 int bulletY = player.getYposition();
                 Direction direction = player.getDirection();
 
-                Bullet bullet = new Bullet(bulletX, bulletY, direction, cn, controller);
-                controller.getGameObjects().add(bullet);
-                bullets.add(bullet);
-                ammoCount--;
-                LOGGER.info("Ammo count is: " + ammoCount);
+                if (controller.getProjectiles().spawn(bulletX, bulletY, direction, ProjectileSystem.OWNER_PLAYER)) {
+                    controller.getAudioManager().playShootSound();
+                    ammoCount--;
+                    controller.getEvents().publish(ModelEvents.Change.AMMO);
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "Ammo count is: {0}", ammoCount);
+                    }
+                }
             }
         } else {
             controller.getAudioManager().playEmptySound();
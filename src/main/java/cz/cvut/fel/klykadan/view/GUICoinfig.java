@@ -6,12 +6,30 @@ public class GUICoinfig {
     private int maxScreenRow = 12;
     private int screenWidth = tileSize * maxScreenCol;
     private int screenHeight = tileSize * maxScreenRow;
-    private int FPS = 60;
-    private int LevelSizeX = 60;
-    private int LevelSizeY = 40;
-    private int LevelWidth = LevelSizeX * tileSize;
-    private int LevelHeight = LevelSizeY * tileSize;
+    private int tickRate = 60;
+    private int maxTicksPerFrame = 5;
+    private boolean parallelSimulation = true;
+    private boolean threadedSimulation = true;
+    private int LevelSizeX;
+    private int LevelSizeY;
+    private int LevelWidth;
+    private int LevelHeight;
 
+    public GUICoinfig() {
+        this(60, 40);
+    }
+    /**
+     * Creates a configuration for a level of the given size, for example for generated worlds in benchmarks.
+     *
+     * @param levelSizeX the width of the level in tiles
+     * @param levelSizeY the height of the level in tiles
+     */
+    public GUICoinfig(int levelSizeX, int levelSizeY) {
+        this.LevelSizeX = levelSizeX;
+        this.LevelSizeY = levelSizeY;
+        this.LevelWidth = levelSizeX * tileSize;
+        this.LevelHeight = levelSizeY * tileSize;
+    }
 
     public int getScreenWidth() {
         return screenWidth;
@@ -21,8 +39,40 @@ public class GUICoinfig {
         return screenHeight;
     }
 
-    public int getFPS(){
-        return FPS;
+    public int getTickRate(){
+        return tickRate;
+    }
+
+    public int getMaxTicksPerFrame() {
+        return maxTicksPerFrame;
+    }
+
+    /**
+     * Returns whether independent systems of a tick run on several cores. A parallel tick gives the same
+     * result as a serial one, so this only trades CPU time for latency.
+     *
+     * @return true if the simulation uses the common fork-join pool
+     */
+    public boolean isParallelSimulation() {
+        return parallelSimulation;
+    }
+
+    public void setParallelSimulation(boolean parallelSimulation) {
+        this.parallelSimulation = parallelSimulation;
+    }
+
+    /**
+     * Returns whether the game is simulated on its own thread instead of in the pulses of the JavaFX thread,
+     * which then only draws the latest render snapshot. Headless games are always simulated by their caller.
+     *
+     * @return true if the simulation runs on a separate thread
+     */
+    public boolean isThreadedSimulation() {
+        return threadedSimulation;
+    }
+
+    public void setThreadedSimulation(boolean threadedSimulation) {
+        this.threadedSimulation = threadedSimulation;
     }
 
     public int getTileSize() {
@@ -66,17 +66,17 @@ public class GameOverUI {
         startMenuButton.setVisible(false);
 
 
-        startNewGameButton.setOnAction(e -> {
+        startNewGameButton.setOnAction(e -> controller.submit(() -> {
             controller.resetGame();
             controller.getStateController().setCurrentState(GameStateController.State.PLAY);
-        });
-        loadGameButton.setOnAction(e -> {
+        }));
+        loadGameButton.setOnAction(e -> controller.submit(() -> {
             controller.loadGame();
             controller.getStateController().setCurrentState(GameStateController.State.PLAY);
-        });
-        startMenuButton.setOnAction(e -> {
+        }));
+        startMenuButton.setOnAction(e -> controller.submit(() -> {
             controller.getStateController().setCurrentState(GameStateController.State.START);
-        });
+        }));
     }
     private void styleButton(Button button) {
         Font pixelFontsmall = Font.loadFont(getClass().getResourceAsStream("/fonts/pixel.ttf"), 16);
@@ -114,10 +114,11 @@ public class GameOverUI {
         gamePanel.requestFocus();
     }
     /**
-     * Updates the game over UI based on the current game state.
+     * Updates the game over UI based on the current game state. Called on the JavaFX thread.
+     * @param state The current game state.
      */
-    public void updateGameOverUI() {
-        switch (controller.getStateController().getCurrentState()) {
+    public void updateGameOverUI(GameStateController.State state) {
+        switch (state) {
             case START:
                 hideGameOverMenu();
                 break;
@@ -1,11 +1,13 @@
 package cz.cvut.fel.klykadan.view;
 
 import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.GameStateController;
 import cz.cvut.fel.klykadan.controller.InputHandler;
 import cz.cvut.fel.klykadan.model.CraftingRecipe;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Inventory;
 import cz.cvut.fel.klykadan.model.gameObject.items.Item;
 import cz.cvut.fel.klykadan.model.gameObject.items.SuperWeapon;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
@@ -16,6 +18,8 @@ import java.util.List;
 import java.util.Map;
 /**
  * The InventoryUI class handles the display and interaction with the player's inventory.
+ * Like the {@link UI}, it reads the inventory on the thread that simulates the game and changes its nodes
+ * on the JavaFX thread.
  */
 public class InventoryUI {
     private Pane gamePanel;
@@ -26,7 +30,8 @@ public class InventoryUI {
     private List<Rectangle> itemSlots;
     private List<ImageView> itemImages;
     private Rectangle cursor;
-    private Rectangle currentSlot;
+    private int cursorIndex = -1;
+    private List<Image> shownItems = new ArrayList<>();
     private int numItemSlots = 15;
     private double paneWidth;
     private double paneHeight;
@@ -114,7 +119,7 @@ public class InventoryUI {
      */
     public void updateCursorPosition() {
 
-        int index = itemSlots.indexOf(currentSlot);
+        int index = cursorIndex;
         int numColumns = 5;
         if (inputHandler.isUpPressed() && index >= numColumns) {
             index -= numColumns;
@@ -129,10 +134,13 @@ public class InventoryUI {
             index++;
         }
 
-        if (index >= 0 && index < itemSlots.size()) {
-            currentSlot = itemSlots.get(index);
-            cursor.setX(currentSlot.getX());
-            cursor.setY(currentSlot.getY());
+        if (index >= 0 && index < itemSlots.size() && index != cursorIndex) {
+            cursorIndex = index;
+            Rectangle currentSlot = itemSlots.get(index);
+            UI.runOnFxThread(() -> {
+                cursor.setX(currentSlot.getX());
+                cursor.setY(currentSlot.getY());
+            });
         }
     }
 
@@ -141,17 +149,24 @@ public class InventoryUI {
      */
     public void updateInventory() {
         Map<String, List<Item>> inventoryItems = controller.getPlayer().getInventory().getItems();
-        int index = 0;
+        List<Image> images = new ArrayList<>();
         for (Map.Entry<String, List<Item>> entry : inventoryItems.entrySet()) {  //vsechny ty spojky klic hodnota pomoci entry
             List<Item> items = entry.getValue();
             if (!items.isEmpty()) {
-                Item item = items.get(0);
-                ImageView imageView = itemImages.get(index);
-                imageView.setImage(item.getImage());
-                imageView.setVisible(isVisible);
-                index++;
+                images.add(items.get(0).getImage());
             }
         }
+        UI.runOnFxThread(() -> showItems(images));
+    }
+
+    private void showItems(List<Image> images) {
+        shownItems = images;
+        int index = 0;
+        for (; index < images.size() && index < itemImages.size(); index++) {
+            ImageView imageView = itemImages.get(index);
+            imageView.setImage(images.get(index));
+            imageView.setVisible(isVisible);
+        }
         for (int i = index; i < itemImages.size(); i++) {
             itemImages.get(i).setVisible(false);
         }
@@ -189,7 +204,7 @@ public class InventoryUI {
         for (ImageView image : itemImages){
             image.setVisible(true);
         }
-        updateInventory();
+        showItems(shownItems);
     }
     private void hideInventory(){
         isVisible = false;
@@ -203,11 +218,18 @@ public class InventoryUI {
         }
     }
     /**
-     * Updates the inventory UI based on the current game state.
+     * Moves the cursor and crafts while the inventory is open. Called every tick in the inventory state.
      */
-    public void updateInventoryUI() {
+    public void update() {
         updateCursorPosition();
-        switch (controller.getStateController().getCurrentState()) {
+        craft();
+    }
+    /**
+     * Updates the inventory UI based on the current game state. Called on the JavaFX thread.
+     * @param state The current game state.
+     */
+    public void updateInventoryUI(GameStateController.State state) {
+        switch (state) {
             case START:
                 hideInventory();
                 break;
@@ -221,10 +243,9 @@ public class InventoryUI {
                 break;
             case INVENTORY:
                 showInventory();
-                craft();
                 break;
         }
-        updateInventory();
+        showItems(shownItems);
     }
 }
 
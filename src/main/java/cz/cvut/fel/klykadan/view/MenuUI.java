@@ -89,19 +89,22 @@ public class MenuUI {
         startButton.setVisible(false);
 
 
-        playMenuButton.setOnAction(e -> {
+        playMenuButton.setOnAction(e -> controller.submit(() -> {
             controller.getStateController().setCurrentState(GameStateController.State.PLAY);
-        });
-        loadMenuButton.setOnAction(e -> {
+        }));
+        loadMenuButton.setOnAction(e -> controller.submit(() -> {
             controller.loadGame();
             controller.getStateController().setCurrentState(GameStateController.State.PLAY);
-        });
-        saveButton.setOnAction(e -> {
-            controller.saveGame();});
-
-        startButton.setOnAction(e -> {
+        }));
+        saveButton.setOnAction(e -> controller.submit(() -> {
+            if (!controller.saveGame()) {
+                controller.getUI().showDialogue("A streamed level cannot be saved.");
+            }
+        }));
+
+        startButton.setOnAction(e -> controller.submit(() -> {
             controller.getStateController().setCurrentState(GameStateController.State.START);
-        });
+        }));
     }
     private void setupStartScreen() {
         background = new ImageView(new Image("backgrounds/menu1p.png"));
@@ -139,14 +142,14 @@ public class MenuUI {
         gamePanel.getChildren().addAll(newGameButton, loadButton, exitButton);
 
 
-        newGameButton.setOnAction(e -> {
+        newGameButton.setOnAction(e -> controller.submit(() -> {
             controller.resetGame();
             controller.getStateController().setCurrentState(GameStateController.State.PLAY);
-        });
-        loadButton.setOnAction(e -> {
+        }));
+        loadButton.setOnAction(e -> controller.submit(() -> {
             controller.loadGame();
             controller.getStateController().setCurrentState(GameStateController.State.PLAY);
-        });
+        }));
         exitButton.setOnAction(e -> {
             Platform.exit();
             controller.clearEnemies();
@@ -220,10 +223,11 @@ public class MenuUI {
     }
 
     /**
-     * Updates the menu UI based on the current game state.
+     * Updates the menu UI based on the current game state. Called on the JavaFX thread.
+     * @param state The current game state.
      */
-    public void updateMenuUI() {
-        switch (controller.getStateController().getCurrentState()) {
+    public void updateMenuUI(GameStateController.State state) {
+        switch (state) {
             case START:
                 showStartMenu();
                 hideMenu();
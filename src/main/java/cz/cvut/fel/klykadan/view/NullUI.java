@@ -0,0 +1,42 @@
+package cz.cvut.fel.klykadan.view;
+
+import cz.cvut.fel.klykadan.model.ModelEvents;
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+
+/**
+ * A user interface that draws nothing, used when the game runs headless.
+ */
+public class NullUI extends UI {
+
+    @Override
+    public void showDialogue(String text) {
+    }
+
+    @Override
+    public void updateHealth(int health) {
+    }
+
+    @Override
+    public void updateWeaponUI() {
+    }
+
+    @Override
+    public void hideDialogue() {
+    }
+
+    @Override
+    public void onModelChanged(ModelEvents.Change change) {
+    }
+
+    @Override
+    public void update() {
+    }
+
+    @Override
+    public void updatePrompt(GameObject target) {
+    }
+
+    @Override
+    public void updateUI() {
+    }
+}
@@ -1,10 +1,14 @@
 package cz.cvut.fel.klykadan.view;
 
 import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.GameStateController;
 import cz.cvut.fel.klykadan.controller.InputHandler;
+import cz.cvut.fel.klykadan.model.ModelEvents;
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
 import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
 import cz.cvut.fel.klykadan.model.gameObject.items.SuperWeapon;
 import cz.cvut.fel.klykadan.model.gameObject.items.Weapon;
+import javafx.application.Platform;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
@@ -16,8 +20,17 @@ import javafx.scene.text.Font;
 /**
  * The UI class handles the user interface elements of the game.
  * It includes methods to set up and update the dialogue, health, and weapon UI components.
+ * The UI listens to the {@link ModelEvents} of the game and refreshes only the parts whose values changed,
+ * so a tick in which nothing shown changes does not touch the scene graph.
+ * <p>
+ * The game may be simulated on its own thread, while the scene graph may only be changed on the JavaFX thread.
+ * The UI therefore reads the values it shows on the thread that reports the change and hands only the changes
+ * of the nodes to the JavaFX thread, so it never reads the game model while a tick changes it.
  */
-public class UI {
+public class UI implements ModelEvents.Listener {
+    private static final int NO_WEAPON = 0;
+    private static final int GUN = 1;
+    private static final int SUPER_WEAPON = 2;
     private Pane gamePanel;
     private GUICoinfig cn;
     private Label dialogueLabel;
@@ -25,12 +38,17 @@ public class UI {
     private ImageView weaponIcon;
     private ImageView superWeaponIcon;
     private Label ammoLabel;
+    private Label promptLabel;
     private Rectangle dialogueBackground;
     private GameController controller;
     private InputHandler inputHandler;
     private InventoryUI inventoryUI;
     private GameOverUI gameOverUI;
     private MenuUI menuUI;
+    private int shownHealth = Integer.MIN_VALUE;
+    private int shownWeapon = NO_WEAPON;
+    private int shownAmmo;
+    private GameObject shownPromptTarget;
     /**
      * Constructs the UI class with the specified parameters.
      * @param gamePanel The game panel.
@@ -48,10 +66,17 @@ public class UI {
         gameOverUI = new GameOverUI(gamePanel, cn, controller);
         drawScreens();
         updateUI();
+        controller.getEvents().addListener(this);
+    }
+    /**
+     * Constructs a UI without any JavaFX nodes, used by {@link NullUI}.
+     */
+    protected UI() {
     }
     private void drawScreens() {
         controller.getStateController().update();
         setupDialogueUI();
+        setupPromptUI();
         setupHealthUI();
         setupWeaponUI();
     }
@@ -107,14 +132,25 @@ public class UI {
         dialogueLabel.setVisible(false);
         gamePanel.getChildren().add(dialogueLabel);
     }
+    private void setupPromptUI() {
+        promptLabel = new Label();
+        promptLabel.setTextFill(Color.WHITE);
+        promptLabel.setFont(new Font(16));
+        promptLabel.setLayoutX(cn.getScreenWidth() / 2.0 - 60);
+        promptLabel.setLayoutY(cn.getScreenHeight() / 2.0 + cn.getTileSize());
+        promptLabel.setVisible(false);
+        gamePanel.getChildren().add(promptLabel);
+    }
     /**
      * Shows a dialogue with the specified text.
      * @param text The dialogue text to display.
      */
     public void showDialogue(String text) {
-        dialogueLabel.setText(text);
-        dialogueLabel.setVisible(true);
-        dialogueBackground.setVisible(true);
+        runOnFxThread(() -> {
+            dialogueLabel.setText(text);
+            dialogueLabel.setVisible(true);
+            dialogueBackground.setVisible(true);
+        });
     }
 
     /**
@@ -122,7 +158,12 @@ public class UI {
      * @param health The current health of the player.
      */
     public void updateHealth(int health) {
-        healthLabel.setText("" + health + " HP");
+        runOnFxThread(() -> {
+            if (health != shownHealth) {
+                shownHealth = health;
+                healthLabel.setText("" + health + " HP");
+            }
+        });
     }
 
 
@@ -134,35 +175,109 @@ public class UI {
         Weapon weapon = player.getWeapon();
         SuperWeapon superWeapon = player.getSuperWeapon();
 
+        int shown = NO_WEAPON;
+        int ammo = 0;
         if (player.getInventory().hasItem("SuperWeapon") && superWeapon != null ) {
-            superWeaponIcon.setVisible(true);
-            weaponIcon.setVisible(false);
-            ammoLabel.setText(superWeapon.getAmmoCount() + " SP");
-            ammoLabel.setVisible(true);
+            shown = SUPER_WEAPON;
+            ammo = superWeapon.getAmmoCount();
         } else if (player.getInventory().hasItem("Gun") && weapon != null) {
-            weaponIcon.setVisible(true);
-            superWeaponIcon.setVisible(false);
-            ammoLabel.setText(weapon.getAmmoCount() + " REG");
-            ammoLabel.setVisible(true);
-        } else {
-            weaponIcon.setVisible(false);
-            superWeaponIcon.setVisible(false);
-            ammoLabel.setVisible(false);
+            shown = GUN;
+            ammo = weapon.getAmmoCount();
         }
+        int weaponShown = shown;
+        int ammoShown = ammo;
+        runOnFxThread(() -> showWeapon(weaponShown, ammoShown));
+    }
+
+    private void showWeapon(int shown, int ammo) {
+        weaponIcon.setVisible(shown == GUN);
+        superWeaponIcon.setVisible(shown == SUPER_WEAPON);
+        ammoLabel.setVisible(shown != NO_WEAPON);
+        if (shown != NO_WEAPON && (shown != shownWeapon || ammo != shownAmmo)) {
+            ammoLabel.setText(ammo + (shown == SUPER_WEAPON ? " SP" : " REG"));
+        }
+        shownWeapon = shown;
+        shownAmmo = ammo;
     }
     /**
      * Hides the dialogue UI.
      */
     public void hideDialogue() {
-        dialogueLabel.setVisible(false);
-        dialogueBackground.setVisible(false);
+        runOnFxThread(() -> {
+            dialogueLabel.setVisible(false);
+            dialogueBackground.setVisible(false);
+        });
     }
 
+    /**
+     * Refreshes the parts of the UI that depend on a change of the game model.
+     * @param change What changed.
+     */
+    @Override
+    public void onModelChanged(ModelEvents.Change change) {
+        switch (change) {
+            case HEALTH:
+                updateHealth(controller.getPlayer().getHealth());
+                break;
+            case AMMO:
+            case INVENTORY:
+                if (controller.getStateController().isState(GameStateController.State.PLAY)) {
+                    updateWeaponUI();
+                }
+                if (change == ModelEvents.Change.INVENTORY) {
+                    inventoryUI.updateInventory();
+                }
+                break;
+            case STATE:
+                updateUI();
+                break;
+        }
+    }
+    /**
+     * Updates the UI once per tick. Only the open inventory reacts to the input every tick, and the
+     * interaction prompt follows the target the {@link cz.cvut.fel.klykadan.controller.ProximityIndex}
+     * found in the tick; everything else is refreshed by model events.
+     */
+    public void update() {
+        if (controller.getStateController().isState(GameStateController.State.INVENTORY)) {
+            inventoryUI.update();
+        }
+        GameObject target = controller.getStateController().isState(GameStateController.State.PLAY)
+                ? controller.getProximity().getInteractionTarget() : null;
+        updatePrompt(target);
+    }
+    /**
+     * Shows the interaction prompt for a target, or hides it if there is none.
+     * @param target The object the player would interact with, or null.
+     */
+    public void updatePrompt(GameObject target) {
+        if (target == shownPromptTarget) {
+            return;
+        }
+        shownPromptTarget = target;
+        String prompt = target != null ? "[E] " + target.getName() : null;
+        runOnFxThread(() -> {
+            promptLabel.setVisible(prompt != null);
+            if (prompt != null) {
+                promptLabel.setText(prompt);
+            }
+        });
+    }
     /**
      * Updates the UI based on the current game state.
      */
     public void updateUI() {
-        switch (controller.getStateController().getCurrentState()) {
+        GameStateController.State state = controller.getStateController().getCurrentState();
+        int health = controller.getPlayer().getHealth();
+        if (state == GameStateController.State.PLAY) {
+            updateWeaponUI();
+        }
+        inventoryUI.updateInventory();
+        runOnFxThread(() -> showState(state, health));
+    }
+
+    private void showState(GameStateController.State state, int health) {
+        switch (state) {
             case START:
                 healthLabel.setVisible(false);
                 weaponIcon.setVisible(false);
@@ -171,8 +286,8 @@ public class UI {
                 hideDialogue();
                 break;
             case PLAY:
+                hideDialogue();
                 healthLabel.setVisible(true);
-                updateWeaponUI();
                 break;
             case PAUSE:
                 hideDialogue();
@@ -189,9 +304,20 @@ public class UI {
                 hideDialogue();
                 break;
         }
-        updateHealth(controller.getPlayer().getHealth());
-        menuUI.updateMenuUI();
-        inventoryUI.updateInventoryUI();
-        gameOverUI.updateGameOverUI();
+        updateHealth(health);
+        menuUI.updateMenuUI(state);
+        inventoryUI.updateInventoryUI(state);
+        gameOverUI.updateGameOverUI(state);
+    }
+    /**
+     * Runs a change of the scene graph on the JavaFX thread, at once if called on it.
+     * @param change The change of the nodes.
+     */
+    static void runOnFxThread(Runnable change) {
+        if (Platform.isFxApplicationThread()) {
+            change.run();
+        } else {
+            Platform.runLater(change);
+        }
     }
 }
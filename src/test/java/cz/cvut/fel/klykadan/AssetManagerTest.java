@@ -0,0 +1,113 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import cz.cvut.fel.klykadan.controller.AssetManager;
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class AssetManagerTest {
+    private static final String PATH = "test/asset-manager.png";
+    private static final String OTHER_PATH = "test/asset-manager-other.png";
+    private final AssetManager assets = AssetManager.getInstance();
+    private final AtomicInteger decoded = new AtomicInteger();
+    private boolean wasHeadless;
+
+    @BeforeEach
+    void setUp() {
+        wasHeadless = assets.isHeadless();
+        assets.setHeadless(false);
+        assets.setDecoder(path -> {
+            decoded.incrementAndGet();
+            return mock(Image.class);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String path : new String[] {PATH, OTHER_PATH}) {
+            while (assets.getReferenceCount(path) > 0) {
+                assets.release(path);
+            }
+        }
+        assets.setDecoder(Image::new);
+        assets.setHeadless(wasHeadless);
+    }
+
+    @Test
+    void testImageIsSharedAndCountedPerAcquire() {
+        int cached = assets.getCachedImageCount();
+        Image first = assets.getImage(PATH);
+        Image second = assets.getImage(PATH);
+
+        assertSame(first, second);
+        assertEquals(1, decoded.get());
+        assertEquals(2, assets.getReferenceCount(PATH));
+        assertEquals(cached + 1, assets.getCachedImageCount());
+
+        assets.release(first);
+        assertEquals(1, assets.getReferenceCount(PATH));
+        assertEquals(cached + 1, assets.getCachedImageCount());
+    }
+
+    @Test
+    void testImageIsEvictedWhenTheLastReferenceIsReleased() {
+        int cached = assets.getCachedImageCount();
+        Image image = assets.getImage(PATH);
+        assets.release(image);
+
+        assertEquals(0, assets.getReferenceCount(PATH));
+        assertEquals(cached, assets.getCachedImageCount());
+        assets.release(image);
+        assets.release(mock(Image.class));
+        assertEquals(cached, assets.getCachedImageCount());
+
+        assertNotSame(image, assets.getImage(PATH));
+        assertEquals(2, decoded.get());
+    }
+
+    @Test
+    void testDecodingDoesNotBlockOtherImages() throws Exception {
+        CountDownLatch decoding = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        assets.setDecoder(path -> {
+            decoded.incrementAndGet();
+            if (path.equals(PATH)) {
+                decoding.countDown();
+                try {
+                    finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return mock(Image.class);
+        });
+        CompletableFuture<Image> first = CompletableFuture.supplyAsync(() -> assets.getImage(PATH));
+        assertTrue(decoding.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Image> second = CompletableFuture.supplyAsync(() -> assets.getImage(PATH));
+
+        assertNotNull(assets.getImage(OTHER_PATH));
+        assertEquals(1, assets.getReferenceCount(OTHER_PATH));
+        assertFalse(first.isDone());
+        finish.countDown();
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, assets.getReferenceCount(PATH));
+        assertEquals(2, decoded.get());
+    }
+
+    @Test
+    void testHeadlessManagerDecodesNothing() {
+        assets.setHeadless(true);
+        assertNull(assets.getImage(PATH));
+        assertEquals(0, decoded.get());
+        assertEquals(0, assets.getReferenceCount(PATH));
+    }
+}
@@ -0,0 +1,138 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.ChunkedWorld;
+import cz.cvut.fel.klykadan.controller.CollisionMap;
+import cz.cvut.fel.klykadan.controller.CompiledLevel;
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.GameSaverLoader;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.Collections;
+import java.util.List;
+
+class ChunkedWorldTest {
+    private static final int SIZE = 200;
+    private static final int CHUNK = 16;
+    private GameController controller;
+    private ChunkedWorld world;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        controller = new GameController(new GUICoinfig(), new ScriptedInputHandler());
+        controller.switchToNextLevel(-1);
+
+        short[] tiles = new short[SIZE * SIZE];
+        for (int col = 0; col < SIZE; col++) {
+            for (int row = 0; row < SIZE; row++) {
+                tiles[col * SIZE + row] = (short) ((col + row) % 3 == 0 ? 1 : 0);
+            }
+        }
+        List<CompiledLevel.ObjectPlacement> objects = List.of(new CompiledLevel.ObjectPlacement("Key", 5, 6, false),
+                new CompiledLevel.ObjectPlacement("Door", 150, 150, true));
+        List<CompiledLevel.CharacterPlacement> enemies = List.of(new CompiledLevel.CharacterPlacement(4, 4, 4, 100, Collections.emptyList()));
+        CompiledLevel level = new CompiledLevel(SIZE, SIZE, ShortBuffer.wrap(tiles), objects, Collections.emptyList(), enemies);
+
+        world = new ChunkedWorld(controller, new GUICoinfig(), controller.getLevelController(), level, CHUNK, 1);
+        controller.setWorld(world);
+        world.attach(8, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        world.close();
+    }
+
+    private void moveTo(int col, int row) throws InterruptedException {
+        world.update(col, row);
+        for (int i = 0; i < 5000 && world.getPendingChunkCount() > 0; i++) {
+            Thread.sleep(1);
+            world.update(col, row);
+        }
+        assertEquals(0, world.getPendingChunkCount());
+    }
+
+    @Test
+    void testLoadsChunksAroundPlayer() {
+        TextureManager textureM = controller.getTextureM();
+        assertTrue(world.isLoaded(8, 8));
+        assertTrue(world.isLoaded(31, 31));
+        assertFalse(world.isLoaded(32, 8));
+        assertEquals(1, textureM.getTile(1, 2));
+        assertEquals(0, textureM.getTile(1, 1));
+        assertEquals(-1, textureM.getTile(100, 100));
+        assertTrue(textureM.isCollisionTile(100, 100));
+        assertEquals(1, controller.getEnemies().size());
+        assertEquals(1, controller.getGameObjects().size());
+    }
+
+    @Test
+    void testStreamsAndKeepsMemoryBounded() throws InterruptedException {
+        for (int col = 8; col < SIZE; col += CHUNK) {
+            moveTo(col, col);
+            assertTrue(world.isLoaded(col, col));
+            assertTrue(world.getResidentChunkCount() <= 25 + 9);
+        }
+        assertTrue(world.isLoaded(150, 150));
+        assertEquals(1, controller.getGameObjects().size());
+        assertEquals("Door", controller.getGameObjects().get(0).getClass().getSimpleName());
+        assertTrue(controller.getEnemies().isEmpty());
+    }
+
+    @Test
+    void testCollisionMapCoversOnlyTheWindow() throws InterruptedException {
+        TextureManager textureM = controller.getTextureM();
+        CollisionMap map = textureM.getCollisionMap();
+        for (int col = 8; col < SIZE; col += CHUNK) {
+            moveTo(col, col);
+            assertEquals(world.getWindowSize(), map.getWidth());
+            assertEquals(world.getWindowSize(), map.getHeight());
+            for (int c = map.getOriginCol() - 1; c <= map.getOriginCol() + map.getWidth(); c++) {
+                for (int r = map.getOriginRow() - 1; r <= map.getOriginRow() + map.getHeight(); r++) {
+                    int tile = textureM.getTile(c, r);
+                    boolean inside = c >= map.getOriginCol() && r >= map.getOriginRow()
+                            && c < map.getOriginCol() + map.getWidth() && r < map.getOriginRow() + map.getHeight();
+                    boolean expected = !inside || tile < 0 || textureM.getCollisionTiles()[tile];
+                    assertEquals(expected, textureM.isCollisionTile(c, r));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStreamedLevelIsNotSaved() {
+        assertFalse(GameSaverLoader.getInstance().saveGame(controller, new GUICoinfig()));
+        assertFalse(controller.saveGame());
+    }
+
+    @Test
+    void testEvictedChunksKeepTheirState() throws InterruptedException {
+        controller.getTextureM().setTile(2, 2, 0);
+        Enemy enemy = controller.getEnemies().get(0);
+        enemy.setHealth(42);
+
+        for (int col = 40; col < SIZE; col += 3 * CHUNK) {
+            moveTo(col, 100);
+            moveTo(col, 180);
+        }
+        assertFalse(world.isLoaded(2, 2));
+        assertTrue(controller.getEnemies().isEmpty());
+
+        moveTo(8, 8);
+        assertEquals(0, controller.getTextureM().getTile(2, 2));
+        assertEquals(1, controller.getTextureM().getTile(1, 2));
+        assertEquals(1, controller.getEnemies().size());
+        assertEquals(42, controller.getEnemies().get(0).getHealth());
+        assertNotSame(enemy, controller.getEnemies().get(0));
+        assertEquals(1, controller.getGameObjects().size());
+    }
+}
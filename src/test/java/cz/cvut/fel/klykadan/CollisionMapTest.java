@@ -0,0 +1,95 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.CollisionMap;
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class CollisionMapTest {
+
+    @Test
+    void testAreaQueriesMatchTileQueries() {
+        Random random = new Random(7);
+        CollisionMap map = new CollisionMap(150, 20);
+        boolean[][] blocked = new boolean[150][20];
+        for (int i = 0; i < 40; i++) {
+            int col = random.nextInt(150);
+            int row = random.nextInt(20);
+            map.set(col, row, true);
+            blocked[col][row] = true;
+        }
+        for (int i = 0; i < 2000; i++) {
+            int minCol = random.nextInt(170) - 10;
+            int minRow = random.nextInt(24) - 2;
+            int maxCol = minCol + random.nextInt(80);
+            int maxRow = minRow + random.nextInt(4);
+            boolean expected = false;
+            for (int col = Math.max(0, minCol); col <= Math.min(149, maxCol); col++) {
+                for (int row = Math.max(0, minRow); row <= Math.min(19, maxRow); row++) {
+                    expected |= blocked[col][row];
+                }
+            }
+            assertEquals(expected, map.isAreaBlocked(minCol, minRow, maxCol, maxRow));
+        }
+
+        map.fill(true);
+        assertTrue(map.isBlocked(149, 19));
+        assertFalse(map.isBlocked(150, 19));
+        map.set(149, 19, false);
+        assertFalse(map.isAreaBlocked(149, 19, 200, 30));
+    }
+
+    @Test
+    void testWindowBlocksEverythingOutside() {
+        CollisionMap map = new CollisionMap(0, 0);
+        map.resizeWindow(80, 70);
+        assertTrue(map.isBlocked(0, 0));
+
+        map.setOrigin(-30, 40);
+        assertTrue(map.isBlocked(-30, 40));
+        map.set(-30, 40, false);
+        map.set(49, 109, false);
+        map.set(50, 109, false);
+        assertFalse(map.isBlocked(-30, 40));
+        assertFalse(map.isBlocked(49, 109));
+        assertTrue(map.isBlocked(-31, 40));
+        assertTrue(map.isBlocked(50, 109));
+        assertTrue(map.isBlocked(49, 110));
+        assertFalse(map.isAreaBlocked(49, 109, 49, 109));
+        assertTrue(map.isAreaBlocked(49, 109, 50, 109));
+        assertTrue(map.isAreaBlocked(-31, 40, -30, 40));
+
+        map.setOrigin(0, 0);
+        assertTrue(map.isBlocked(49, 69));
+        map.resize(10, 10);
+        assertFalse(map.isBlocked(-1, 0));
+        assertFalse(map.isBlocked(0, 0));
+    }
+
+    @Test
+    void testMapFollowsTheTiles() {
+        HeadlessSimulation simulation = new HeadlessSimulation(new GUICoinfig(), new ScriptedInputHandler());
+        simulation.start();
+        GameController controller = simulation.getController();
+        TextureManager textureM = controller.getTextureM();
+        CollisionMap map = textureM.getCollisionMap();
+
+        for (int col = 0; col < textureM.getMapWidth(); col++) {
+            for (int row = 0; row < textureM.getMapHeight(); row++) {
+                assertEquals(textureM.getCollisionTiles()[textureM.getTile(col, row)], map.isBlocked(col, row));
+            }
+        }
+        textureM.setTile(3, 3, 1);
+        assertTrue(map.isBlocked(3, 3));
+        textureM.setTile(3, 3, 0);
+        assertFalse(map.isBlocked(3, 3));
+        controller.stopGameLoop();
+    }
+}
@@ -0,0 +1,110 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import cz.cvut.fel.klykadan.controller.CollisionMap;
+import cz.cvut.fel.klykadan.controller.Direction;
+import cz.cvut.fel.klykadan.controller.EntityStore;
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.MovementSystem;
+import cz.cvut.fel.klykadan.controller.ProjectileSystem;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.Test;
+
+class EntityStoreTest {
+
+    @Test
+    void testIdsSurviveDestroyAndGrowth() {
+        EntityStore store = new EntityStore(2);
+        int a = store.create(EntityStore.POSITION);
+        int b = store.create(EntityStore.POSITION | EntityStore.HEALTH);
+        int c = store.create(EntityStore.POSITION);
+        store.setPosition(store.indexOf(a), 1, 1);
+        store.setPosition(store.indexOf(b), 2, 2);
+        store.setPosition(store.indexOf(c), 3, 3);
+
+        store.destroy(a);
+
+        assertEquals(2, store.getCount());
+        assertEquals(-1, store.indexOf(a));
+        assertEquals(2, store.getX(store.indexOf(b)));
+        assertTrue(store.has(store.indexOf(b), EntityStore.HEALTH));
+        assertEquals(3, store.getX(store.indexOf(c)));
+        assertEquals(0, store.indexOf(c));
+        assertEquals(a, store.create(EntityStore.POSITION));
+        assertEquals(0, store.getX(store.indexOf(a)));
+        assertTrue(store.getCapacity() >= 3);
+
+        store.clear();
+        assertEquals(0, store.getCount());
+        assertEquals(-1, store.indexOf(b));
+    }
+
+    @Test
+    void testMovementStopsAtCollisionTiles() {
+        GUICoinfig cn = new GUICoinfig();
+        int tileSize = cn.getTileSize();
+        TextureManager textureM = mock(TextureManager.class);
+        CollisionMap collisionMap = new CollisionMap(20, 20);
+        for (int col = 5; col < 20; col++) {
+            for (int row = 0; row < 20; row++) {
+                collisionMap.set(col, row, true);
+            }
+        }
+        when(textureM.getCollisionMap()).thenReturn(collisionMap);
+        MovementSystem movement = new MovementSystem(textureM, cn);
+        EntityStore store = new EntityStore(4);
+        int walker = store.indexOf(store.create(EntityStore.POSITION | EntityStore.VELOCITY | EntityStore.COLLIDER | EntityStore.SPRITE));
+        store.setPosition(walker, tileSize, tileSize);
+        store.setVelocity(walker, 5, 0);
+        store.setCollider(walker, 15, 25, tileSize - 30, tileSize - 30);
+        int still = store.indexOf(store.create(EntityStore.POSITION | EntityStore.COLLIDER));
+        store.setPosition(still, tileSize, tileSize);
+
+        movement.update(store);
+        assertEquals(tileSize + 5, store.getX(walker));
+        assertEquals(tileSize, store.getPreviousX(walker));
+        for (int i = 0; i < 100; i++) {
+            movement.update(store);
+        }
+
+        int boxRight = store.getX(walker) + 15 + tileSize - 30;
+        assertTrue(boxRight < 5 * tileSize);
+        assertTrue(boxRight + 5 >= 5 * tileSize);
+        assertEquals(0, store.getSpriteFrame(walker));
+        assertEquals(tileSize, store.getX(still));
+    }
+
+    @Test
+    void testCharactersAreMirroredAndHitThroughTheStore() {
+        HeadlessSimulation simulation = new HeadlessSimulation(new GUICoinfig(), new ScriptedInputHandler());
+        simulation.start();
+        simulation.step();
+        GameController controller = simulation.getController();
+        EntityStore store = controller.getEntities();
+        Enemy enemy = controller.getEnemies().get(0);
+
+        int index = controller.getEntityAdapter().indexOf(enemy);
+        assertTrue(index >= 0);
+        assertTrue(store.has(index, EntityStore.HOSTILE | EntityStore.HEALTH));
+        assertEquals(enemy.getXposition(), store.getX(index));
+        assertEquals(1 + controller.getNpcs().size() + controller.getEnemies().size(), store.getCount());
+
+        int health = enemy.getHealth();
+        controller.getProjectiles().spawn(enemy.getXposition(), enemy.getYposition(), Direction.RIGHT, ProjectileSystem.OWNER_PLAYER);
+        controller.getProjectiles().update();
+        assertEquals(health - 25, enemy.getHealth());
+        assertEquals(enemy.getHealth(), store.getHealth(controller.getEntityAdapter().indexOf(enemy)));
+
+        controller.getEnemies().remove(enemy);
+        simulation.step();
+        assertEquals(-1, enemy.getEntity());
+        assertEquals(1 + controller.getNpcs().size() + controller.getEnemies().size(), store.getCount());
+        controller.stopGameLoop();
+    }
+}
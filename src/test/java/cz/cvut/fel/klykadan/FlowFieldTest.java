@@ -0,0 +1,113 @@
+package cz.cvut.fel.klykadan;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.Direction;
+import cz.cvut.fel.klykadan.controller.FlowField;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class FlowFieldTest {
+    private static final int WALL = 1;
+    private TextureManager mockedTextureManager;
+    private final boolean[] collisionTiles = new boolean[10];
+    private int[][] map;
+    private FlowField flowField;
+
+    @BeforeEach
+    void setUp() {
+        mockedTextureManager = mock(TextureManager.class);
+        collisionTiles[WALL] = true;
+        flowField = new FlowField(mockedTextureManager, 100);
+    }
+
+    private void setMap(int[][] newMap, int version) {
+        map = newMap;
+        when(mockedTextureManager.getMapWidth()).thenReturn(map.length);
+        when(mockedTextureManager.getMapHeight()).thenReturn(map[0].length);
+        when(mockedTextureManager.isCollisionTile(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int col = invocation.getArgument(0);
+            int row = invocation.getArgument(1);
+            return col >= 0 && row >= 0 && col < map.length && row < map[0].length && collisionTiles[map[col][row]];
+        });
+        when(mockedTextureManager.getMapVersion()).thenReturn(version);
+    }
+
+    @Test
+    void testDirectionsLeadToTargetInDistanceSteps() {
+        Random random = new Random(11);
+        int[][] randomMap = new int[25][18];
+        for (int[] column : randomMap) {
+            for (int row = 0; row < column.length; row++) {
+                column[row] = random.nextInt(100) < 30 ? WALL : 0;
+            }
+        }
+        randomMap[12][9] = 0;
+        setMap(randomMap, 1);
+        flowField.update(12, 9);
+
+        int reached = 0;
+        for (int col = 0; col < 25; col++) {
+            for (int row = 0; row < 18; row++) {
+                int distance = flowField.getDistance(col, row);
+                if (distance == FlowField.UNREACHED) {
+                    continue;
+                }
+                reached++;
+                int c = col, r = row;
+                for (int step = 0; step < distance; step++) {
+                    Direction direction = flowField.getDirection(c, r);
+                    assertNotNull(direction);
+                    switch (direction) {
+                        case LEFT: c--; break;
+                        case RIGHT: c++; break;
+                        case UP: r--; break;
+                        case DOWN: r++; break;
+                    }
+                    assertNotEquals(WALL, map[c][r]);
+                    assertEquals(distance - step - 1, flowField.getDistance(c, r));
+                }
+                assertEquals(12, c);
+                assertEquals(9, r);
+            }
+        }
+        assertTrue(reached > 1);
+        assertNull(flowField.getDirection(12, 9));
+    }
+
+    @Test
+    void testFollowsTargetAndMapChanges() {
+        setMap(new int[10][3], 1);
+        for (int row = 0; row < 2; row++) {
+            map[5][row] = WALL;
+        }
+        flowField.update(9, 0);
+        assertEquals(13, flowField.getDistance(0, 0));
+        assertEquals(Direction.DOWN, flowField.getDirection(4, 1));
+        assertEquals(Direction.RIGHT, flowField.getDirection(5, 2));
+
+        flowField.update(4, 0);
+        assertEquals(4, flowField.getDistance(0, 0));
+        assertEquals(Direction.RIGHT, flowField.getDirection(0, 0));
+
+        map[5][2] = WALL;
+        when(mockedTextureManager.getMapVersion()).thenReturn(2);
+        flowField.update(4, 0);
+        assertEquals(FlowField.UNREACHED, flowField.getDistance(9, 0));
+        assertEquals(FlowField.UNREACHED, flowField.getDistance(5, 2));
+    }
+
+    @Test
+    void testStopsAtMaximumDistance() {
+        setMap(new int[20][1], 1);
+        flowField = new FlowField(mockedTextureManager, 5);
+        flowField.update(0, 0);
+        assertEquals(5, flowField.getDistance(5, 0));
+        assertEquals(FlowField.UNREACHED, flowField.getDistance(6, 0));
+        assertNull(flowField.getDirection(6, 0));
+    }
+}
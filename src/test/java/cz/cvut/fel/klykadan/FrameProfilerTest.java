@@ -0,0 +1,69 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.FrameProfiler;
+import cz.cvut.fel.klykadan.controller.FrameProfiler.Phase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class FrameProfilerTest {
+    private FrameProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new FrameProfiler(100);
+    }
+
+    @Test
+    void testPercentilesAndMax() {
+        for (int i = 1; i <= 100; i++) {
+            profiler.record(Phase.TICK, i * 1_000L);
+        }
+        long p50 = profiler.getPercentile(Phase.TICK, 0.5);
+        long p99 = profiler.getPercentile(Phase.TICK, 0.99);
+        assertTrue(p50 >= 50_000 && p50 <= 50_000 * 1.25, "p50 was " + p50);
+        assertTrue(p99 >= 99_000 && p99 <= 99_000 * 1.25, "p99 was " + p99);
+        assertEquals(100_000, profiler.getMax(Phase.TICK));
+        assertEquals(0, profiler.getSampleCount(Phase.RENDER));
+    }
+
+    @Test
+    void testRollingWindowDropsOldSamples() {
+        profiler.record(Phase.TICK, 5_000_000L);
+        for (int i = 0; i < 100; i++) {
+            profiler.record(Phase.TICK, 1_000L);
+        }
+        assertEquals(100, profiler.getSampleCount(Phase.TICK));
+        assertEquals(1_000, profiler.getMax(Phase.TICK));
+        assertTrue(profiler.getPercentile(Phase.TICK, 0.99) < 2_000);
+    }
+
+    @Test
+    void testDumpWritesTheValuesOfTheDumpTime() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            profiler.record(Phase.TICK, 8_000L);
+        }
+        Path file = Files.createTempFile("frame-profile", ".csv");
+        try {
+            Future<?> dump = profiler.dumpCsv(file.toString());
+            for (int i = 0; i < 100; i++) {
+                profiler.record(Phase.TICK, 5_000_000L);
+            }
+            dump.get(10, TimeUnit.SECONDS);
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals("phase,samples,p50_us,p99_us,max_us", lines.get(0));
+            assertEquals(Phase.values().length + 1, lines.size());
+            assertEquals("TICK,100,8.2,8.2,8.0", lines.get(Phase.TICK.ordinal() + 1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameStateController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HeadlessSimulationTest {
+    private HeadlessSimulation simulation;
+    private ScriptedInputHandler input;
+
+    @BeforeEach
+    void setUp() {
+        input = new ScriptedInputHandler();
+        simulation = new HeadlessSimulation(new GUICoinfig(), input);
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulation.getController().stopGameLoop();
+    }
+
+    @Test
+    void testLevelLoadsWithoutDisplay() {
+        simulation.start();
+
+        assertTrue(simulation.getController().getStateController().isState(GameStateController.State.PLAY));
+        assertFalse(simulation.getController().getGameObjects().isEmpty());
+        assertFalse(simulation.getController().getNpcs().isEmpty());
+    }
+
+    @Test
+    void testScriptedInputMovesPlayer() {
+        input.hold(0, 20, KeyCode.D);
+        simulation.start();
+        Player player = simulation.getController().getPlayer();
+        int startX = player.getX();
+
+        simulation.run(40);
+
+        assertEquals(startX + 20 * player.getSpeed(), player.getX());
+        assertEquals(40, simulation.getTick());
+    }
+}
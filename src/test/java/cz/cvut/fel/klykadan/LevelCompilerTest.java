@@ -0,0 +1,86 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.CompiledLevel;
+import cz.cvut.fel.klykadan.controller.LevelCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class LevelCompilerTest {
+
+    private static InputStream text(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CompiledLevel compileSample() throws IOException {
+        String objects = "{\"gameObjects\": [{\"type\": \"Door\", \"position\": {\"x\": 2, \"y\": 1}, \"isLocked\": true},"
+                + " {\"type\": \"Key\", \"position\": {\"x\": 0, \"y\": 2}}]}";
+        String entities = "{\"npcs\": [{\"dialogues\": [\"Ahoj\", \"Hodně štěstí\"], \"position\": {\"x\": 1, \"y\": 1},"
+                + " \"speed\": 1, \"health\": 100}],"
+                + " \"enemies\": [{\"position\": {\"x\": 3, \"y\": 2}, \"speed\": 4, \"health\": 50}]}";
+        String map = "1 1 1 1\n1 0 9 1\n1 0 0 1\n";
+        return LevelCompiler.compile(text(objects), text(entities), text(map));
+    }
+
+    @Test
+    void testCompiledLevelRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compileSample().write(out);
+        CompiledLevel level = CompiledLevel.read(ByteBuffer.wrap(out.toByteArray()));
+
+        assertEquals(4, level.getWidth());
+        assertEquals(3, level.getHeight());
+        assertEquals(9, level.getTiles().get(2 * level.getHeight() + 1));
+        assertEquals(0, level.getTiles().get(1 * level.getHeight() + 2));
+        assertEquals(1, level.getTiles().get(3 * level.getHeight()));
+
+        assertEquals(2, level.getObjects().size());
+        assertEquals("Door", level.getObjects().get(0).getType());
+        assertTrue(level.getObjects().get(0).isLocked());
+        assertFalse(level.getObjects().get(1).isLocked());
+        assertEquals(2, level.getObjects().get(1).getY());
+
+        assertEquals(1, level.getNpcs().size());
+        assertEquals("Hodně štěstí", level.getNpcs().get(0).getDialogues().get(1));
+        assertEquals(1, level.getEnemies().size());
+        assertEquals(4, level.getEnemies().get(0).getSpeed());
+        assertEquals(50, level.getEnemies().get(0).getHealth());
+    }
+
+    @Test
+    void testRejectsOtherVersion() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compileSample().write(out);
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        buffer.putInt(4, CompiledLevel.VERSION + 1);
+
+        assertThrows(IOException.class, () -> CompiledLevel.read(buffer));
+        assertThrows(IOException.class, () -> CompiledLevel.read(ByteBuffer.wrap(new byte[]{1, 2, 3})));
+    }
+
+    @Test
+    void testCompiledLevelMatchesTextMap() throws IOException {
+        InputStream objects = getClass().getClassLoader().getResourceAsStream("levels/level1/objectsConfig1.json");
+        InputStream entities = getClass().getClassLoader().getResourceAsStream("levels/level1/entityConfig1.json");
+        InputStream map = getClass().getResourceAsStream("/maps/testmap2.txt");
+        CompiledLevel level = LevelCompiler.compile(objects, entities, map);
+
+        assertEquals(60, level.getWidth());
+        assertEquals(40, level.getHeight());
+        String[] lines = new String(getClass().getResourceAsStream("/maps/testmap2.txt").readAllBytes(),
+                StandardCharsets.UTF_8).split("\n");
+        for (int row = 0; row < level.getHeight(); row++) {
+            String[] tiles = lines[row].trim().split("\\s+");
+            for (int col = 0; col < level.getWidth(); col++) {
+                assertEquals(Integer.parseInt(tiles[col]), level.getTiles().get(col * level.getHeight() + row));
+            }
+        }
+    }
+}
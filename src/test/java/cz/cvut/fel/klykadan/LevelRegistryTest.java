@@ -0,0 +1,98 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.LevelController;
+import cz.cvut.fel.klykadan.controller.LevelRegistry;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.model.gameObject.LevelDoor;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.model.gameObject.items.LevelKey;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+class LevelRegistryTest {
+
+    private static InputStream text(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testReadsManifest() throws IOException {
+        LevelRegistry registry = new LevelRegistry(text("{\"levels\": ["
+                + "{\"id\": 3, \"objects\": \"o3.json\", \"entities\": \"e3.json\", \"map\": \"m3.txt\", \"compiled\": \"l3.zpl\"},"
+                + "{\"id\": 1, \"objects\": \"o1.json\", \"entities\": \"e1.json\", \"map\": \"m1.txt\"}]}"));
+
+        assertEquals(2, registry.getLevels().size());
+        assertEquals(1, registry.getLevels().get(0).getId());
+        assertEquals("levels/level1/level1.zpl", registry.getLevel(1).getCompiledPath());
+        assertEquals("l3.zpl", registry.getLevel(3).getCompiledPath());
+        assertEquals("m3.txt", registry.getLevel(3).getMapPath());
+        assertNull(registry.getLevel(2));
+        assertThrows(IOException.class, () -> new LevelRegistry(text("{\"levels\": [{\"id\": 1, \"objects\": \"o1.json\"}]}")));
+    }
+
+    @Test
+    void testShippedLevelsExist() throws IOException {
+        LevelRegistry registry = LevelRegistry.fromClasspath();
+
+        assertEquals(2, registry.getLevels().size());
+        for (LevelRegistry.LevelEntry level : registry.getLevels()) {
+            assertNotNull(getClass().getClassLoader().getResource(level.getObjectsPath()));
+            assertNotNull(getClass().getClassLoader().getResource(level.getEntitiesPath()));
+            assertNotNull(getClass().getClassLoader().getResource(level.getMapPath()));
+        }
+    }
+
+    @Test
+    void testPrefetchedLevelIsSwappedIn() {
+        GameController expected = new GameController(new GUICoinfig(), new ScriptedInputHandler());
+        expected.switchToNextLevel(1);
+        GameController controller = new GameController(new GUICoinfig(), new ScriptedInputHandler());
+        LevelController levelController = controller.getLevelController();
+
+        levelController.prefetch(2);
+        assertEquals(2, levelController.getPrefetchedLevel());
+        controller.switchToNextLevel(1);
+
+        assertEquals(-1, levelController.getPrefetchedLevel());
+        assertEquals(expected.getGameObjects().size(), controller.getGameObjects().size());
+        assertEquals(expected.getEnemies().size(), controller.getEnemies().size());
+        assertEquals(expected.getNpcs().size(), controller.getNpcs().size());
+        assertEquals(expected.getTextureM().getTile(10, 10), controller.getTextureM().getTile(10, 10));
+    }
+
+    @Test
+    void testPrefetchStartsNearLevelDoorOrWithLevelKey() {
+        GameController controller = new GameController(new GUICoinfig(), new ScriptedInputHandler());
+        LevelController levelController = controller.getLevelController();
+        Player player = controller.getPlayer();
+        controller.switchToNextLevel(0);
+        LevelDoor door = controller.findGameObject(LevelDoor.class);
+        assertNotNull(door);
+
+        player.setX(door.getXposition() + 20 * new GUICoinfig().getTileSize());
+        player.setY(door.getYposition());
+        for (int i = 0; i < 20; i++) {
+            levelController.updatePrefetch(player);
+        }
+        assertEquals(-1, levelController.getPrefetchedLevel());
+
+        player.setX(door.getXposition() + 2 * new GUICoinfig().getTileSize());
+        for (int i = 0; i < 20; i++) {
+            levelController.updatePrefetch(player);
+        }
+        assertEquals(2, levelController.getPrefetchedLevel());
+
+        GameController other = new GameController(new GUICoinfig(), new ScriptedInputHandler());
+        other.switchToNextLevel(0);
+        new LevelKey(0, 0, 1, 1).interact(other.getPlayer());
+        assertEquals(2, other.getLevelController().getPrefetchedLevel());
+    }
+}
@@ -0,0 +1,68 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.GameStateController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.model.ModelEvents;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.model.gameObject.items.Weapon;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ModelEventsTest {
+    private HeadlessSimulation simulation;
+    private GameController controller;
+    private final List<ModelEvents.Change> changes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        simulation = new HeadlessSimulation(new GUICoinfig(), new ScriptedInputHandler());
+        simulation.start();
+        controller = simulation.getController();
+        controller.getEvents().addListener(changes::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.stopGameLoop();
+    }
+
+    @Test
+    void testIdleTicksPublishNothing() {
+        controller.getPlayer().setHealth(controller.getPlayer().getHealth());
+        simulation.run(30);
+
+        changes.removeIf(change -> change == ModelEvents.Change.HEALTH);
+        assertEquals(List.of(), changes);
+    }
+
+    @Test
+    void testModelChangesArePublished() {
+        Player player = controller.getPlayer();
+        GUICoinfig cn = new GUICoinfig();
+
+        player.setHealth(player.getHealth() - 1);
+        assertEquals(List.of(ModelEvents.Change.HEALTH), changes);
+
+        Weapon weapon = new Weapon(cn, 0, 0, cn.getTileSize(), cn.getTileSize());
+        player.getInventory().addItem(weapon);
+        assertEquals(ModelEvents.Change.INVENTORY, changes.get(1));
+
+        for (int i = 0; i < 11; i++) {
+            weapon.attack(player, controller);
+        }
+        assertEquals(ModelEvents.Change.AMMO, changes.get(2));
+        assertEquals(3, changes.size());
+
+        controller.getStateController().setCurrentState(GameStateController.State.PAUSE);
+        assertEquals(ModelEvents.Change.STATE, changes.get(3));
+    }
+}
@@ -0,0 +1,172 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.AssetManager;
+import cz.cvut.fel.klykadan.controller.CollisionMap;
+import cz.cvut.fel.klykadan.controller.Pathfinder;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+class PathfinderTest {
+    private static final int WALL = 1;
+    private MapStub textureManager;
+    private final boolean[] collisionTiles = new boolean[10];
+    private int[][] map;
+    private Pathfinder pathfinder;
+    private boolean wasHeadless;
+
+    @BeforeEach
+    void setUp() {
+        wasHeadless = AssetManager.getInstance().isHeadless();
+        AssetManager.getInstance().setHeadless(true);
+        textureManager = new MapStub();
+        collisionTiles[WALL] = true;
+        pathfinder = new Pathfinder(textureManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        AssetManager.getInstance().setHeadless(wasHeadless);
+    }
+
+    private void setMap(int[][] newMap, int version) {
+        map = newMap;
+        CollisionMap collisionMap = new CollisionMap(map.length, map[0].length);
+        for (int col = 0; col < map.length; col++) {
+            for (int row = 0; row < map[0].length; row++) {
+                collisionMap.set(col, row, collisionTiles[map[col][row]]);
+            }
+        }
+        textureManager.collisionMap = collisionMap;
+        textureManager.version = version;
+    }
+
+    @Test
+    void testPathsAreShortestOnRandomMaps() {
+        Random random = new Random(7);
+        for (int version = 1; version <= 30; version++) {
+            int[][] randomMap = new int[25][18];
+            for (int[] column : randomMap) {
+                for (int row = 0; row < column.length; row++) {
+                    column[row] = random.nextInt(100) < 30 ? WALL : 0;
+                }
+            }
+            setMap(randomMap, version);
+            for (int query = 0; query < 20; query++) {
+                int startCol = random.nextInt(25), startRow = random.nextInt(18);
+                int targetCol = random.nextInt(25), targetRow = random.nextInt(18);
+                if (map[startCol][startRow] == WALL || map[targetCol][targetRow] == WALL) {
+                    continue;
+                }
+                assertEquals(bfsDistance(startCol, startRow, targetCol, targetRow),
+                        walkPath(startCol, startRow, targetCol, targetRow));
+            }
+        }
+    }
+
+    @Test
+    void testFindsWayAroundWall() {
+        int[][] corridorMap = new int[7][5];
+        for (int row = 0; row < 4; row++) {
+            corridorMap[3][row] = WALL;
+        }
+        setMap(corridorMap, 1);
+
+        assertEquals(bfsDistance(1, 0, 5, 0), walkPath(1, 0, 5, 0));
+        assertEquals(12, walkPath(1, 0, 5, 0));
+    }
+
+    @Test
+    void testUnreachableTarget() {
+        int[][] closedMap = new int[5][5];
+        for (int row = 0; row < 5; row++) {
+            closedMap[2][row] = WALL;
+        }
+        setMap(closedMap, 1);
+
+        assertEquals(Pathfinder.NO_PATH, pathfinder.nextStep(0, 0, 4, 4));
+    }
+
+    private int walkPath(int col, int row, int targetCol, int targetRow) {
+        int width = map.length;
+        int steps = 0;
+        while (col != targetCol || row != targetRow) {
+            int next = pathfinder.nextStep(col, row, targetCol, targetRow);
+            if (next == Pathfinder.NO_PATH) {
+                return -1;
+            }
+            int nextCol = next % width;
+            int nextRow = next / width;
+            assertEquals(1, Math.abs(nextCol - col) + Math.abs(nextRow - row));
+            assertNotEquals(WALL, map[nextCol][nextRow]);
+            col = nextCol;
+            row = nextRow;
+            steps++;
+        }
+        return steps;
+    }
+
+    private int bfsDistance(int startCol, int startRow, int targetCol, int targetRow) {
+        int width = map.length;
+        int height = map[0].length;
+        int[] distance = new int[width * height];
+        Arrays.fill(distance, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distance[startRow * width + startCol] = 0;
+        queue.add(startRow * width + startCol);
+        int[][] moves = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int[] move : moves) {
+                int col = node % width + move[0];
+                int row = node / width + move[1];
+                if (col >= 0 && row >= 0 && col < width && row < height && map[col][row] != WALL
+                        && distance[row * width + col] < 0) {
+                    distance[row * width + col] = distance[node] + 1;
+                    queue.add(row * width + col);
+                }
+            }
+        }
+        return distance[targetRow * width + targetCol];
+    }
+
+    /**
+     * A texture manager that only serves the collision map and version of the test map.
+     */
+    private static class MapStub extends TextureManager {
+        CollisionMap collisionMap;
+        int version;
+
+        MapStub() {
+            super(null, new GUICoinfig(), null);
+        }
+
+        @Override
+        public CollisionMap getCollisionMap() {
+            return collisionMap;
+        }
+
+        @Override
+        public int getMapWidth() {
+            return collisionMap.getWidth();
+        }
+
+        @Override
+        public int getMapHeight() {
+            return collisionMap.getHeight();
+        }
+
+        @Override
+        public int getMapVersion() {
+            return version;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package cz.cvut.fel.klykadan;
 
 import static org.mockito.Mockito.*;
 
+import cz.cvut.fel.klykadan.controller.CollisionMap;
 import cz.cvut.fel.klykadan.controller.Direction;
 import cz.cvut.fel.klykadan.controller.GameController;
 import cz.cvut.fel.klykadan.controller.PhysicsEngine;
@@ -35,8 +36,9 @@ class PhysicsEngineTest {
 
         when(mockedController.getTextureM()).thenReturn(mockedTextureManager);
         when(mockedConfig.getTileSize()).thenReturn(48);
-        when(mockedTextureManager.getMap()).thenReturn(new int[10][10]);
-        when(mockedTextureManager.getCollisionTiles()).thenReturn(new boolean[100]);
+        when(mockedTextureManager.getMapWidth()).thenReturn(10);
+        when(mockedTextureManager.getMapHeight()).thenReturn(10);
+        when(mockedTextureManager.getCollisionMap()).thenReturn(new CollisionMap(10, 10));
 
         physicsEngine = new PhysicsEngine(mockedController, mockedConfig);
     }
@@ -58,6 +60,7 @@ class PhysicsEngineTest {
         ArrayList<GameObject> gameObjects = new ArrayList<>();
         gameObjects.add(gameObject);
         when(mockedController.getGameObjects()).thenReturn(gameObjects);
+        physicsEngine.getSpatialGrid().insert(gameObject);
 
         physicsEngine.detectCollision(character);
 
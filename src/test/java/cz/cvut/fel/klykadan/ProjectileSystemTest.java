@@ -0,0 +1,144 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.Direction;
+import cz.cvut.fel.klykadan.controller.EntityGrid;
+import cz.cvut.fel.klykadan.controller.EntityStore;
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ProjectileSystem;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
+import cz.cvut.fel.klykadan.model.gameObject.items.SuperWeapon;
+import cz.cvut.fel.klykadan.model.gameObject.items.Weapon;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class ProjectileSystemTest {
+    private HeadlessSimulation simulation;
+    private GameController controller;
+    private int tileSize;
+
+    @BeforeEach
+    void setUp() {
+        GUICoinfig cn = new GUICoinfig();
+        tileSize = cn.getTileSize();
+        simulation = new HeadlessSimulation(cn, new ScriptedInputHandler());
+        simulation.start();
+        simulation.step();
+        controller = simulation.getController();
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.stopGameLoop();
+    }
+
+    @Test
+    void testProjectilesStopAtWalls() {
+        Enemy enemy = controller.getEnemies().get(0);
+        int startX = enemy.getXposition() - 4 * tileSize;
+        int row = Math.floorDiv(enemy.getYposition() + tileSize / 2, tileSize);
+        TextureManager textureM = controller.getTextureM();
+        for (int col = Math.floorDiv(startX, tileSize); col <= Math.floorDiv(enemy.getXposition(), tileSize) + 1; col++) {
+            textureM.setTile(col, row, 0);
+        }
+
+        assertEquals(25, fireAt(startX, enemy.getYposition()));
+
+        textureM.setTile(Math.floorDiv(startX + tileSize / 2, tileSize) + 2, row, 1);
+        assertEquals(0, fireAt(startX, enemy.getYposition()));
+    }
+
+    @Test
+    void testPoolRecyclesSlotsAndRejectsShotsWhenFull() {
+        ProjectileSystem projectiles = new ProjectileSystem(controller, new GUICoinfig(), 2);
+        int x = -1000 * tileSize;
+        assertTrue(projectiles.spawn(x, 0, Direction.LEFT, ProjectileSystem.OWNER_PLAYER));
+        assertTrue(projectiles.spawn(x, tileSize, Direction.LEFT, ProjectileSystem.OWNER_PLAYER));
+        assertFalse(projectiles.spawn(x, 2 * tileSize, Direction.LEFT, ProjectileSystem.OWNER_PLAYER));
+        assertEquals(2, projectiles.getActiveCount());
+
+        for (int i = 0; i < 100 && projectiles.getActiveCount() > 0; i++) {
+            projectiles.update();
+        }
+        assertEquals(0, projectiles.getActiveCount());
+        assertTrue(projectiles.spawn(x, 0, Direction.UP, ProjectileSystem.OWNER_PLAYER));
+        assertEquals(1, projectiles.getActiveCount());
+    }
+
+    @Test
+    void testWeaponsKeepTheirAmmoWhenThePoolIsFull() {
+        GUICoinfig cn = new GUICoinfig();
+        ProjectileSystem projectiles = controller.getProjectiles();
+        projectiles.clear();
+        while (projectiles.spawn(-1000 * tileSize, 0, Direction.LEFT, ProjectileSystem.OWNER_PLAYER)) {
+            // fill the pool
+        }
+        Weapon weapon = new Weapon(cn, 0, 0, 0, 0);
+        SuperWeapon superWeapon = new SuperWeapon(cn);
+        int ammo = weapon.getAmmoCount();
+        int superAmmo = superWeapon.getAmmoCount();
+        for (int i = 0; i < 20; i++) {
+            weapon.attack(controller.getPlayer(), controller);
+            superWeapon.attack(controller.getPlayer(), controller);
+        }
+        assertEquals(ammo, weapon.getAmmoCount());
+        assertEquals(superAmmo, superWeapon.getAmmoCount());
+
+        projectiles.clear();
+        for (int i = 0; i < 11; i++) {
+            weapon.attack(controller.getPlayer(), controller);
+        }
+        assertEquals(ammo - 1, weapon.getAmmoCount());
+        assertEquals(1, projectiles.getActiveCount());
+    }
+
+    @Test
+    void testGridFindsEntitiesAroundAnArea() {
+        EntityStore store = new EntityStore(4);
+        int near = store.indexOf(store.create(EntityStore.POSITION | EntityStore.HOSTILE));
+        store.setPosition(near, 3 * tileSize, 2 * tileSize);
+        int far = store.indexOf(store.create(EntityStore.POSITION | EntityStore.HOSTILE));
+        store.setPosition(far, 40 * tileSize, 2 * tileSize);
+        int friendly = store.indexOf(store.create(EntityStore.POSITION));
+        store.setPosition(friendly, 3 * tileSize, 2 * tileSize);
+        EntityGrid grid = new EntityGrid(tileSize, 64);
+
+        grid.build(store, EntityStore.POSITION | EntityStore.HOSTILE);
+        Set<Integer> found = new HashSet<>();
+        for (int i = 0, n = grid.query(2 * tileSize, tileSize, 4 * tileSize, 3 * tileSize); i < n; i++) {
+            found.add(grid.getFound(i));
+        }
+        int everything = grid.query(-1000 * tileSize, -1000 * tileSize, 1000 * tileSize, 1000 * tileSize);
+
+        assertTrue(found.contains(near));
+        assertFalse(found.contains(friendly));
+        assertEquals(2, everything);
+    }
+
+    private int fireAt(int startX, int y) {
+        int health = totalEnemyHealth();
+        ProjectileSystem projectiles = controller.getProjectiles();
+        projectiles.spawn(startX, y, Direction.RIGHT, ProjectileSystem.OWNER_PLAYER);
+        while (projectiles.getActiveCount() > 0) {
+            projectiles.update();
+        }
+        return health - totalEnemyHealth();
+    }
+
+    private int totalEnemyHealth() {
+        int total = 0;
+        for (Enemy enemy : controller.getEnemies()) {
+            total += enemy.getHealth();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,140 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ProximityIndex;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class ProximityIndexTest {
+    private HeadlessSimulation simulation;
+    private ScriptedInputHandler input;
+    private GameController controller;
+    private ProximityIndex proximity;
+    private int tileSize;
+
+    @BeforeEach
+    void setUp() {
+        GUICoinfig cn = new GUICoinfig();
+        tileSize = cn.getTileSize();
+        input = new ScriptedInputHandler();
+        simulation = new HeadlessSimulation(cn, input);
+        simulation.start();
+        simulation.step();
+        controller = simulation.getController();
+        proximity = controller.getProximity();
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.stopGameLoop();
+    }
+
+    @Test
+    void testNearestQueriesMatchAScanOfEverything() {
+        Random random = new Random(3);
+        List<GameObject> result = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            GameObject anchor = everything().get(random.nextInt(everything().size()));
+            int x = anchor.getXposition() + random.nextInt(4 * tileSize) - 2 * tileSize;
+            int y = anchor.getYposition() + random.nextInt(4 * tileSize) - 2 * tileSize;
+            int radius = random.nextInt(6 * tileSize);
+            List<Long> expected = new ArrayList<>();
+            for (GameObject obj : everything()) {
+                long distance = distanceSquared(obj, x, y);
+                if (distance <= (long) radius * radius) {
+                    expected.add(distance);
+                }
+            }
+            expected.sort(null);
+
+            result.clear();
+            int k = 1 + random.nextInt(4);
+            assertEquals(Math.min(k, expected.size()), proximity.queryNearest(x, y, radius, k, result));
+            for (int j = 0; j < result.size(); j++) {
+                assertEquals(expected.get(j), distanceSquared(result.get(j), x, y));
+            }
+            result.clear();
+            assertEquals(expected.size(), proximity.queryRadius(x, y, radius, result));
+        }
+    }
+
+    @Test
+    void testInteractionTargetIsTheNearestInteractableWithinATile() {
+        GameObject npc = controller.getNpcs().get(0);
+        Player player = controller.getPlayer();
+        player.setX(npc.getXposition() + tileSize / 2);
+        player.setY(npc.getYposition());
+        simulation.step();
+
+        GameObject target = proximity.getInteractionTarget();
+        assertNotNull(target);
+        long nearest = Long.MAX_VALUE;
+        for (GameObject obj : everything()) {
+            if (obj.isInteractable() && Math.abs(obj.getXposition() - player.getX()) <= tileSize
+                    && Math.abs(obj.getYposition() - player.getY()) <= tileSize) {
+                nearest = Math.min(nearest, distanceSquared(obj, player.getX(), player.getY()));
+            }
+        }
+        assertEquals(nearest, distanceSquared(target, player.getX(), player.getY()));
+
+        player.setX(-100 * tileSize);
+        simulation.step();
+        assertNull(proximity.getInteractionTarget());
+    }
+
+    @Test
+    void testWalkingAwayReleasesEveryNpcThePlayerTalkedTo() {
+        FriendlyNPC first = controller.getNpcs().get(0);
+        FriendlyNPC second = controller.getNpcs().get(1);
+        Player player = controller.getPlayer();
+
+        int speed = first.getSpeed();
+        talkTo(player, first);
+        assertFalse(first.isMoving());
+        assertEquals(0, first.getSpeed());
+        talkTo(player, second);
+        assertFalse(second.isMoving());
+        assertTrue(first.isMoving());
+        assertEquals(speed, first.getSpeed());
+
+        player.setX(-100 * tileSize);
+        simulation.step();
+        assertTrue(first.isMoving());
+        assertTrue(second.isMoving());
+    }
+
+    private void talkTo(Player player, FriendlyNPC npc) {
+        player.setX(npc.getXposition() + tileSize / 4);
+        player.setY(npc.getYposition());
+        input.setKeyState(KeyCode.E, true);
+        simulation.step();
+        input.setKeyState(KeyCode.E, false);
+    }
+
+    private List<GameObject> everything() {
+        List<GameObject> all = new ArrayList<>(controller.getGameObjects());
+        all.addAll(controller.getNpcs());
+        all.addAll(controller.getEnemies());
+        return all;
+    }
+
+    private static long distanceSquared(GameObject obj, int x, int y) {
+        long dx = obj.getXposition() - x;
+        long dy = obj.getYposition() - y;
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,99 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameSaverLoader;
+import cz.cvut.fel.klykadan.controller.NullSaveController;
+import cz.cvut.fel.klykadan.controller.SaveCodec;
+import cz.cvut.fel.klykadan.controller.SaveController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.UUID;
+
+class SaveCodecTest {
+    private static final UUID GUN_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID REMOVED_ID = UUID.fromString("00000000-0000-0001-ffff-ffffffffffff");
+
+    private static SaveController createSave() {
+        SaveController save = new SaveController();
+        save.setPlayerX(1234);
+        save.setPlayerY(-5);
+        save.setPlayerHealth(70);
+        save.setPlayerLevel(2);
+        save.getInventory().add(new SaveController.ItemData(GUN_ID, "Gun", 96, 144, 48, 48, false, 7, false));
+        save.getInventory().add(new SaveController.ItemData(new UUID(-1, 42), "Battery", 0, 0, 48, 48, true, 0, true));
+        save.getGameObjectData().add(new SaveController.GameObjectData("LevelDoor", 2640, 0, 48, 48, true));
+        save.getRemovedItems().add(REMOVED_ID);
+        return save;
+    }
+
+    private static void assertSameSave(SaveController expected, SaveController actual) {
+        assertEquals(expected.getPlayerX(), actual.getPlayerX());
+        assertEquals(expected.getPlayerY(), actual.getPlayerY());
+        assertEquals(expected.getPlayerHealth(), actual.getPlayerHealth());
+        assertEquals(expected.getInventory().size(), actual.getInventory().size());
+        assertEquals(expected.getRemovedItems(), actual.getRemovedItems());
+        assertArrayEquals(SaveCodec.encode(expected, false), SaveCodec.encode(actual, false));
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        SaveController save = createSave();
+
+        byte[] plain = SaveCodec.encode(save, false);
+        byte[] deflated = SaveCodec.encode(save, true);
+
+        assertTrue(SaveCodec.isBinarySave(plain));
+        assertSameSave(save, SaveCodec.decode(plain));
+        assertSameSave(save, SaveCodec.decode(deflated));
+        assertEquals(2, SaveCodec.decode(plain).getPlayerLevel());
+    }
+
+    @Test
+    void testSkipsUnknownFieldsAndRejectsCorruptedSaves() throws IOException {
+        SaveController save = createSave();
+        byte[] data = SaveCodec.encode(save, false);
+        byte[] extended = Arrays.copyOf(data, data.length + 6);
+        extended[data.length] = (byte) (14 << 3);
+        extended[data.length + 1] = 42;
+        extended[data.length + 2] = (byte) (15 << 3 | 2);
+        extended[data.length + 3] = 2;
+        extended[data.length + 4] = 7;
+        extended[data.length + 5] = 7;
+
+        assertSameSave(save, SaveCodec.decode(extended));
+        assertThrows(IOException.class, () -> SaveCodec.decode(Arrays.copyOf(data, data.length - 3)));
+        assertThrows(IOException.class, () -> SaveCodec.decode(new byte[]{1, 2, 3, 4, 5}));
+    }
+
+    @Test
+    void testLoadsBinaryAndSerializedSaves(@TempDir Path dir) throws Exception {
+        GameSaverLoader saverLoader = GameSaverLoader.getInstance();
+        String previousPath = saverLoader.getSavePath();
+        try {
+            Path binary = dir.resolve("binary.dat");
+            saverLoader.setSavePath(binary.toString());
+            saverLoader.saveGameStreamer(createSave()).get();
+            assertTrue(SaveCodec.isBinarySave(Files.readAllBytes(binary)));
+            assertSameSave(createSave(), saverLoader.loadGameReader());
+
+            Path legacy = dir.resolve("legacy.dat");
+            try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(legacy))) {
+                out.writeObject(createSave());
+            }
+            saverLoader.setSavePath(legacy.toString());
+            assertSameSave(createSave(), saverLoader.loadGameReader());
+
+            saverLoader.setSavePath(dir.resolve("missing.dat").toString());
+            assertTrue(saverLoader.loadGameReader() instanceof NullSaveController);
+        } finally {
+            saverLoader.setSavePath(previousPath);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.SimulationLOD;
+import cz.cvut.fel.klykadan.controller.TextureManager;
+import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Player;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+class SimulationLODTest {
+
+    @Test
+    void testBandsFollowTheScreen() {
+        GUICoinfig cn = new GUICoinfig();
+        SimulationLOD lod = new SimulationLOD(cn);
+        int cols = cn.getMaxScreenCol() / 2;
+        int rows = cn.getMaxScreenRow() / 2;
+
+        assertEquals(SimulationLOD.FULL_INTERVAL, lod.intervalAt(0, 0));
+        assertEquals(SimulationLOD.FULL_INTERVAL, lod.intervalAt(-cols, rows));
+        assertEquals(SimulationLOD.NEAR_INTERVAL, lod.intervalAt(cols + 5, 0));
+        assertEquals(SimulationLOD.NEAR_INTERVAL, lod.intervalAt(0, -rows - 5));
+        assertEquals(SimulationLOD.FAR_INTERVAL, lod.intervalAt(3 * cols, 0));
+    }
+
+    @Test
+    void testDistantCharactersUpdateRarelyAndReturnToFullRate() {
+        GUICoinfig cn = new GUICoinfig();
+        HeadlessSimulation simulation = new HeadlessSimulation(cn, new ScriptedInputHandler());
+        simulation.start();
+        GameController controller = simulation.getController();
+        FriendlyNPC npc = controller.getNpcs().get(0);
+        Player player = controller.getPlayer();
+
+        player.setX(npc.getX() + 40 * cn.getTileSize());
+        int updates = countUpdates(simulation, npc, 4 * SimulationLOD.FAR_INTERVAL);
+        assertEquals(SimulationLOD.FAR_INTERVAL, npc.getLodInterval());
+        assertTrue(updates >= 3 && updates <= 5, "updates: " + updates);
+
+        player.setX(npc.getX());
+        player.setY(npc.getY());
+        simulation.step();
+        assertEquals(SimulationLOD.FULL_INTERVAL, npc.getLodInterval());
+        assertEquals(20, countUpdates(simulation, npc, 20));
+        controller.stopGameLoop();
+    }
+
+    @Test
+    void testCatchUpCoversTheWholeDistanceButStopsAtWalls() {
+        GUICoinfig cn = new GUICoinfig();
+        int tileSize = cn.getTileSize();
+        HeadlessSimulation simulation = new HeadlessSimulation(cn, new ScriptedInputHandler());
+        simulation.start();
+        GameController controller = simulation.getController();
+        TextureManager textureM = controller.getTextureM();
+        Player player = controller.getPlayer();
+        int col = player.getTileColumn();
+        int row = player.getTileRow();
+        for (int c = col - 1; c <= col + 1; c++) {
+            for (int r = row - 1; r <= row + 4; r++) {
+                textureM.setTile(c, r, 0);
+            }
+        }
+        player.setX(player.getX() + 40 * tileSize);
+
+        FriendlyNPC npc = new FriendlyNPC(controller, Collections.emptyList(), cn, textureM, col * tileSize, row * tileSize, 4, 100);
+        npc.advance(SimulationLOD.FAR_INTERVAL);
+        assertEquals(row * tileSize + 4 * SimulationLOD.FAR_INTERVAL, npc.getY());
+        assertEquals(4, npc.getSpeed());
+
+        textureM.setTile(col, row + 4, 1);
+        npc.advance(SimulationLOD.FAR_INTERVAL);
+        npc.advance(SimulationLOD.FAR_INTERVAL);
+        assertTrue(npc.getCollisionBox().getyPosition() + npc.getCollisionBox().getSizeY() <= (row + 4) * tileSize,
+                "y: " + npc.getY());
+        assertTrue(npc.getY() > row * tileSize + 4 * SimulationLOD.FAR_INTERVAL);
+        controller.stopGameLoop();
+    }
+
+    @Test
+    void testPromotedCharacterCatchesUpTheTicksItMissed() {
+        GUICoinfig cn = new GUICoinfig();
+        int tileSize = cn.getTileSize();
+        HeadlessSimulation simulation = new HeadlessSimulation(cn, new ScriptedInputHandler());
+        simulation.start();
+        GameController controller = simulation.getController();
+        TextureManager textureM = controller.getTextureM();
+        Player player = controller.getPlayer();
+        int col = player.getTileColumn();
+        int row = player.getTileRow();
+        for (int c = col - 1; c <= col + 1; c++) {
+            for (int r = row - 1; r <= row + 4; r++) {
+                textureM.setTile(c, r, 0);
+            }
+        }
+        FriendlyNPC npc = new FriendlyNPC(controller, Collections.emptyList(), cn, textureM, col * tileSize, row * tileSize, 4, 100);
+        controller.getNpcs().add(npc);
+        player.setX(player.getX() + 40 * tileSize);
+        while (npc.getLastUpdateTick() < 0) {
+            simulation.step();
+        }
+        assertEquals(SimulationLOD.FAR_INTERVAL, npc.getLodInterval());
+        long lastUpdate = npc.getLastUpdateTick();
+        int y = npc.getY();
+        int missed = 10;
+        simulation.run(missed);
+        assertEquals(lastUpdate, npc.getLastUpdateTick());
+
+        player.setX(col * tileSize + 3 * tileSize);
+        simulation.step();
+        assertEquals(SimulationLOD.FULL_INTERVAL, npc.getLodInterval());
+        assertEquals(y + 4 * (missed + 1), npc.getY());
+        controller.stopGameLoop();
+    }
+
+    private int countUpdates(HeadlessSimulation simulation, FriendlyNPC npc, int ticks) {
+        int updates = 0;
+        for (int i = 0; i < ticks; i++) {
+            long last = npc.getLastUpdateTick();
+            simulation.step();
+            if (npc.getLastUpdateTick() != last) {
+                updates++;
+            }
+        }
+        return updates;
+    }
+}
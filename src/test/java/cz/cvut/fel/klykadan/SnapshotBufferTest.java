@@ -0,0 +1,108 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.GameStateController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.RenderSnapshot;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.SnapshotBuffer;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+class SnapshotBufferTest {
+
+    @Test
+    void testReaderGetsTheNewestSnapshot() {
+        GUICoinfig cn = new GUICoinfig();
+        SnapshotBuffer buffer = new SnapshotBuffer(new RenderSnapshot(cn, 4), new RenderSnapshot(cn, 4), new RenderSnapshot(cn, 4));
+        assertNull(buffer.acquire());
+
+        buffer.getBack().begin(1, GameStateController.State.PLAY, 0, 0, 0, 0, 0, 0);
+        buffer.publish();
+        buffer.getBack().begin(2, GameStateController.State.PLAY, 0, 0, 0, 0, 0, 0);
+        buffer.publish();
+        RenderSnapshot front = buffer.acquire();
+        assertEquals(2, front.getSequence());
+        assertEquals(2, front.getTime());
+        assertSame(front, buffer.acquire());
+        assertNotSame(front, buffer.getBack());
+
+        buffer.getBack().begin(3, GameStateController.State.PAUSE, 0, 0, 0, 0, 0, 0);
+        buffer.publish();
+        assertNotSame(front, buffer.getBack());
+        assertEquals(GameStateController.State.PAUSE, buffer.acquire().getState());
+    }
+
+    @Test
+    void testSnapshotsAreNotTornAcrossThreads() throws InterruptedException {
+        GUICoinfig cn = new GUICoinfig();
+        SnapshotBuffer buffer = new SnapshotBuffer(new RenderSnapshot(cn, 4), new RenderSnapshot(cn, 4), new RenderSnapshot(cn, 4));
+        int ticks = 200_000;
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= ticks; i++) {
+                buffer.getBack().begin(i, GameStateController.State.PLAY, i, i, i, i, 0, 0);
+                buffer.publish();
+            }
+        });
+        AtomicReference<String> failure = new AtomicReference<>();
+        writer.start();
+        long last = 0;
+        while (last < ticks && failure.get() == null) {
+            RenderSnapshot snapshot = buffer.acquire();
+            if (snapshot == null) {
+                continue;
+            }
+            if (snapshot.getSequence() < last) {
+                failure.set("sequence went back from " + last + " to " + snapshot.getSequence());
+            }
+            if (snapshot.getTime() != snapshot.getSequence() || snapshot.getPlayerX() != snapshot.getTime()
+                    || snapshot.getPlayerY() != snapshot.getTime()) {
+                failure.set("torn snapshot " + snapshot.getSequence());
+            }
+            last = snapshot.getSequence();
+        }
+        writer.join();
+        assertNull(failure.get());
+        assertEquals(ticks, last);
+    }
+
+    @Test
+    void testDrawListSkipsImagesOutOfView() {
+        GUICoinfig cn = new GUICoinfig();
+        RenderSnapshot snapshot = new RenderSnapshot(cn, 1);
+        Image image = mock(Image.class);
+        snapshot.begin(0, GameStateController.State.PLAY, 1000, 1000, 1000, 1000, 480, 288);
+
+        assertTrue(snapshot.add(image, 990, 990, 1000, 1000));
+        assertFalse(snapshot.add(null, 1000, 1000, 1000, 1000));
+        assertFalse(snapshot.add(image, 1000 + cn.getScreenWidth(), 1000, 1000 + cn.getScreenWidth(), 1000));
+        snapshot.beginCharacters();
+        assertTrue(snapshot.add(image, 1000 - 480 - cn.getTileSize() - 5, 1000, 1000 - 480, 1000));
+        assertEquals(2, snapshot.getCount());
+        assertEquals(1, snapshot.getCharacterStart());
+        assertEquals(1000 - 480, snapshot.getX(1));
+    }
+
+    @Test
+    void testControllerPublishesTheTilesAroundThePlayer() {
+        HeadlessSimulation simulation = new HeadlessSimulation(new GUICoinfig(), new ScriptedInputHandler());
+        simulation.start();
+        simulation.run(5);
+        GameController controller = simulation.getController();
+        controller.publishSnapshot(42);
+
+        RenderSnapshot snapshot = controller.getSnapshots().acquire();
+        assertEquals(42, snapshot.getTime());
+        assertEquals(GameStateController.State.PLAY, snapshot.getState());
+        assertEquals(controller.getPlayer().getX(), snapshot.getPlayerX());
+        assertEquals(controller.getPlayer().getY(), snapshot.getPlayerY());
+        assertTrue(snapshot.getWindowChunkCount() > 0);
+        controller.stopGameLoop();
+    }
+}
@@ -0,0 +1,81 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import cz.cvut.fel.klykadan.controller.SpatialGrid;
+import cz.cvut.fel.klykadan.model.gameObject.GameObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SpatialGridTest {
+    private SpatialGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new SpatialGrid(48, 10, 10);
+    }
+
+    private GameObject objectAt(int x, int y) {
+        GameObject obj = mock(GameObject.class);
+        when(obj.getXposition()).thenReturn(x);
+        when(obj.getYposition()).thenReturn(y);
+        when(obj.getSizeX()).thenReturn(48);
+        when(obj.getSizeY()).thenReturn(48);
+        return obj;
+    }
+
+    @Test
+    void testQueryFindsOnlyNearbyObjects() {
+        GameObject near = objectAt(100, 100);
+        GameObject far = objectAt(400, 400);
+        grid.insert(near);
+        grid.insert(far);
+
+        List<GameObject> result = new ArrayList<>();
+        grid.query(90, 90, 120, 120, result);
+
+        assertEquals(1, result.size());
+        assertSame(near, result.get(0));
+    }
+
+    @Test
+    void testObjectSpanningCellsIsReportedOnce() {
+        GameObject obj = objectAt(70, 70);
+        grid.insert(obj);
+
+        List<GameObject> result = new ArrayList<>();
+        grid.query(0, 0, 200, 200, result);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testUpdateMovesObjectBetweenCells() {
+        GameObject obj = objectAt(0, 0);
+        grid.insert(obj);
+        when(obj.getXposition()).thenReturn(300);
+        grid.update(obj);
+
+        List<GameObject> result = new ArrayList<>();
+        grid.query(0, 0, 40, 40, result);
+        assertTrue(result.isEmpty());
+        grid.query(300, 0, 340, 40, result);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void testRemove() {
+        GameObject obj = objectAt(10, 10);
+        grid.insert(obj);
+        grid.remove(obj);
+
+        List<GameObject> result = new ArrayList<>();
+        grid.query(0, 0, 470, 470, result);
+        assertTrue(result.isEmpty());
+        assertEquals(0, grid.size());
+    }
+}
@@ -0,0 +1,111 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.controller.TaskGraph;
+import cz.cvut.fel.klykadan.model.gameObject.characters.Enemy;
+import cz.cvut.fel.klykadan.model.gameObject.characters.FriendlyNPC;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+class TaskGraphTest {
+
+    @Test
+    void testTasksRunAfterTheirDependencies() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TaskGraph graph = new TaskGraph(pool, 8);
+            AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+            List<String> order = new ArrayList<>();
+            TaskGraph.Task items = graph.addParallel("items", () -> 1000, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    visits.incrementAndGet(i);
+                }
+            });
+            TaskGraph.Task other = graph.add("other", () -> order.add("other"));
+            TaskGraph.Task merge = graph.add("merge", () -> {
+                for (int i = 0; i < 1000; i++) {
+                    assertEquals(1, visits.get(i));
+                }
+                order.add("merge");
+            }, items, other);
+            TaskGraph.Task last = graph.add("last", () -> order.add("last"), merge);
+
+            graph.run();
+
+            assertEquals(List.of("other", "merge", "last"), order);
+            assertEquals(0, items.getLevel());
+            assertEquals(1, merge.getLevel());
+            assertEquals(2, last.getLevel());
+            assertEquals(3, graph.getLevelCount());
+            assertThrows(IllegalArgumentException.class, () -> new TaskGraph(null, 1).add("foreign", () -> { }, last));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSmallLevelsRunOnTheCallingThread() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            TaskGraph graph = new TaskGraph(pool, 64);
+            Thread caller = Thread.currentThread();
+            List<Thread> threads = new ArrayList<>();
+            TaskGraph.Task first = graph.add("first", () -> threads.add(Thread.currentThread()));
+            graph.add("second", () -> threads.add(Thread.currentThread()));
+            graph.addParallel("items", () -> 40, (from, to) -> threads.add(Thread.currentThread()), first);
+            graph.add("last", () -> threads.add(Thread.currentThread()), first);
+
+            graph.run();
+
+            assertFalse(threads.isEmpty());
+            for (Thread thread : threads) {
+                assertSame(caller, thread);
+            }
+            assertEquals(0, pool.getStealCount());
+            assertTrue(pool.isQuiescent());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelTickMatchesSerialTick() {
+        String parallel = simulate(true);
+        String serial = simulate(false);
+
+        assertEquals(serial, parallel);
+    }
+
+    private String simulate(boolean parallel) {
+        GUICoinfig cn = new GUICoinfig();
+        cn.setParallelSimulation(parallel);
+        ScriptedInputHandler input = new ScriptedInputHandler();
+        input.hold(0, 120, KeyCode.D).hold(60, 200, KeyCode.S);
+        HeadlessSimulation simulation = new HeadlessSimulation(cn, input);
+        simulation.start();
+        simulation.run(300);
+        GameController controller = simulation.getController();
+        assertEquals(parallel, controller.getTickGraph().isParallel());
+        StringBuilder state = new StringBuilder();
+        state.append(controller.getPlayer().getX()).append(',').append(controller.getPlayer().getY())
+                .append(',').append(controller.getPlayer().getHealth());
+        for (Enemy enemy : controller.getEnemies()) {
+            state.append(';').append(enemy.getXposition()).append(',').append(enemy.getYposition()).append(',').append(enemy.getHealth());
+        }
+        for (FriendlyNPC npc : controller.getNpcs()) {
+            state.append(';').append(npc.getXposition()).append(',').append(npc.getYposition());
+        }
+        controller.stopGameLoop();
+        return state.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.GameStateController;
+import cz.cvut.fel.klykadan.controller.HeadlessSimulation;
+import cz.cvut.fel.klykadan.controller.ScriptedInputHandler;
+import cz.cvut.fel.klykadan.model.gameObject.items.Weapon;
+import cz.cvut.fel.klykadan.view.GUICoinfig;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+class TickAllocationTest {
+    private static final int WARM_UP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 2_000;
+    private static final int MEASURED_WINDOWS = 3;
+    private final GUICoinfig cn = new GUICoinfig();
+    private HeadlessSimulation simulation;
+    private com.sun.management.ThreadMXBean threads;
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (simulation != null) {
+            simulation.getController().stopGameLoop();
+        }
+    }
+
+    @Test
+    void testSteadyStateTickDoesNotAllocate() {
+        ScriptedInputHandler input = new ScriptedInputHandler();
+        input.press(0, KeyCode.D).press(WARM_UP_TICKS / 2, KeyCode.SHIFT);
+        start(input);
+
+        assertTicksDoNotAllocate();
+    }
+
+    @Test
+    void testFiringTickDoesNotAllocate() {
+        ScriptedInputHandler input = new ScriptedInputHandler();
+        input.press(0, KeyCode.D).press(WARM_UP_TICKS / 2, KeyCode.SPACE);
+        start(input);
+        Weapon gun = new Weapon(cn, 0, 0, 0, 0);
+        gun.setAmmoCount(Integer.MAX_VALUE);
+        simulation.getController().getPlayer().getInventory().addItem(gun);
+
+        assertTicksDoNotAllocate();
+        assertTrue(gun.getAmmoCount() < Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts a serial simulation, so every tick runs on the thread whose allocations are measured.
+     */
+    private void start(ScriptedInputHandler input) {
+        cn.setParallelSimulation(false);
+        simulation = new HeadlessSimulation(cn, input);
+        simulation.start();
+    }
+
+    private void assertTicksDoNotAllocate() {
+        simulation.run(WARM_UP_TICKS);
+        assertTrue(simulation.getController().getStateController().isState(GameStateController.State.PLAY));
+
+        long threadId = Thread.currentThread().getId();
+        long start = allocatedBytes(threadId);
+        long overhead = allocatedBytes(threadId) - start;
+        // A compilation requested by the JIT from this thread may allocate a few bytes in one window,
+        // while a tick that allocates does so in every window.
+        long allocated = Long.MAX_VALUE;
+        for (int window = 0; window < MEASURED_WINDOWS && allocated != 0; window++) {
+            long before = allocatedBytes(threadId);
+            simulation.run(MEASURED_TICKS);
+            allocated = allocatedBytes(threadId) - before - overhead;
+        }
+
+        assertEquals(0, allocated, "Bytes allocated in " + MEASURED_TICKS + " ticks");
+    }
+
+    private long allocatedBytes(long threadId) {
+        return threads.getThreadAllocatedBytes(threadId);
+    }
+}
@@ -0,0 +1,94 @@
+package cz.cvut.fel.klykadan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import cz.cvut.fel.klykadan.controller.VoicePool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VoicePoolTest {
+    private long now;
+    private VoicePool pool;
+    private CountingClip step;
+    private CountingClip shot;
+    private CountingClip door;
+
+    private static class CountingClip implements VoicePool.Clip {
+        private int plays;
+        private int stops;
+
+        @Override
+        public void play(double volume) {
+            plays++;
+        }
+
+        @Override
+        public void stop() {
+            stops++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        pool = new VoicePool(2, () -> now);
+        step = new CountingClip();
+        shot = new CountingClip();
+        door = new CountingClip();
+        pool.register("step", step, 100, 0.5, 0);
+        pool.register("shot", shot, 100, 0.2, 2);
+        pool.register("door", door, 100, 0.8, 3);
+    }
+
+    @Test
+    void testDeduplicatesSoundsWithinOneTick() {
+        assertTrue(pool.play("shot"));
+        assertFalse(pool.play("shot"));
+        assertFalse(pool.play("unknown"));
+        assertEquals(1, shot.plays);
+        assertEquals(1, pool.getActiveVoiceCount());
+
+        pool.nextTick();
+        assertTrue(pool.play("shot"));
+        assertEquals(2, shot.plays);
+        assertEquals(2, pool.getActiveVoiceCount());
+    }
+
+    @Test
+    void testStealsLowestPriorityVoice() {
+        pool.play("step");
+        pool.nextTick();
+        now = 10;
+        pool.play("shot");
+        pool.nextTick();
+        now = 20;
+
+        assertTrue(pool.play("door"));
+        assertEquals(1, step.stops);
+        assertEquals(0, shot.stops);
+        pool.nextTick();
+        assertFalse(pool.play("step"));
+        assertEquals(1, step.plays);
+
+        assertTrue(pool.play("shot"));
+        assertEquals(1, shot.stops);
+        assertEquals(2, pool.getActiveVoiceCount());
+    }
+
+    @Test
+    void testFinishedVoicesAreReused() {
+        pool.play("door");
+        pool.nextTick();
+        pool.play("door");
+        pool.nextTick();
+        assertFalse(pool.play("step"));
+
+        now = 100;
+        assertEquals(0, pool.getActiveVoiceCount());
+        assertTrue(pool.play("step"));
+        assertEquals(0, door.stops);
+
+        pool.stopAll();
+        assertEquals(1, step.stops);
+        assertEquals(0, pool.getActiveVoiceCount());
+    }
+}